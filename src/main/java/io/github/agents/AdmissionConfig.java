@@ -0,0 +1,35 @@
+package io.github.agents;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Applies the per-client request rate limit of {@link LlmAdmission} to every endpoint that can reach
+ * the LLM: the yoga endpoints, graph questions and their batches, and the agent JSON-RPC entry point.
+ */
+@Configuration
+public class AdmissionConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private LlmAdmission admission;
+
+    @Value("${kg.admission.paths:/api/yoga/**,/api/graphs/*/ask/**,/}")
+    private String[] paths;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                admission.checkRate(admission.clientOf(request));
+                return true;
+            }
+        }).addPathPatterns(paths);
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.agents;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Turns caller mistakes into client errors instead of 500s. Services throw {@link NotFoundException}
+ * for names that do not exist and the {@code ResponseStatusException} subclasses for rejected work;
+ * the graph library below them signals a bad argument (unknown goal, format, indicator, sort key,
+ * malformed cursor, invalid Cypher) with {@link IllegalArgumentException}, which is answered with 400.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail badRequest(IllegalArgumentException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+}
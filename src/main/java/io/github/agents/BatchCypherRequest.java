@@ -0,0 +1,14 @@
+package io.github.agents;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class BatchCypherRequest {
+    private List<String> questions;
+}
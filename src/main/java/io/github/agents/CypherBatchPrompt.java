@@ -0,0 +1,71 @@
+package io.github.agents;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Packs several English questions into one prompt that carries the schema once, and splits the
+ * numbered answer back into one Cypher query per question.
+ */
+public final class CypherBatchPrompt {
+
+    private static final Pattern ANSWER_LINE = Pattern.compile("^\\s*(?:Q|Question\\s*)?(\\d+)\\s*[:.)]\\s*(.*)$", Pattern.CASE_INSENSITIVE);
+
+    private CypherBatchPrompt() {
+    }
+
+    public static String build(List<String> questions, String schemaInfo) {
+        StringBuilder prompt = new StringBuilder();
+        prompt.append("Convert each of the following numbered English queries to a Cypher query. ")
+              .append("Answer with exactly one line per query in the form <number>: <cypher query>, ")
+              .append("keep each query on a single line and provide no other text.\n");
+        prompt.append("Here is the schema info ").append(schemaInfo).append("\n");
+        prompt.append("Queries:\n");
+        for (int i = 0; i < questions.size(); i++) {
+            prompt.append(i + 1).append(". ").append(questions.get(i).replace('\n', ' ')).append("\n");
+        }
+        return prompt.toString();
+    }
+
+    /** Sends back the failed queries of a batch with their validation errors for one repair round. */
+    public static String buildRepair(List<String> questions, List<String> cypherQueries, List<String> errors, String schemaInfo) {
+        StringBuilder prompt = new StringBuilder();
+        prompt.append("The following numbered Cypher queries failed validation. Fix each one using the error message. ")
+              .append("Answer with exactly one line per query in the form <number>: <cypher query>, ")
+              .append("keep each query on a single line and provide no other text.\n");
+        prompt.append("Here is the schema info ").append(schemaInfo).append("\n");
+        for (int i = 0; i < questions.size(); i++) {
+            prompt.append(i + 1).append(". English query: ").append(questions.get(i).replace('\n', ' '))
+                  .append(" | Cypher: ").append(cypherQueries.get(i) == null ? "(none)" : cypherQueries.get(i))
+                  .append(" | Error: ").append(errors.get(i)).append("\n");
+        }
+        return prompt.toString();
+    }
+
+    /**
+     * Returns one entry per question, {@code null} where the answer had no query for that number.
+     * Lines that do not start with a number are treated as a continuation of the previous query.
+     */
+    public static List<String> parse(String response, int questionCount) {
+        String[] answers = new String[questionCount];
+        int current = -1;
+        for (String line : response.replaceAll("```(?:cypher)?", "").split("\\R")) {
+            Matcher m = ANSWER_LINE.matcher(line);
+            if (m.matches()) {
+                int number = Integer.parseInt(m.group(1));
+                current = number >= 1 && number <= questionCount ? number - 1 : -1;
+                if (current >= 0) {
+                    answers[current] = m.group(2).trim();
+                }
+            } else if (current >= 0 && !line.isBlank()) {
+                answers[current] = (answers[current] + " " + line.trim()).trim();
+            }
+        }
+        List<String> result = new ArrayList<>(Arrays.asList(answers));
+        result.replaceAll(q -> q == null || q.isBlank() ? null : q);
+        return result;
+    }
+}
@@ -13,6 +13,8 @@ public class CypherResponse {
     private String query;
     private String cypherQuery;
     private Object result;
+    private String error;
+    private long millis;
 
     public CypherResponse(String query) {
         this.query = query;
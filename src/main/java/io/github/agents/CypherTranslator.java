@@ -0,0 +1,179 @@
+package io.github.agents;
+
+import com.t4a.processor.AIProcessingException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * English to Cypher for any registered graph: prompts the LLM with the graph's schema, validates the
+ * answer with one repair round, and optionally runs the query on the graph's connection pool.
+ */
+@Component
+@Log
+public class CypherTranslator {
+
+    @Autowired
+    private LlmClientProvider llmClientProvider;
+    @Autowired
+    private GraphRegistry graphRegistry;
+    @Autowired
+    private QueryLog queryLog;
+    @Autowired
+    private LlmAdmission admission;
+
+    @Value("${kg.batch.max-questions:50}")
+    private int maxBatchQuestions;
+    @Value("${kg.batch.threads:4}")
+    private int batchThreads;
+    @Value("${kg.cypher.max-rows:1000}")
+    private long maxRows;
+    @Value("${kg.cypher.explain:true}")
+    private boolean explainQueries;
+    @Value("${kg.cypher.repair:true}")
+    private boolean repairQueries;
+
+    private ExecutorService queryExecutor;
+
+    @PostConstruct
+    public void init() {
+        queryExecutor = Executors.newFixedThreadPool(batchThreads);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        queryExecutor.shutdownNow();
+    }
+
+    public CypherResponse translate(String graphName, String englishQuery, boolean execute) throws AIProcessingException {
+        return graphRegistry.withGraph(graphName, graph -> {
+            CypherValidator validator = validator(graph);
+            String prommpt = "Convert the following English query to a Cypher query :provide only cypher query and no other text " + englishQuery + " here is the schema info " + graph.getSchemaInfo();
+            log.info(prommpt);
+            CypherValidator.Result validation;
+            try (LlmAdmission.Permit permit = admission.acquire(LlmAdmission.Priority.INTERACTIVE, LlmAdmission.estimateTokens(prommpt))) {
+                String cipherQuery = stripFences(llm().query(prommpt));
+                validation = validator.validate(cipherQuery);
+                if (!validation.isValid() && repairQueries) {
+                    log.info("Generated Cypher failed validation, asking for a repair: " + validation.getError());
+                    String repairPrompt = "The following Cypher query for the English query " + englishQuery + " failed validation with the error: "
+                            + validation.getError() + " Query: " + cipherQuery
+                            + " Provide only the corrected cypher query and no other text. Here is the schema info " + graph.getSchemaInfo();
+                    permit.charge(LlmAdmission.estimateTokens(repairPrompt));
+                    validation = validator.validate(stripFences(llm().query(repairPrompt)));
+                }
+            }
+            if (execute) {
+                return execute(graph, englishQuery, validation);
+            }
+            CypherResponse cypherResponse = new CypherResponse(validation.getCypher());
+            cypherResponse.setError(validation.getError());
+            return cypherResponse;
+        });
+    }
+
+    public List<CypherResponse> translateBatch(String graphName, List<String> questions) throws AIProcessingException {
+        if (questions == null || questions.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (questions.size() > maxBatchQuestions) {
+            throw new IllegalArgumentException("At most " + maxBatchQuestions + " questions are allowed per batch");
+        }
+        return graphRegistry.withGraph(graphName, graph -> {
+            String prompt = CypherBatchPrompt.build(questions, graph.getSchemaInfo());
+            log.info(prompt);
+            List<CypherValidator.Result> validations;
+            try (LlmAdmission.Permit permit = admission.acquire(LlmAdmission.Priority.BATCH, LlmAdmission.estimateTokens(prompt))) {
+                List<String> cypherQueries = CypherBatchPrompt.parse(llm().query(prompt), questions.size());
+                validations = validateBatch(graph, questions, cypherQueries, permit);
+            }
+
+            List<CompletableFuture<CypherResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < questions.size(); i++) {
+                String question = questions.get(i);
+                CypherValidator.Result validation = validations.get(i);
+                futures.add(CompletableFuture.supplyAsync(() -> execute(graph, question, validation), queryExecutor));
+            }
+            List<CypherResponse> responses = new ArrayList<>();
+            for (CompletableFuture<CypherResponse> future : futures) {
+                responses.add(future.join());
+            }
+            return responses;
+        });
+    }
+
+    /** Validates every query of the batch and sends the failures back to the LLM together, once. */
+    private List<CypherValidator.Result> validateBatch(GraphHandle graph, List<String> questions, List<String> cypherQueries,
+                                                       LlmAdmission.Permit permit) throws AIProcessingException {
+        CypherValidator validator = validator(graph);
+        List<CypherValidator.Result> validations = new ArrayList<>();
+        List<Integer> failed = new ArrayList<>();
+        for (int i = 0; i < questions.size(); i++) {
+            String cypher = cypherQueries.get(i);
+            validations.add(validator.validate(cypher));
+            if (!validations.get(i).isValid()) {
+                failed.add(i);
+            }
+        }
+        if (failed.isEmpty() || !repairQueries) {
+            return validations;
+        }
+        List<String> failedQuestions = new ArrayList<>();
+        List<String> failedQueries = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        for (int i : failed) {
+            failedQuestions.add(questions.get(i));
+            failedQueries.add(cypherQueries.get(i));
+            errors.add(validations.get(i).getError());
+        }
+        String repairPrompt = CypherBatchPrompt.buildRepair(failedQuestions, failedQueries, errors, graph.getSchemaInfo());
+        log.info(failed.size() + " batch queries failed validation, asking for a repair");
+        permit.charge(LlmAdmission.estimateTokens(repairPrompt));
+        List<String> repaired = CypherBatchPrompt.parse(llm().query(repairPrompt), failed.size());
+        for (int j = 0; j < failed.size(); j++) {
+            if (repaired.get(j) != null) {
+                validations.set(failed.get(j), validator.validate(repaired.get(j)));
+            }
+        }
+        return validations;
+    }
+
+    private CypherResponse execute(GraphHandle graph, String question, CypherValidator.Result validation) {
+        CypherResponse response = new CypherResponse(question);
+        response.setCypherQuery(validation.getCypher());
+        if (!validation.isValid()) {
+            response.setError(validation.getCypher() == null ? "No Cypher query was returned for this question" : validation.getError());
+            return response;
+        }
+        try {
+            QueryLog.Execution execution = queryLog.run(graph, ResourceGovernor.QueryClass.ADHOC, question, validation.getCypher());
+            response.setResult(execution.getRows());
+            response.setMillis(execution.getMillis());
+        } catch (RuntimeException e) {
+            log.warning("Query failed for '" + question + "': " + e.getMessage());
+            response.setError(e.getMessage());
+        }
+        return response;
+    }
+
+    private CypherValidator validator(GraphHandle graph) {
+        return new CypherValidator(graph.getSchema(), graph.getPool(), maxRows, explainQueries);
+    }
+
+    private LlmClient llm() {
+        return llmClientProvider.get();
+    }
+
+    private static String stripFences(String response) {
+        return response.replaceAll("```(?:cypher)?\\s*", "").trim();
+    }
+}
@@ -0,0 +1,332 @@
+package io.github.agents;
+
+import com.kuzudb.QueryResult;
+import io.github.vishalmysore.SchemaModel;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Cheap checks run on generated Cypher before it reaches the database: read-only clauses and catalog
+ * procedures only, labels, rel types, directions and properties that exist in the schema, a Kuzu
+ * {@code EXPLAIN} to catch whatever the static checks miss, and a LIMIT on every RETURN that has none.
+ */
+public class CypherValidator {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^'\\\\]|\\\\.)*'|\"(?:[^\"\\\\]|\\\\.)*\"");
+    /** Clause keywords only: a property ({@code n.load}), label ({@code :Set}) or map key is not a clause. */
+    private static final Pattern WRITE_CLAUSE = Pattern.compile(
+            "(?<![.:`])\\b(CREATE|MERGE|DELETE|DETACH|SET|REMOVE|DROP|ALTER|COPY|INSTALL|LOAD|ATTACH|IMPORT|EXPORT|CHECKPOINT|BEGIN|COMMIT|ROLLBACK)\\b(?!\\s*:)",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern CALL = Pattern.compile("(?<![.:`])\\bCALL\\b(?!\\s*:)\\s*(\\w*)", Pattern.CASE_INSENSITIVE);
+    /** Catalog procedures that only read; any other CALL, such as CREATE_FTS_INDEX, could change the graph. */
+    private static final Set<String> READ_PROCEDURES = Set.of("TABLE_INFO", "SHOW_TABLES", "SHOW_CONNECTION",
+            "SHOW_FUNCTIONS", "DB_VERSION", "CURRENT_SETTING");
+    private static final Pattern NODE = Pattern.compile("\\(\\s*(\\w*)\\s*:\\s*(\\w+)");
+    private static final Pattern REL = Pattern.compile("\\[\\s*(\\w*)\\s*:\\s*([\\w|]+)");
+    private static final Pattern EDGE = Pattern.compile(
+            "\\(\\s*(\\w*)\\s*(?::\\s*(\\w+))?[^()]*\\)\\s*(<?)-\\[\\s*\\w*\\s*:\\s*(\\w+)[^\\]]*\\]-(>?)\\s*(?=\\(\\s*(\\w*)\\s*(?::\\s*(\\w+))?)");
+    private static final Pattern PROPERTY = Pattern.compile("\\b([A-Za-z_]\\w*)\\.([A-Za-z_]\\w*)\\b");
+    private static final Pattern UNION = Pattern.compile("\\bUNION(\\s+ALL)?\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern RETURN = Pattern.compile("\\bRETURN\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern CLAUSE = Pattern.compile("\\b(RETURN|LIMIT)\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern CONSTANT = Pattern.compile("[\\d\\s+*()-]+");
+    private static final Pattern SPLIT_NUMBER = Pattern.compile("\\d\\s+\\d");
+
+    private final SchemaModel schema;
+    private final KuzuConnectionPool pool;
+    /** Row cap injected as LIMIT; zero or less leaves queries uncapped. */
+    private final long maxRows;
+    private final boolean explain;
+
+    public CypherValidator(SchemaModel schema, KuzuConnectionPool pool, long maxRows, boolean explain) {
+        this.schema = schema;
+        this.pool = pool;
+        this.maxRows = maxRows;
+        this.explain = explain;
+    }
+
+    public Result validate(String cypher) {
+        if (cypher == null || cypher.isBlank()) {
+            return Result.invalid(cypher, "Empty query");
+        }
+        String query = cypher.trim().replaceAll(";+\\s*$", "").trim();
+        String code = STRING_LITERAL.matcher(query).replaceAll("''");
+        if (code.contains(";")) {
+            return Result.invalid(query, "Only a single statement is allowed");
+        }
+        Matcher write = WRITE_CLAUSE.matcher(code);
+        if (write.find()) {
+            return Result.invalid(query, "Write clause " + write.group(1).toUpperCase() + " is not allowed, only read queries are");
+        }
+        Matcher call = CALL.matcher(code);
+        while (call.find()) {
+            if (!READ_PROCEDURES.contains(call.group(1).toUpperCase())) {
+                return Result.invalid(query, "CALL " + call.group(1) + " is not allowed, only the read-only procedures "
+                        + READ_PROCEDURES + " are");
+            }
+        }
+        if (!RETURN.matcher(code).find()) {
+            return Result.invalid(query, "Query has no RETURN clause");
+        }
+        String schemaError = checkSchema(code);
+        if (schemaError != null) {
+            return Result.invalid(query, schemaError);
+        }
+        if (maxRows > 0) {
+            try {
+                query = limitRows(query);
+            } catch (IllegalArgumentException | ArithmeticException e) {
+                return Result.invalid(query, e.getMessage());
+            }
+        }
+        if (explain) {
+            String finalQuery = query;
+            String explainError = pool.withConnection(conn -> {
+                try (QueryResult plan = conn.query("EXPLAIN " + finalQuery)) {
+                    return plan.isSuccess() ? null : plan.getErrorMessage();
+                } catch (RuntimeException e) {
+                    return e.getMessage();
+                }
+            });
+            if (explainError != null) {
+                return Result.invalid(query, explainError);
+            }
+        }
+        return Result.valid(query);
+    }
+
+    private String checkSchema(String code) {
+        Map<String, String> bindings = new HashMap<>();
+        Matcher node = NODE.matcher(code);
+        while (node.find()) {
+            String label = node.group(2);
+            if (!schema.hasNodeTable(label)) {
+                return "Unknown node label " + label;
+            }
+            if (!node.group(1).isEmpty()) {
+                bindings.put(node.group(1), label);
+            }
+        }
+        Matcher rel = REL.matcher(code);
+        while (rel.find()) {
+            for (String type : rel.group(2).split("\\|")) {
+                if (!schema.hasRelTable(type)) {
+                    return "Unknown relationship type " + type;
+                }
+            }
+            if (!rel.group(1).isEmpty() && !rel.group(2).contains("|")) {
+                bindings.put(rel.group(1), rel.group(2));
+            }
+        }
+        Matcher edge = EDGE.matcher(code);
+        while (edge.find()) {
+            String left = label(edge.group(2), edge.group(1), bindings);
+            String right = label(edge.group(7), edge.group(6), bindings);
+            String type = edge.group(4);
+            boolean leftToRight = !edge.group(5).isEmpty();
+            boolean rightToLeft = !edge.group(3).isEmpty();
+            String from = rightToLeft ? right : left;
+            String to = rightToLeft ? left : right;
+            boolean ok = schema.connects(type, from, to) || (!leftToRight && !rightToLeft && schema.connects(type, to, from));
+            if (!ok) {
+                return "Relationship " + type + " does not go from " + describe(from) + " to " + describe(to)
+                        + "; it connects " + connections(type);
+            }
+        }
+        Matcher property = PROPERTY.matcher(code);
+        while (property.find()) {
+            String table = bindings.get(property.group(1));
+            if (table != null && !schema.properties(table).containsKey(property.group(2))) {
+                return "Unknown property " + property.group(2) + " on " + table + "; it has " + schema.properties(table).keySet();
+            }
+        }
+        return null;
+    }
+
+    private static String label(String explicit, String variable, Map<String, String> bindings) {
+        if (explicit != null) {
+            return explicit;
+        }
+        return variable.isEmpty() ? null : bindings.get(variable);
+    }
+
+    private static String describe(String label) {
+        return label == null ? "any node" : label;
+    }
+
+    private String connections(String type) {
+        StringBuilder out = new StringBuilder();
+        for (String[] pair : schema.connections(type)) {
+            out.append(out.length() == 0 ? "" : ", ").append(pair[0]).append("->").append(pair[1]);
+        }
+        return out.toString();
+    }
+
+    /** Adds or clamps LIMIT on each part of the query so no read returns more than {@code maxRows}. */
+    private String limitRows(String query) {
+        StringBuilder out = new StringBuilder();
+        String code = maskStrings(query);
+        int[] depth = depths(code);
+        Matcher union = UNION.matcher(code);
+        int start = 0;
+        while (union.find()) {
+            if (depth[union.start()] != 0) {
+                continue;
+            }
+            out.append(limitPart(query.substring(start, union.start()).trim())).append(" ").append(union.group()).append(" ");
+            start = union.end();
+        }
+        return out.append(limitPart(query.substring(start).trim())).toString();
+    }
+
+    /**
+     * Caps the LIMIT of the part's last top-level RETURN. A LIMIT can be any integer expression in
+     * Kuzu, so it is evaluated when it is arithmetic on literals and rejected otherwise (a parameter
+     * would be unbound here anyway) rather than left uncapped or given a second LIMIT.
+     */
+    private String limitPart(String part) {
+        String code = maskStrings(part);
+        int[] depth = depths(code);
+        int returnAt = -1;
+        int limitAt = -1;
+        int limitEnd = -1;
+        Matcher clause = CLAUSE.matcher(code);
+        while (clause.find()) {
+            if (depth[clause.start()] != 0) {
+                continue;
+            }
+            if (clause.group(1).equalsIgnoreCase("RETURN")) {
+                returnAt = clause.start();
+                limitAt = -1;
+            } else if (returnAt >= 0) {
+                limitAt = clause.start();
+                limitEnd = clause.end();
+            }
+        }
+        if (limitAt < 0) {
+            return part + " LIMIT " + maxRows;
+        }
+        if (constant(part.substring(limitEnd).trim()) > maxRows) {
+            return part.substring(0, limitAt) + "LIMIT " + maxRows;
+        }
+        return part;
+    }
+
+    /** Blanks the inside of string literals, keeping offsets, so keywords and brackets in them are ignored. */
+    private static String maskStrings(String query) {
+        StringBuilder out = new StringBuilder(query);
+        Matcher literal = STRING_LITERAL.matcher(query);
+        while (literal.find()) {
+            for (int i = literal.start() + 1; i < literal.end() - 1; i++) {
+                out.setCharAt(i, ' ');
+            }
+        }
+        return out.toString();
+    }
+
+    /** Bracket nesting depth at each character, so clauses of subqueries and comprehensions are skipped. */
+    private static int[] depths(String code) {
+        int[] depth = new int[code.length() + 1];
+        int level = 0;
+        for (int i = 0; i < code.length(); i++) {
+            depth[i] = level;
+            char c = code.charAt(i);
+            if (c == '(' || c == '[' || c == '{') {
+                level++;
+            } else if (c == ')' || c == ']' || c == '}') {
+                level--;
+            }
+        }
+        depth[code.length()] = level;
+        return depth;
+    }
+
+    /** Value of a LIMIT made of integer literals, {@code + - *} and parentheses. */
+    static long constant(String expression) {
+        if (!CONSTANT.matcher(expression).matches() || SPLIT_NUMBER.matcher(expression).find()) {
+            throw new IllegalArgumentException("LIMIT must be a number, got " + expression);
+        }
+        String tokens = expression.replaceAll("\\s+", "");
+        int[] at = {0};
+        long value = sum(tokens, at);
+        if (at[0] != tokens.length()) {
+            throw new IllegalArgumentException("LIMIT must be a number, got " + expression);
+        }
+        return value;
+    }
+
+    private static long sum(String tokens, int[] at) {
+        long value = product(tokens, at);
+        while (at[0] < tokens.length() && (tokens.charAt(at[0]) == '+' || tokens.charAt(at[0]) == '-')) {
+            char op = tokens.charAt(at[0]++);
+            long operand = product(tokens, at);
+            value = op == '+' ? Math.addExact(value, operand) : Math.subtractExact(value, operand);
+        }
+        return value;
+    }
+
+    private static long product(String tokens, int[] at) {
+        long value = factor(tokens, at);
+        while (at[0] < tokens.length() && tokens.charAt(at[0]) == '*') {
+            at[0]++;
+            value = Math.multiplyExact(value, factor(tokens, at));
+        }
+        return value;
+    }
+
+    private static long factor(String tokens, int[] at) {
+        if (at[0] < tokens.length() && tokens.charAt(at[0]) == '(') {
+            at[0]++;
+            long value = sum(tokens, at);
+            if (at[0] >= tokens.length() || tokens.charAt(at[0]) != ')') {
+                throw new IllegalArgumentException("LIMIT has unbalanced parentheses: " + tokens);
+            }
+            at[0]++;
+            return value;
+        }
+        int start = at[0];
+        while (at[0] < tokens.length() && Character.isDigit(tokens.charAt(at[0]))) {
+            at[0]++;
+        }
+        if (start == at[0]) {
+            throw new IllegalArgumentException("LIMIT must be a number, got " + tokens);
+        }
+        return Long.parseLong(tokens.substring(start, at[0]));
+    }
+
+    public static final class Result {
+        private final boolean valid;
+        private final String cypher;
+        private final String error;
+
+        private Result(boolean valid, String cypher, String error) {
+            this.valid = valid;
+            this.cypher = cypher;
+            this.error = error;
+        }
+
+        static Result valid(String cypher) {
+            return new Result(true, cypher, null);
+        }
+
+        static Result invalid(String cypher, String error) {
+            return new Result(false, cypher, error);
+        }
+
+        public boolean isValid() {
+            return valid;
+        }
+
+        public String getCypher() {
+            return cypher;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.agents;
+
+import io.github.vishalmysore.EntityResolver;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One {@link EntityResolver} per node table with a STRING primary key, indexing the key and the alias
+ * columns listed in {@code kg.resolver.aliases} as {@code graph.Table.column} entries.
+ */
+@Component
+public class EntityResolvers extends NodeTableIndexes<EntityResolver> {
+
+    @Value("${kg.resolver.aliases:}")
+    private String aliasSpec;
+    @Value("${kg.resolver.min-score:0.35}")
+    private double minScore;
+
+    /** graph.Table -> alias columns */
+    private final Map<String, List<String>> aliases = new HashMap<>();
+
+    @PostConstruct
+    public void init() {
+        for (String entry : aliasSpec.split(",")) {
+            int dot = entry.trim().lastIndexOf('.');
+            if (dot > 0) {
+                aliases.computeIfAbsent(entry.trim().substring(0, dot), k -> new ArrayList<>()).add(entry.trim().substring(dot + 1));
+            }
+        }
+    }
+
+    /** Best matching keys of the table for the user's text, best first. */
+    public List<EntityResolver.Match> resolve(String graph, String table, String text, int k) {
+        return index(graph, table).resolve(text, k, minScore);
+    }
+
+    /** The best matching key, or null when nothing scores above {@code kg.resolver.min-score}. */
+    public String resolveKey(String graph, String table, String text) {
+        List<EntityResolver.Match> matches = resolve(graph, table, text, 1);
+        return matches.isEmpty() ? null : matches.get(0).getKey();
+    }
+
+    @Override
+    protected List<String> columns(String graph, String table, Map<String, String> properties, String primaryKey) {
+        if (!"STRING".equalsIgnoreCase(properties.get(primaryKey))) {
+            return List.of();
+        }
+        List<String> columns = new ArrayList<>(List.of(primaryKey));
+        for (String alias : aliases.getOrDefault(graph + "." + table, List.of())) {
+            if (properties.containsKey(alias)) {
+                columns.add(alias);
+            }
+        }
+        return columns;
+    }
+
+    @Override
+    protected EntityResolver newIndex() {
+        return new EntityResolver();
+    }
+
+    @Override
+    protected void put(EntityResolver index, String key, Map<String, Object> row) {
+        List<String> names = new ArrayList<>();
+        for (Object value : row.values()) {
+            if (value != null) {
+                names.add(value.toString());
+            }
+        }
+        index.add(key, names);
+    }
+
+    @Override
+    protected void remove(EntityResolver index, String key) {
+        index.remove(key);
+    }
+
+    @Override
+    protected int size(EntityResolver index) {
+        return index.size();
+    }
+
+    @Override
+    protected int deleted(EntityResolver index) {
+        return index.getDeleted();
+    }
+}
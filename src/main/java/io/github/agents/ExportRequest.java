@@ -0,0 +1,13 @@
+package io.github.agents;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class ExportRequest {
+    private String cypher;
+    private String format = "parquet";
+}
@@ -0,0 +1,85 @@
+package io.github.agents;
+
+import io.github.vishalmysore.GraphExport;
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Bulk export of read queries as Parquet or CSV. The query is checked like generated Cypher (read
+ * only, single statement, known schema) but not row capped; Kuzu writes the file and it is streamed
+ * back and deleted.
+ */
+@Service
+@RestController
+@RequestMapping("/api/export")
+@CrossOrigin(origins = "*")
+@Log
+public class ExportService {
+
+    @Autowired
+    private GraphRegistry graphRegistry;
+    @Autowired
+    private QueryLog queryLog;
+
+    @Value("${kg.export.dir:${java.io.tmpdir}}")
+    private String exportDir;
+
+    @PostMapping("/{graph}")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable String graph, @RequestBody ExportRequest request) throws IOException {
+        GraphExport.Format format = GraphExport.Format.of(request.getFormat());
+        Path target = Files.createTempFile(Paths.get(exportDir), graph + "-export-", "." + format.getExtension());
+        Files.delete(target);
+        long bytes;
+        try {
+            bytes = graphRegistry.withGraph(graph, g -> {
+                CypherValidator.Result checked = new CypherValidator(g.getSchema(), g.getPool(), 0, true).validate(request.getCypher());
+                if (!checked.isValid()) {
+                    throw new IllegalArgumentException(checked.getError());
+                }
+                long start = System.currentTimeMillis();
+                try {
+                    long written = g.getPool().withConnection(ResourceGovernor.QueryClass.ADHOC, checked.getCypher(),
+                            conn -> GraphExport.export(conn, checked.getCypher(), target, format));
+                    queryLog.record(graph, "export as " + format, checked.getCypher(), System.currentTimeMillis() - start, -1, null, null);
+                    return written;
+                } catch (RuntimeException e) {
+                    queryLog.record(graph, "export as " + format, checked.getCypher(), System.currentTimeMillis() - start, -1, e.getMessage(), null);
+                    throw e;
+                }
+            });
+        } catch (RuntimeException e) {
+            Files.deleteIfExists(target);
+            throw e;
+        }
+        log.info("Exported " + bytes + " bytes of " + graph + " as " + format);
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(target, out);
+            } finally {
+                Files.deleteIfExists(target);
+            }
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + graph + "." + format.getExtension() + "\"")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(bytes)
+                .body(body);
+    }
+}
@@ -0,0 +1,95 @@
+package io.github.agents;
+
+import io.github.vishalmysore.FraudRules;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the fraud graph compiled into a {@link FraudRules} table. The table is replaced as a whole
+ * when the graph is opened or one of its tables changes, so scoring threads never wait on a lock and
+ * always see one consistent set of rules.
+ */
+@Component
+@Log
+public class FraudScoring implements GraphChangeListener {
+
+    private static final Set<String> RULE_TABLES = Set.of("Uses", "Detects", "Indicator", "FraudType", "DetectionMethod");
+
+    @Autowired
+    private GraphRegistry graphRegistry;
+    @Autowired
+    private GraphEvents graphEvents;
+    @Autowired
+    private QueryLog queryLog;
+
+    @Value("${kg.fraud.graph:fraud}")
+    private String graph;
+
+    private volatile FraudRules rules;
+
+    @PostConstruct
+    public void init() {
+        graphEvents.addListener(this);
+    }
+
+    public FraudRules rules() {
+        FraudRules current = rules;
+        return current != null ? current : recompile();
+    }
+
+    public synchronized FraudRules recompile() {
+        FraudRules compiled = graphRegistry.withGraph(graph, g -> queryLog.track(g, ResourceGovernor.QueryClass.MAINTENANCE, "fraud rules", "compile fraud rules", FraudRules::compile));
+        rules = compiled;
+        log.info("Compiled " + compiled.getRuleCount() + " fraud rules over " + compiled.getIndicators().size() + " indicators");
+        return compiled;
+    }
+
+    /** Scores each event, given as the names of the indicators it raised; only non-zero scores are returned. */
+    public List<Map<String, Double>> score(List<List<String>> events) {
+        FraudRules current = rules();
+        int words = current.getWords();
+        List<String> types = current.getFraudTypes();
+        long[] flags = new long[events.size() * words];
+        for (int e = 0; e < events.size(); e++) {
+            current.setFlags(events.get(e), flags, e * words);
+        }
+        double[] scores = new double[events.size() * types.size()];
+        current.scoreBatch(flags, events.size(), scores);
+
+        List<Map<String, Double>> results = new ArrayList<>(events.size());
+        for (int e = 0; e < events.size(); e++) {
+            Map<String, Double> eventScores = new LinkedHashMap<>();
+            for (int t = 0; t < types.size(); t++) {
+                double score = scores[e * types.size() + t];
+                if (score > 0) {
+                    eventScores.put(types.get(t), score);
+                }
+            }
+            results.add(eventScores);
+        }
+        return results;
+    }
+
+    @Override
+    public void graphOpened(String openedGraph) {
+        if (graph.equals(openedGraph)) {
+            recompile();
+        }
+    }
+
+    @Override
+    public void tableChanged(RelChange change) {
+        if (graph.equals(change.getGraph()) && RULE_TABLES.contains(change.getTable())) {
+            recompile();
+        }
+    }
+}
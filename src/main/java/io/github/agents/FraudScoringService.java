@@ -0,0 +1,50 @@
+package io.github.agents;
+
+import io.github.vishalmysore.FraudRules;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RestController
+@RequestMapping("/api/fraud")
+@CrossOrigin(origins = "*")
+public class FraudScoringService {
+
+    @Autowired
+    private FraudScoring fraudScoring;
+
+    @GetMapping("/rules")
+    public Map<String, Object> getRules() {
+        return describe(fraudScoring.rules());
+    }
+
+    @PostMapping("/rules/recompile")
+    public Map<String, Object> recompile() {
+        return describe(fraudScoring.recompile());
+    }
+
+    /** Body: one list of indicator names per transaction event. */
+    @PostMapping("/score")
+    public List<Map<String, Double>> score(@RequestBody List<List<String>> events) {
+        return fraudScoring.score(events);
+    }
+
+    private static Map<String, Object> describe(FraudRules rules) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("indicators", rules.getIndicators());
+        description.put("methods", rules.getMethods());
+        description.put("fraudTypes", rules.getFraudTypes());
+        description.put("rules", rules.getRuleCount());
+        return description;
+    }
+}
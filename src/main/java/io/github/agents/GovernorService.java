@@ -0,0 +1,40 @@
+package io.github.agents;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RestController
+@RequestMapping("/api/governor")
+@CrossOrigin(origins = "*")
+public class GovernorService {
+
+    @Autowired
+    private ResourceGovernor governor;
+
+    /** Thread caps, timeouts and counters per query class, and the buffer pool of each graph. */
+    @GetMapping
+    public Map<String, Object> stats() {
+        return governor.stats();
+    }
+
+    /** Queries running now, longest first. */
+    @GetMapping("/queries")
+    public List<ResourceGovernor.RunningQuery> running() {
+        return governor.runningQueries();
+    }
+
+    @DeleteMapping("/queries/{id}")
+    public Map<String, Object> cancel(@PathVariable long id) {
+        return Map.of("id", id, "cancelled", governor.cancel(id));
+    }
+}
@@ -0,0 +1,17 @@
+package io.github.agents;
+
+/**
+ * Told when a graph has been opened and when its tables change, so that derived in-memory
+ * structures can be built after the load and kept in step with updates.
+ */
+public interface GraphChangeListener {
+
+    default void graphOpened(String graph) {
+    }
+
+    default void graphClosed(String graph) {
+    }
+
+    default void tableChanged(RelChange change) {
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.agents;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.java.Log;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Delivers graph open/close and change events to the registered listeners, one event at a time on
+ * a background thread so that the thread that opened or wrote the graph is not held up.
+ */
+@Component
+@Log
+public class GraphEvents {
+
+    private final List<GraphChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "graph-events");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public void addListener(GraphChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void graphOpened(String graph) {
+        dispatch(listener -> listener.graphOpened(graph));
+    }
+
+    public void graphClosed(String graph) {
+        dispatch(listener -> listener.graphClosed(graph));
+    }
+
+    public void tableChanged(RelChange change) {
+        dispatch(listener -> listener.tableChanged(change));
+    }
+
+    private void dispatch(Consumer<GraphChangeListener> event) {
+        dispatcher.execute(() -> {
+            for (GraphChangeListener listener : listeners) {
+                try {
+                    event.accept(listener);
+                } catch (RuntimeException e) {
+                    log.warning("Graph event listener " + listener.getClass().getSimpleName() + " failed: " + e.getMessage());
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+}
@@ -0,0 +1,76 @@
+package io.github.agents;
+
+import io.github.vishalmysore.SchemaModel;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One open graph: its Kuzu database behind a connection pool, the schema snapshot taken when it was
+ * opened, and the bookkeeping the registry needs to evict it when idle.
+ */
+public class GraphHandle {
+
+    private final String name;
+    private final String path;
+    private final KuzuConnectionPool pool;
+    private final SchemaModel schema;
+    private final String schemaInfo;
+    private final long bufferPoolBytes;
+    private final AtomicInteger leases = new AtomicInteger();
+    private volatile long lastAccessMillis = System.currentTimeMillis();
+
+    GraphHandle(String name, String path, KuzuConnectionPool pool, SchemaModel schema, String schemaInfo, long bufferPoolBytes) {
+        this.name = name;
+        this.path = path;
+        this.pool = pool;
+        this.schema = schema;
+        this.schemaInfo = schemaInfo;
+        this.bufferPoolBytes = bufferPoolBytes;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public KuzuConnectionPool getPool() {
+        return pool;
+    }
+
+    public SchemaModel getSchema() {
+        return schema;
+    }
+
+    public String getSchemaInfo() {
+        return schemaInfo;
+    }
+
+    public long getBufferPoolBytes() {
+        return bufferPoolBytes;
+    }
+
+    public long getLastAccessMillis() {
+        return lastAccessMillis;
+    }
+
+    boolean inUse() {
+        return leases.get() > 0;
+    }
+
+    void lease() {
+        leases.incrementAndGet();
+        lastAccessMillis = System.currentTimeMillis();
+    }
+
+    void release() {
+        lastAccessMillis = System.currentTimeMillis();
+        leases.decrementAndGet();
+    }
+
+    void close() {
+        pool.close();
+    }
+}
@@ -0,0 +1,318 @@
+package io.github.agents;
+
+import com.kuzudb.Database;
+import io.github.vishalmysore.SchemaExtractor;
+import io.github.vishalmysore.SchemaModel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Named graphs served by this process. A graph is opened on first use and closed again after it has
+ * been idle for a while. The buffer pools of all open graphs share one memory budget; when a graph
+ * needs to be opened and the budget is used up, the least recently used idle graphs are closed first.
+ * {@link ResourceGovernor} sizes each graph's buffer pool.
+ * Graphs are opened read-only by default so that several servers can share one database built by
+ * {@link io.github.vishalmysore.GraphWriter}; graphs listed in {@code kg.writable} are opened
+ * read-write so {@link Ingestion} can apply live updates to them.
+ */
+@Component
+@Log
+public class GraphRegistry {
+
+    private static final long MB = 1024L * 1024L;
+
+    @Value("${kg.graphs:yoga=db/yoga.kuzu}")
+    private String graphSpec;
+    @Value("${kg.memory-budget-mb:2048}")
+    private long memoryBudgetMb;
+    @Value("${kg.idle-timeout-ms:600000}")
+    private long idleTimeoutMillis;
+    @Value("${kg.pool-size:4}")
+    private int poolSize;
+    @Value("${kg.borrow-timeout-ms:5000}")
+    private long borrowTimeoutMillis;
+    @Value("${kg.read-only:true}")
+    private boolean readOnly;
+    @Value("${kg.prewarm:}")
+    private String prewarmSpec;
+    @Value("${kg.writable:}")
+    private String writableSpec;
+
+    @Autowired
+    private GraphEvents graphEvents;
+    @Autowired
+    private ResourceGovernor governor;
+
+    private final Map<String, String> paths = new LinkedHashMap<>();
+    private final Set<String> writable = new HashSet<>();
+    private final Map<String, GraphHandle> open = new LinkedHashMap<>();
+    private final Map<String, CompletableFuture<GraphHandle>> opening = new HashMap<>();
+    private long reservedBytes;
+    private ScheduledExecutorService evictor;
+
+    @FunctionalInterface
+    public interface GraphWork<T, E extends Exception> {
+        T apply(GraphHandle graph) throws E;
+    }
+
+    @PostConstruct
+    public void init() {
+        for (String entry : graphSpec.split(",")) {
+            String[] parts = entry.trim().split("=", 2);
+            if (parts.length == 2) {
+                paths.put(parts[0].trim(), parts[1].trim());
+            }
+        }
+        for (String name : writableSpec.split(",")) {
+            if (!name.isBlank()) {
+                writable.add(name.trim());
+            }
+        }
+        log.info("Registered graphs " + paths + (writable.isEmpty() ? "" : ", writable " + writable));
+        evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "graph-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, idleTimeoutMillis / 4);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens the graphs listed in {@code kg.prewarm} once the server is accepting requests, so schema
+     * extraction and the open listeners run off the startup path but usually before the first request.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void prewarm() {
+        for (String name : prewarmSpec.split(",")) {
+            if (name.isBlank()) {
+                continue;
+            }
+            evictor.execute(() -> {
+                long start = System.currentTimeMillis();
+                try {
+                    withGraph(name.trim(), graph -> null);
+                    log.info("Prewarmed graph " + name.trim() + " in " + (System.currentTimeMillis() - start) + " ms");
+                } catch (RuntimeException e) {
+                    log.warning("Could not prewarm graph " + name.trim() + ": " + e.getMessage());
+                }
+            });
+        }
+    }
+
+    /** Runs the work against the named graph, opening it if needed and keeping it open while the work runs. */
+    public <T, E extends Exception> T withGraph(String name, GraphWork<T, E> work) throws E {
+        GraphHandle graph = lease(name);
+        try {
+            return work.apply(graph);
+        } finally {
+            graph.release();
+        }
+    }
+
+    public List<String> getGraphNames() {
+        return new ArrayList<>(paths.keySet());
+    }
+
+    /** Graphs listed in {@code kg.writable} are opened read-write even when {@code kg.read-only} is set. */
+    public boolean isReadOnly(String name) {
+        return readOnly && !writable.contains(name);
+    }
+
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        for (String name : paths.keySet()) {
+            GraphHandle graph = open.get(name);
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("path", paths.get(name));
+            entry.put("open", graph != null);
+            entry.put("readOnly", isReadOnly(name));
+            if (graph != null) {
+                entry.put("bufferPoolMb", graph.getBufferPoolBytes() / MB);
+                entry.put("idleMillis", System.currentTimeMillis() - graph.getLastAccessMillis());
+                entry.put("inUse", graph.inUse());
+            }
+            status.put(name, entry);
+        }
+        status.put("memoryUsedMb", usedBytes() / MB);
+        status.put("memoryBudgetMb", memoryBudgetMb);
+        return status;
+    }
+
+    /**
+     * Leases the named graph. Only the map lookups and lease counting hold the registry lock; the first
+     * caller for a closed graph opens it outside the lock while later callers for the same graph wait on
+     * its opening slot, so requests for other graphs are never held up by an open.
+     */
+    private GraphHandle lease(String name) {
+        while (true) {
+            CompletableFuture<GraphHandle> slot;
+            long bufferPoolBytes = 0;
+            List<GraphHandle> evicted = List.of();
+            boolean opener = false;
+            synchronized (this) {
+                GraphHandle graph = open.get(name);
+                if (graph != null) {
+                    graph.lease();
+                    return graph;
+                }
+                if (!paths.containsKey(name)) {
+                    throw new NotFoundException("Unknown graph " + name + ", known graphs are " + paths.keySet());
+                }
+                slot = opening.get(name);
+                if (slot == null) {
+                    bufferPoolBytes = governor.bufferPoolBytes(name);
+                    evicted = makeRoom(bufferPoolBytes);
+                    reservedBytes += bufferPoolBytes;
+                    slot = new CompletableFuture<>();
+                    opening.put(name, slot);
+                    opener = true;
+                }
+            }
+            if (opener) {
+                return open(name, bufferPoolBytes, evicted, slot);
+            }
+            GraphHandle graph;
+            try {
+                graph = slot.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+            synchronized (this) {
+                if (open.get(name) == graph) {
+                    graph.lease();
+                    return graph;
+                }
+            }
+            // closed again between opening and our lease; go round and reopen it
+        }
+    }
+
+    private GraphHandle open(String name, long bufferPoolBytes, List<GraphHandle> evicted, CompletableFuture<GraphHandle> slot) {
+        GraphHandle graph;
+        try {
+            evicted.forEach(victim -> close(victim, "memory budget"));
+            graph = openGraph(name, paths.get(name), bufferPoolBytes);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                reservedBytes -= bufferPoolBytes;
+                opening.remove(name);
+            }
+            slot.completeExceptionally(e);
+            throw e;
+        }
+        synchronized (this) {
+            reservedBytes -= bufferPoolBytes;
+            opening.remove(name);
+            open.put(name, graph);
+            graph.lease();
+        }
+        slot.complete(graph);
+        graphEvents.graphOpened(name);
+        return graph;
+    }
+
+    private GraphHandle openGraph(String name, String path, long bufferPoolBytes) {
+        boolean graphReadOnly = isReadOnly(name);
+        log.info("Opening graph " + name + " at " + path + (graphReadOnly ? " read-only" : " read-write") + " with " + bufferPoolBytes / MB + " MB buffer pool");
+        Database database = new Database(path, bufferPoolBytes, true, graphReadOnly, 0);
+        KuzuConnectionPool pool = new KuzuConnectionPool(name, database, governor, poolSize, borrowTimeoutMillis);
+        SchemaModel schema = pool.withConnection(ResourceGovernor.QueryClass.MAINTENANCE, "schema of " + name, SchemaExtractor::getSchemaModel);
+        String schemaInfo = schema.describe(name);
+        log.info(schemaInfo);
+        return new GraphHandle(name, path, pool, schema, schemaInfo, bufferPoolBytes);
+    }
+
+    /**
+     * Takes least recently used idle graphs out of the registry until the buffer pool fits the budget,
+     * counting pools of graphs still being opened. Called under the lock; the caller closes the returned
+     * graphs after releasing it.
+     */
+    private List<GraphHandle> makeRoom(long bytes) {
+        long budget = memoryBudgetMb * MB;
+        if (bytes > budget) {
+            throw new IllegalStateException("Buffer pool of " + bytes / MB + " MB exceeds the memory budget of " + memoryBudgetMb + " MB");
+        }
+        List<GraphHandle> candidates = new ArrayList<>(open.values());
+        candidates.sort(Comparator.comparingLong(GraphHandle::getLastAccessMillis));
+        List<GraphHandle> evicted = new ArrayList<>();
+        for (GraphHandle candidate : candidates) {
+            if (usedBytes() + bytes <= budget) {
+                break;
+            }
+            if (!candidate.inUse()) {
+                open.remove(candidate.getName());
+                evicted.add(candidate);
+            }
+        }
+        if (usedBytes() + bytes > budget) {
+            evicted.forEach(graph -> open.put(graph.getName(), graph));
+            throw new IllegalStateException("Memory budget of " + memoryBudgetMb + " MB is used by graphs that are busy or opening");
+        }
+        return evicted;
+    }
+
+    private void evictIdle() {
+        long now = System.currentTimeMillis();
+        List<GraphHandle> evicted = new ArrayList<>();
+        synchronized (this) {
+            for (GraphHandle graph : new ArrayList<>(open.values())) {
+                if (!graph.inUse() && now - graph.getLastAccessMillis() > idleTimeoutMillis) {
+                    open.remove(graph.getName());
+                    evicted.add(graph);
+                }
+            }
+        }
+        for (GraphHandle graph : evicted) {
+            close(graph, "idle timeout");
+        }
+    }
+
+    /** Closes a graph already taken out of the registry. */
+    private void close(GraphHandle graph, String reason) {
+        log.info("Closing graph " + graph.getName() + " (" + reason + ")");
+        graph.close();
+        graphEvents.graphClosed(graph.getName());
+    }
+
+    private long usedBytes() {
+        long used = reservedBytes;
+        for (GraphHandle graph : open.values()) {
+            used += graph.getBufferPoolBytes();
+        }
+        return used;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        evictor.shutdownNow();
+        List<GraphHandle> graphs;
+        synchronized (this) {
+            graphs = new ArrayList<>(open.values());
+            open.clear();
+        }
+        for (GraphHandle graph : graphs) {
+            close(graph, "shutdown");
+        }
+    }
+}
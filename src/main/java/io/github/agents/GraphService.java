@@ -0,0 +1,129 @@
+package io.github.agents;
+
+import com.t4a.annotations.Action;
+import com.t4a.annotations.Agent;
+import com.t4a.processor.AIProcessingException;
+import io.github.vishalmysore.FactorizedQuery;
+import io.github.vishalmysore.QueryProfile;
+import io.github.vishalmysore.Subgraph;
+import io.github.vishalmysore.SubgraphQuery;
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RestController
+@RequestMapping("/api/graphs")
+@CrossOrigin(origins = "*")
+@Agent(groupName = "graphServices", groupDescription = "questions answered from any of the hosted knowledge graphs")
+@Log
+public class GraphService {
+
+    @Autowired
+    private GraphRegistry graphRegistry;
+    @Autowired
+    private CypherTranslator cypherTranslator;
+    @Autowired
+    private QueryLog queryLog;
+
+    @Value("${kg.cypher.max-rows:1000}")
+    private long maxRows;
+    @Value("${kg.subgraph.max-nodes:5000}")
+    private int maxSubgraphNodes;
+    @Value("${kg.subgraph.max-hops:4}")
+    private int maxSubgraphHops;
+    @Value("${kg.subgraph.max-degree:200}")
+    private int maxSubgraphDegree;
+
+    @GetMapping
+    public Map<String, Object> listGraphs() {
+        return graphRegistry.status();
+    }
+
+    @GetMapping("/{graph}/schema")
+    public String getSchema(@PathVariable String graph) {
+        return graphRegistry.withGraph(graph, GraphHandle::getSchemaInfo);
+    }
+
+    @RequestMapping("/{graph}/ask/{englishQuery}")
+    @Action
+    public CypherResponse ask(@PathVariable String graph, @PathVariable String englishQuery) throws AIProcessingException {
+        return cypherTranslator.translate(graph, englishQuery, true);
+    }
+
+    @PostMapping("/{graph}/ask/batch")
+    public List<CypherResponse> askBatch(@PathVariable String graph, @RequestBody BatchCypherRequest request) throws AIProcessingException {
+        return cypherTranslator.translateBatch(graph, request.getQuestions());
+    }
+
+    /** Runs a read query under Kuzu PROFILE and returns its operators with their timings and row counts. */
+    @GetMapping("/{graph}/profile")
+    public QueryProfile profile(@PathVariable String graph, @RequestParam String cypher) {
+        return graphRegistry.withGraph(graph, g -> {
+            CypherValidator.Result checked = new CypherValidator(g.getSchema(), g.getPool(), 0, true).validate(cypher);
+            if (!checked.isValid()) {
+                throw new IllegalArgumentException(checked.getError());
+            }
+            return queryLog.profile(g, ResourceGovernor.QueryClass.ADHOC, "profile", checked.getCypher());
+        });
+    }
+
+    /** Runs a nested multi-branch match; each anchor node comes back once with its branches as lists. */
+    @PostMapping("/{graph}/factorized")
+    public List<FactorizedQuery.Row> factorized(@PathVariable String graph, @RequestBody FactorizedQuery query) {
+        return graphRegistry.withGraph(graph, handle -> queryLog.track(handle, ResourceGovernor.QueryClass.ADHOC,
+                "factorized", "factorized query from " + query.getAnchor() + " with " + query.getBranches().size() + " branches",
+                conn -> query.run(conn, maxRows)));
+    }
+
+    /**
+     * Neighbourhood of a node for the visualizations: up to {@code hops} away, at most {@code maxNodes}
+     * nodes, with hubs cut at {@code maxDegree} neighbours per rel table. Each limit is clamped to at
+     * least 1 and at most its {@code kg.subgraph.*} setting. {@code format=columnar} returns parallel
+     * arrays instead of node and link objects.
+     */
+    @GetMapping("/{graph}/subgraph")
+    public Object subgraph(@PathVariable String graph, @RequestParam String table, @RequestParam String key,
+                           @RequestParam(defaultValue = "2") int hops,
+                           @RequestParam(defaultValue = "500") int maxNodes,
+                           @RequestParam(defaultValue = "25") int maxDegree,
+                           @RequestParam(defaultValue = "true") boolean properties,
+                           @RequestParam(defaultValue = "rows") String format) {
+        int boundedHops = clamp(hops, maxSubgraphHops);
+        Subgraph subgraph = graphRegistry.withGraph(graph, g -> queryLog.track(g, ResourceGovernor.QueryClass.ADHOC,
+                "subgraph around " + table + " " + key, "subgraph around " + table + " in " + boundedHops + " hops", conn ->
+                new SubgraphQuery(conn, g.getSchema(), clamp(maxNodes, maxSubgraphNodes), clamp(maxDegree, maxSubgraphDegree), properties)
+                        .around(table, key, boundedHops)));
+        return "columnar".equals(format) ? subgraph.columnar() : subgraph;
+    }
+
+    /** Next page of the neighbours behind an aggregate node of an earlier subgraph. */
+    @GetMapping("/{graph}/subgraph/page")
+    public Object subgraphPage(@PathVariable String graph, @RequestParam String cursor,
+                               @RequestParam(defaultValue = "25") int limit,
+                               @RequestParam(defaultValue = "true") boolean properties,
+                               @RequestParam(defaultValue = "rows") String format) {
+        int pageSize = clamp(limit, maxSubgraphDegree);
+        Subgraph subgraph = graphRegistry.withGraph(graph, g -> queryLog.track(g, ResourceGovernor.QueryClass.ADHOC,
+                "subgraph page", "subgraph page", conn ->
+                new SubgraphQuery(conn, g.getSchema(), maxSubgraphNodes, pageSize, properties)
+                        .page(cursor, pageSize)));
+        return "columnar".equals(format) ? subgraph.columnar() : subgraph;
+    }
+
+    private static int clamp(int value, int max) {
+        return Math.max(1, Math.min(value, max));
+    }
+}
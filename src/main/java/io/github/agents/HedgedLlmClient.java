@@ -0,0 +1,160 @@
+package io.github.agents;
+
+import com.t4a.processor.AIProcessingException;
+import lombok.extern.java.Log;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends the prompt to the primary client and, if no answer has arrived once the configured latency
+ * percentile of the primary has passed or the primary fails before then, fires the same prompt at the
+ * hedge client. The first answer wins and the other request is cancelled. The percentile is taken over
+ * the primary's own latencies: the time it took when it answered, or the time it had run when the hedge
+ * beat it, which is a lower bound. Hedges are capped to a fraction of all requests to bound the extra
+ * cost, and are skipped when the bounded executor has no thread free; the primary then runs on the
+ * caller's thread.
+ */
+@Log
+public class HedgedLlmClient implements LlmClient {
+
+    private static final int WINDOW = 1024;
+    private static final int RECOMPUTE_EVERY = 32;
+
+    private final LlmClient primary;
+    private final LlmClient hedge;
+    private final ExecutorService executor;
+    private final double percentile;
+    private final long minDelayMillis;
+    private final double maxHedgeRatio;
+
+    private final long[] latencies = new long[WINDOW];
+    private long samples;
+    private volatile long hedgeDelayMillis;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+
+    public HedgedLlmClient(LlmClient primary, LlmClient hedge, ExecutorService executor,
+                           double percentile, long minDelayMillis, double maxHedgeRatio) {
+        this.primary = primary;
+        this.hedge = hedge;
+        this.executor = executor;
+        this.percentile = percentile;
+        this.minDelayMillis = minDelayMillis;
+        this.maxHedgeRatio = maxHedgeRatio;
+        this.hedgeDelayMillis = minDelayMillis;
+    }
+
+    @Override
+    public String query(String prompt) throws AIProcessingException {
+        requests.incrementAndGet();
+        CompletionService<String> race = new ExecutorCompletionService<>(executor);
+        long start = System.nanoTime();
+        Future<String> first;
+        try {
+            first = race.submit(() -> primary.query(prompt));
+        } catch (RejectedExecutionException e) {
+            return primary.query(prompt);
+        }
+        Future<String> second = null;
+        try {
+            Future<String> done = race.poll(hedgeDelayMillis, TimeUnit.MILLISECONDS);
+            if (done == null) {
+                second = submitHedge(race, prompt);
+            }
+            int pending = second == null ? 1 : 2;
+            Exception lastError = null;
+            boolean primaryFailed = false;
+            while (pending > 0) {
+                Future<String> winner = done != null ? done : race.take();
+                done = null;
+                pending--;
+                try {
+                    String answer = winner.get();
+                    if (winner == second) {
+                        hedgeWins.incrementAndGet();
+                    }
+                    if (!primaryFailed) {
+                        // a primary beaten by the hedge took at least this long
+                        record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    }
+                    return answer;
+                } catch (ExecutionException e) {
+                    lastError = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                    primaryFailed |= winner == first;
+                    if (winner == first && second == null) {
+                        second = submitHedge(race, prompt);
+                        pending += second == null ? 0 : 1;
+                    }
+                    log.warning("LLM request failed" + (pending > 0 ? ", waiting for the other one: " : ": ") + lastError.getMessage());
+                }
+            }
+            if (lastError instanceof AIProcessingException) {
+                throw (AIProcessingException) lastError;
+            }
+            throw new AIProcessingException(lastError);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AIProcessingException("interrupted while waiting for LLM response");
+        } finally {
+            first.cancel(true);
+            if (second != null) {
+                second.cancel(true);
+            }
+        }
+    }
+
+    /** Sends the hedge if the ratio allows it and a thread is free, else returns null. */
+    private Future<String> submitHedge(CompletionService<String> race, String prompt) {
+        if (!tryAcquireHedge()) {
+            return null;
+        }
+        try {
+            return race.submit(() -> hedge.query(prompt));
+        } catch (RejectedExecutionException e) {
+            hedges.decrementAndGet();
+            return null;
+        }
+    }
+
+    private boolean tryAcquireHedge() {
+        while (true) {
+            long issued = hedges.get();
+            if (issued + 1 > maxHedgeRatio * requests.get()) {
+                return false;
+            }
+            if (hedges.compareAndSet(issued, issued + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private synchronized void record(long millis) {
+        latencies[(int) (samples % WINDOW)] = millis;
+        samples++;
+        if (samples % RECOMPUTE_EVERY == 0) {
+            long[] window = Arrays.copyOf(latencies, (int) Math.min(samples, WINDOW));
+            Arrays.sort(window);
+            int index = (int) Math.min(window.length - 1, Math.ceil(percentile / 100.0 * window.length) - 1);
+            hedgeDelayMillis = Math.max(minDelayMillis, window[Math.max(index, 0)]);
+        }
+    }
+
+    public long getHedgeDelayMillis() {
+        return hedgeDelayMillis;
+    }
+
+    public String stats() {
+        return String.format("requests=%d hedges=%d hedgeWins=%d hedgeDelayMs=%d",
+                requests.get(), hedges.get(), hedgeWins.get(), hedgeDelayMillis);
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.agents;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** Sent once the request's rows are committed; it may have shared its transaction with other requests. */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngestAck {
+    private String graph;
+    private long batch;
+    private int rows;
+    private int batchRequests;
+    private int batchRows;
+    private long queuedMillis;
+    private long commitMillis;
+}
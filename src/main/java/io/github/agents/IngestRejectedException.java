@@ -0,0 +1,36 @@
+package io.github.agents;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Ingest request turned away by {@link Ingestion}: 400 when it does not fit the schema, 409 when the
+ * graph is read-only, 503 with a Retry-After hint when the writer is too far behind.
+ */
+public class IngestRejectedException extends ResponseStatusException {
+
+    private final long retryAfterSeconds;
+
+    public IngestRejectedException(HttpStatus status, String reason) {
+        this(status, reason, 0);
+    }
+
+    public IngestRejectedException(HttpStatus status, String reason, long retryAfterSeconds) {
+        super(status, reason);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        if (retryAfterSeconds > 0) {
+            headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        }
+        return headers;
+    }
+}
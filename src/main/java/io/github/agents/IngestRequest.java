@@ -0,0 +1,49 @@
+package io.github.agents;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Node and edge upserts for one graph. Nodes are merged on their primary key, which must be among
+ * the properties; edges are merged between two existing nodes, on the {@code match} properties when
+ * given (for example a transfer id), otherwise one edge per node pair. Nodes are applied before
+ * edges, so a request can add an account and its first transfer together.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class IngestRequest {
+    private List<NodeUpsert> nodes = new ArrayList<>();
+    private List<EdgeUpsert> edges = new ArrayList<>();
+
+    public int rows() {
+        return (nodes == null ? 0 : nodes.size()) + (edges == null ? 0 : edges.size());
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class NodeUpsert {
+        private String table;
+        private Map<String, Object> properties;
+    }
+
+    /** {@code fromTable} and {@code toTable} may be left out when the rel table connects one pair. */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class EdgeUpsert {
+        private String rel;
+        private String fromTable;
+        private String from;
+        private String toTable;
+        private String to;
+        private List<String> match = new ArrayList<>();
+        private Map<String, Object> properties;
+    }
+}
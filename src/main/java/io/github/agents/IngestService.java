@@ -0,0 +1,44 @@
+package io.github.agents;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+@Service
+@RestController
+@RequestMapping("/api/ingest")
+@CrossOrigin(origins = "*")
+public class IngestService {
+
+    @Autowired
+    private Ingestion ingestion;
+
+    /**
+     * Upserts nodes and edges into a writable graph; answers once they are committed. 400 when the
+     * request does not fit the schema, 409 for a read-only graph, 503 when the queue is full or the
+     * request was withdrawn unwritten after the ack timeout.
+     */
+    @PostMapping("/{graph}")
+    public CompletableFuture<IngestAck> ingest(@PathVariable String graph, @RequestBody IngestRequest request) {
+        return ingestion.submit(graph, request);
+    }
+
+    @GetMapping("/stats")
+    public Map<String, Object> stats() {
+        return ingestion.stats();
+    }
+
+    @GetMapping("/{graph}/stats")
+    public Map<String, Object> stats(@PathVariable String graph) {
+        return ingestion.stats(graph);
+    }
+}
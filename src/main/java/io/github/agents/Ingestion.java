@@ -0,0 +1,546 @@
+package io.github.agents;
+
+import com.kuzudb.Connection;
+import com.kuzudb.PreparedStatement;
+import com.kuzudb.QueryResult;
+import io.github.vishalmysore.SchemaModel;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Group commit for live updates. Requests for a graph queue up behind one writer thread, which takes
+ * them in micro-batches of up to {@code kg.ingest.max-batch-rows} rows or whatever arrived within
+ * {@code kg.ingest.max-delay-ms} of the oldest, and applies each batch as prepared MERGE statements in
+ * one Kuzu transaction. A request is acknowledged only after its batch has committed. If a batch
+ * fails, its requests are retried one transaction each so a bad request fails alone. A request still
+ * queued after {@code kg.ingest.ack-timeout-ms} is taken out of the queue and answered with 503, so a
+ * failed answer always means nothing was written; one already in a batch waits for its commit.
+ */
+@Component
+@Log
+public class Ingestion {
+
+    private static final Set<String> BOUND_TYPES = Set.of("STRING", "INT64", "INT32", "INT16", "INT8", "DOUBLE", "FLOAT", "BOOL");
+
+    @Autowired
+    private GraphRegistry graphRegistry;
+    @Autowired
+    private GraphEvents graphEvents;
+
+    @Value("${kg.ingest.max-batch-rows:5000}")
+    private int maxBatchRows;
+    @Value("${kg.ingest.max-delay-ms:20}")
+    private long maxDelayMillis;
+    @Value("${kg.ingest.queue-capacity:10000}")
+    private int queueCapacity;
+    @Value("${kg.ingest.ack-timeout-ms:30000}")
+    private long ackTimeoutMillis;
+
+    private final Map<String, Writer> writers = new ConcurrentHashMap<>();
+
+    /** Checks the request against the schema and queues it; the future completes after the commit. */
+    public CompletableFuture<IngestAck> submit(String graph, IngestRequest request) {
+        if (graphRegistry.isReadOnly(graph)) {
+            throw new IngestRejectedException(HttpStatus.CONFLICT, "Graph " + graph + " is served read-only; list it in kg.writable to ingest into it");
+        }
+        if (request.rows() == 0) {
+            throw invalid("Nothing to ingest: no nodes and no edges");
+        }
+        SchemaModel schema = graphRegistry.withGraph(graph, GraphHandle::getSchema);
+        validate(schema, request);
+        Pending pending = new Pending(request);
+        Writer writer = writers.computeIfAbsent(graph, Writer::new);
+        if (!writer.queue.offer(pending)) {
+            throw new IngestRejectedException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Ingestion queue for " + graph + " is full (" + queueCapacity + " requests)", writer.retryAfterSeconds());
+        }
+        writer.queuedRows.addAndGet(pending.rows);
+        CompletableFuture.delayedExecutor(ackTimeoutMillis, TimeUnit.MILLISECONDS).execute(() -> writer.withdraw(pending));
+        return pending.ack;
+    }
+
+    /** Queue depth, batch sizes and enqueue-to-commit lag of every graph ingested into so far. */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (Writer writer : writers.values()) {
+            stats.put(writer.graph, writer.stats());
+        }
+        return stats;
+    }
+
+    public Map<String, Object> stats(String graph) {
+        Writer writer = writers.get(graph);
+        if (writer == null) {
+            throw new IllegalArgumentException("Nothing has been ingested into " + graph + " yet");
+        }
+        return writer.stats();
+    }
+
+    static void validate(SchemaModel schema, IngestRequest request) {
+        for (IngestRequest.NodeUpsert node : nullToEmpty(request.getNodes())) {
+            if (!schema.hasNodeTable(node.getTable())) {
+                throw invalid("Unknown node table " + node.getTable());
+            }
+            String key = schema.primaryKey(node.getTable());
+            if (node.getProperties() == null || node.getProperties().get(key) == null) {
+                throw invalid(node.getTable() + " upsert needs its primary key " + key);
+            }
+            checkProperties(schema, node.getTable(), node.getProperties().keySet());
+            checkValues(schema, node.getTable(), node.getProperties());
+        }
+        for (IngestRequest.EdgeUpsert edge : nullToEmpty(request.getEdges())) {
+            if (!schema.hasRelTable(edge.getRel())) {
+                throw invalid("Unknown rel table " + edge.getRel());
+            }
+            if (edge.getFrom() == null || edge.getTo() == null) {
+                throw invalid(edge.getRel() + " upsert needs from and to keys");
+            }
+            List<String[]> pairs = new ArrayList<>();
+            for (String[] pair : schema.connections(edge.getRel())) {
+                if ((edge.getFromTable() == null || pair[0].equals(edge.getFromTable()))
+                        && (edge.getToTable() == null || pair[1].equals(edge.getToTable()))) {
+                    pairs.add(pair);
+                }
+            }
+            if (pairs.size() != 1) {
+                throw invalid(edge.getRel() + " upsert needs fromTable and toTable naming one of its connections");
+            }
+            edge.setFromTable(pairs.get(0)[0]);
+            edge.setToTable(pairs.get(0)[1]);
+            checkValue(schema.properties(edge.getFromTable()).get(schema.primaryKey(edge.getFromTable())),
+                    edge.getFromTable() + " key", edge.getFrom());
+            checkValue(schema.properties(edge.getToTable()).get(schema.primaryKey(edge.getToTable())),
+                    edge.getToTable() + " key", edge.getTo());
+            if (edge.getMatch() == null) {
+                edge.setMatch(new ArrayList<>());
+            }
+            Set<String> names = new HashSet<>(edge.getMatch());
+            if (edge.getProperties() != null) {
+                names.addAll(edge.getProperties().keySet());
+            }
+            checkProperties(schema, edge.getRel(), names);
+            checkValues(schema, edge.getRel(), edge.getProperties());
+            for (String name : edge.getMatch()) {
+                if (edge.getProperties() == null || edge.getProperties().get(name) == null) {
+                    throw invalid(edge.getRel() + " upsert matches on " + name + " but gives no value for it");
+                }
+            }
+        }
+    }
+
+    private static IngestRejectedException invalid(String reason) {
+        return new IngestRejectedException(HttpStatus.BAD_REQUEST, reason);
+    }
+
+    private static void checkProperties(SchemaModel schema, String table, Set<String> names) {
+        for (String name : names) {
+            if (!schema.properties(table).containsKey(name)) {
+                throw invalid("Unknown property " + name + " on " + table + "; it has " + schema.properties(table).keySet());
+            }
+        }
+    }
+
+    private static void checkValues(SchemaModel schema, String table, Map<String, Object> properties) {
+        if (properties == null) {
+            return;
+        }
+        for (Map.Entry<String, Object> property : properties.entrySet()) {
+            if (property.getValue() != null) {
+                checkValue(schema.properties(table).get(property.getKey()), table + "." + property.getKey(), property.getValue());
+            }
+        }
+    }
+
+    private static void checkValue(String type, String what, Object raw) {
+        try {
+            convert(type, raw);
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            throw invalid(what + " must be " + type + ", got " + raw);
+        }
+    }
+
+    private static <T> List<T> nullToEmpty(List<T> list) {
+        return list == null ? List.of() : list;
+    }
+
+    /** Frees prepared statements, which hold native memory until closed. */
+    private static void close(Map<Connection, Map<String, PreparedStatement>> statements) {
+        for (Map<String, PreparedStatement> prepared : statements.values()) {
+            for (PreparedStatement statement : prepared.values()) {
+                try {
+                    statement.close();
+                } catch (RuntimeException e) {
+                    log.fine("Could not close prepared statement: " + e.getMessage());
+                }
+            }
+        }
+        statements.clear();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Writer writer : writers.values()) {
+            writer.thread.interrupt();
+        }
+    }
+
+    private static final class Pending {
+        private final IngestRequest request;
+        private final int rows;
+        private final long enqueuedNanos = System.nanoTime();
+        private final CompletableFuture<IngestAck> ack = new CompletableFuture<>();
+
+        private Pending(IngestRequest request) {
+            this.request = request;
+            this.rows = request.rows();
+        }
+    }
+
+    /** The single writer of one graph, with its queue, statement cache and counters. */
+    private final class Writer implements Runnable {
+        private final String graph;
+        private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>(queueCapacity);
+        private final Thread thread;
+        private final AtomicLong queuedRows = new AtomicLong();
+        private final AtomicLong batches = new AtomicLong();
+        private final AtomicLong committedRows = new AtomicLong();
+        private final AtomicLong failedRequests = new AtomicLong();
+        private final LatencyHistogram lag = new LatencyHistogram();
+        private final LatencyHistogram batchRows = new LatencyHistogram();
+        private volatile long lastCommitMillis;
+        private volatile long lastCommitAt;
+        /** Prepared statements by connection; dropped when the graph was closed and reopened. */
+        private final Map<Connection, Map<String, PreparedStatement>> statements = new IdentityHashMap<>();
+        private KuzuConnectionPool statementsPool;
+
+        private Writer(String graph) {
+            this.graph = graph;
+            this.thread = new Thread(this, "ingest-" + graph);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    Pending first = queue.take();
+                    List<Pending> batch = new ArrayList<>();
+                    batch.add(first);
+                    int rows = first.rows;
+                    long deadline = first.enqueuedNanos + TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+                    while (rows < maxBatchRows) {
+                        Pending next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                        rows += next.rows;
+                    }
+                    queuedRows.addAndGet(-rows);
+                    commit(batch, rows);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            for (Pending pending = queue.poll(); pending != null; pending = queue.poll()) {
+                pending.ack.completeExceptionally(new IllegalStateException("Server is shutting down"));
+            }
+            close(statements);
+        }
+
+        /** Fails a request that is still queued; one already taken into a batch is left to its commit. */
+        private void withdraw(Pending pending) {
+            if (queue.remove(pending)) {
+                queuedRows.addAndGet(-pending.rows);
+                failedRequests.incrementAndGet();
+                pending.ack.completeExceptionally(new IngestRejectedException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "Not committed within " + ackTimeoutMillis + " ms; nothing was written, retry later", retryAfterSeconds()));
+            }
+        }
+
+        /** Rough time to drain the queue at the last commit time per full batch. */
+        private long retryAfterSeconds() {
+            long batchesAhead = queuedRows.get() / Math.max(1, maxBatchRows) + 1;
+            return Math.max(1, TimeUnit.MILLISECONDS.toSeconds(batchesAhead * Math.max(lastCommitMillis, maxDelayMillis)));
+        }
+
+        private void commit(List<Pending> batch, int rows) {
+            long start = System.nanoTime();
+            Map<String, Set<String>[]> changes = new HashMap<>();
+            try {
+                graphRegistry.withGraph(graph, handle -> handle.getPool().withConnection(ResourceGovernor.QueryClass.MAINTENANCE,
+                        "ingest " + rows + " rows into " + graph, conn -> {
+                    apply(handle, conn, batch, changes);
+                    return null;
+                }));
+            } catch (RuntimeException e) {
+                if (batch.size() > 1) {
+                    log.warning("Batch of " + batch.size() + " requests for " + graph + " failed, retrying one by one: " + e.getMessage());
+                    for (Pending pending : batch) {
+                        commit(List.of(pending), pending.rows);
+                    }
+                } else {
+                    failedRequests.incrementAndGet();
+                    batch.get(0).ack.completeExceptionally(e);
+                }
+                return;
+            }
+            long now = System.nanoTime();
+            long batchId = batches.incrementAndGet();
+            committedRows.addAndGet(rows);
+            batchRows.record(rows);
+            lastCommitMillis = TimeUnit.NANOSECONDS.toMillis(now - start);
+            lastCommitAt = System.currentTimeMillis();
+            for (Pending pending : batch) {
+                lag.record(TimeUnit.NANOSECONDS.toMicros(now - pending.enqueuedNanos));
+                pending.ack.complete(new IngestAck(graph, batchId, pending.rows, batch.size(), rows,
+                        TimeUnit.NANOSECONDS.toMillis(start - pending.enqueuedNanos), lastCommitMillis));
+            }
+            for (Map.Entry<String, Set<String>[]> change : changes.entrySet()) {
+                graphEvents.tableChanged(new RelChange(graph, change.getKey(), change.getValue()[0], change.getValue()[1]));
+            }
+        }
+
+        private void apply(GraphHandle handle, Connection conn, List<Pending> batch, Map<String, Set<String>[]> changes) {
+            if (statementsPool != handle.getPool()) {
+                close(statements);
+                statementsPool = handle.getPool();
+            }
+            Map<String, PreparedStatement> prepared = statements.computeIfAbsent(conn, c -> new HashMap<>());
+            SchemaModel schema = handle.getSchema();
+            execute(conn, "BEGIN TRANSACTION");
+            try {
+                for (Pending pending : batch) {
+                    for (IngestRequest.NodeUpsert node : nullToEmpty(pending.request.getNodes())) {
+                        upsertNode(conn, prepared, schema, node);
+                        changed(changes, node.getTable())[0].add(String.valueOf(node.getProperties().get(schema.primaryKey(node.getTable()))));
+                    }
+                    for (IngestRequest.EdgeUpsert edge : nullToEmpty(pending.request.getEdges())) {
+                        upsertEdge(conn, prepared, schema, edge);
+                        Set<String>[] keys = changed(changes, edge.getRel());
+                        keys[0].add(edge.getFrom());
+                        keys[1].add(edge.getTo());
+                    }
+                }
+                execute(conn, "COMMIT");
+            } catch (RuntimeException e) {
+                conn.query("ROLLBACK").close();
+                changes.clear();
+                throw e;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private Set<String>[] changed(Map<String, Set<String>[]> changes, String table) {
+            return changes.computeIfAbsent(table, t -> new Set[]{new HashSet<>(), new HashSet<>()});
+        }
+
+        private void upsertNode(Connection conn, Map<String, PreparedStatement> prepared, SchemaModel schema, IngestRequest.NodeUpsert node) {
+            String table = node.getTable();
+            String key = schema.primaryKey(table);
+            Map<String, String> types = schema.properties(table);
+            Map<String, Object> set = settable(node.getProperties(), List.of(key));
+            String shape = "N|" + table + "|" + set.keySet();
+            PreparedStatement statement = prepared.computeIfAbsent(shape, s -> prepare(conn,
+                    "MERGE (n:" + table + " {" + key + ": " + param(types.get(key), "k") + "})" + assignments("n", set.keySet(), types)));
+            Map<String, com.kuzudb.Value> params = new HashMap<>();
+            params.put("k", value(types.get(key), node.getProperties().get(key)));
+            bind(params, set, types);
+            check(conn.execute(statement, params), table + " " + node.getProperties().get(key)).close();
+        }
+
+        /** MATCH then MERGE, returning the edge count so a missing endpoint fails instead of doing nothing. */
+        private void upsertEdge(Connection conn, Map<String, PreparedStatement> prepared, SchemaModel schema, IngestRequest.EdgeUpsert edge) {
+            String fromKey = schema.primaryKey(edge.getFromTable());
+            String toKey = schema.primaryKey(edge.getToTable());
+            Map<String, String> types = schema.properties(edge.getRel());
+            Map<String, Object> set = settable(edge.getProperties(), edge.getMatch());
+            String shape = "E|" + edge.getRel() + "|" + edge.getFromTable() + "|" + edge.getToTable() + "|" + edge.getMatch() + "|" + set.keySet();
+            PreparedStatement statement = prepared.computeIfAbsent(shape, s -> {
+                StringBuilder match = new StringBuilder();
+                for (int i = 0; i < edge.getMatch().size(); i++) {
+                    String name = edge.getMatch().get(i);
+                    match.append(i == 0 ? " {" : ", ").append(name).append(": ").append(param(types.get(name), "m" + i));
+                }
+                if (match.length() > 0) {
+                    match.append("}");
+                }
+                Map<String, String> fromTypes = schema.properties(edge.getFromTable());
+                Map<String, String> toTypes = schema.properties(edge.getToTable());
+                return prepare(conn, "MATCH (a:" + edge.getFromTable() + " {" + fromKey + ": " + param(fromTypes.get(fromKey), "f") + "}), "
+                        + "(b:" + edge.getToTable() + " {" + toKey + ": " + param(toTypes.get(toKey), "t") + "}) "
+                        + "MERGE (a)-[r:" + edge.getRel() + match + "]->(b)" + assignments("r", set.keySet(), types)
+                        + " RETURN count(r)");
+            });
+            Map<String, com.kuzudb.Value> params = new HashMap<>();
+            params.put("f", value(schema.properties(edge.getFromTable()).get(fromKey), edge.getFrom()));
+            params.put("t", value(schema.properties(edge.getToTable()).get(toKey), edge.getTo()));
+            for (int i = 0; i < edge.getMatch().size(); i++) {
+                String name = edge.getMatch().get(i);
+                params.put("m" + i, value(types.get(name), edge.getProperties().get(name)));
+            }
+            bind(params, set, types);
+            Object count;
+            try (QueryResult result = check(conn.execute(statement, params), edge.getRel() + " " + edge.getFrom() + "->" + edge.getTo())) {
+                count = result.hasNext() ? result.getNext().getValue(0).getValue() : null;
+            }
+            if (!(count instanceof Number) || ((Number) count).longValue() == 0) {
+                throw invalid("No " + edge.getFromTable() + " " + edge.getFrom() + " or no "
+                        + edge.getToTable() + " " + edge.getTo() + " for " + edge.getRel());
+            }
+        }
+
+        private PreparedStatement prepare(Connection conn, String cypher) {
+            PreparedStatement statement = conn.prepare(cypher);
+            if (!statement.isSuccess()) {
+                throw new IllegalStateException("Could not prepare " + cypher + ": " + statement.getErrorMessage());
+            }
+            return statement;
+        }
+
+        private Map<String, Object> stats() {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            Pending oldest = queue.peek();
+            stats.put("queuedRequests", queue.size());
+            stats.put("queuedRows", queuedRows.get());
+            stats.put("oldestQueuedMillis", oldest == null ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest.enqueuedNanos));
+            stats.put("batches", batches.get());
+            stats.put("committedRows", committedRows.get());
+            stats.put("failedRequests", failedRequests.get());
+            stats.put("meanBatchRows", Math.round(batchRows.mean()));
+            stats.put("maxBatchRows", batchRows.max());
+            stats.put("lastCommitMillis", lastCommitMillis);
+            stats.put("millisSinceLastCommit", lastCommitAt == 0 ? -1 : System.currentTimeMillis() - lastCommitAt);
+            stats.put("lagP50Millis", lag.percentile(50) / 1000.0);
+            stats.put("lagP99Millis", lag.percentile(99) / 1000.0);
+            stats.put("lagMaxMillis", lag.max() / 1000.0);
+            return stats;
+        }
+    }
+
+    /** Non-null properties other than the merge keys, in a stable order so statements can be reused. */
+    private static Map<String, Object> settable(Map<String, Object> properties, List<String> keys) {
+        Map<String, Object> set = new TreeMap<>();
+        if (properties != null) {
+            for (Map.Entry<String, Object> property : properties.entrySet()) {
+                if (property.getValue() != null && !keys.contains(property.getKey())) {
+                    set.put(property.getKey(), property.getValue());
+                }
+            }
+        }
+        return set;
+    }
+
+    private static String assignments(String variable, Set<String> names, Map<String, String> types) {
+        StringBuilder out = new StringBuilder();
+        int i = 0;
+        for (String name : names) {
+            out.append(i == 0 ? " SET " : ", ").append(variable).append('.').append(name).append(" = ").append(param(types.get(name), "p" + i++));
+        }
+        return out.toString();
+    }
+
+    private static void bind(Map<String, com.kuzudb.Value> params, Map<String, Object> set, Map<String, String> types) {
+        int i = 0;
+        for (Map.Entry<String, Object> property : set.entrySet()) {
+            params.put("p" + i++, value(types.get(property.getKey()), property.getValue()));
+        }
+    }
+
+    /** Types the Java binding carries directly are bound as they are; dates and the rest go in as strings and are cast. */
+    private static String param(String type, String name) {
+        return BOUND_TYPES.contains(type) ? "$" + name : "CAST($" + name + " AS " + type + ")";
+    }
+
+    private static com.kuzudb.Value value(String type, Object raw) {
+        return new com.kuzudb.Value(convert(type, raw));
+    }
+
+    /**
+     * The Java value the binding expects for the column type. Numbers must fit the type without losing
+     * a fraction or overflowing, and booleans must be true or false; anything else throws
+     * IllegalArgumentException or ArithmeticException.
+     */
+    static Object convert(String type, Object raw) {
+        String text = String.valueOf(raw);
+        switch (type) {
+            case "INT64":
+                return raw instanceof Number ? whole((Number) raw) : Long.parseLong(text);
+            case "INT32":
+                return raw instanceof Number ? Math.toIntExact(whole((Number) raw)) : Integer.parseInt(text);
+            case "INT16":
+                return raw instanceof Number ? narrow(whole((Number) raw), Short.MIN_VALUE, Short.MAX_VALUE).shortValue() : Short.parseShort(text);
+            case "INT8":
+                return raw instanceof Number ? narrow(whole((Number) raw), Byte.MIN_VALUE, Byte.MAX_VALUE).byteValue() : Byte.parseByte(text);
+            case "DOUBLE":
+                return raw instanceof Number ? ((Number) raw).doubleValue() : Double.parseDouble(text);
+            case "FLOAT":
+                return raw instanceof Number ? ((Number) raw).floatValue() : Float.parseFloat(text);
+            case "BOOL":
+                if (raw instanceof Boolean) {
+                    return raw;
+                }
+                if (!"true".equalsIgnoreCase(text) && !"false".equalsIgnoreCase(text)) {
+                    throw new IllegalArgumentException("Not a boolean: " + text);
+                }
+                return Boolean.parseBoolean(text);
+            default:
+                return text;
+        }
+    }
+
+    private static long whole(Number number) {
+        double value = number.doubleValue();
+        if (!(number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte)
+                && (value != Math.rint(value) || Math.abs(value) > Long.MAX_VALUE)) {
+            throw new ArithmeticException("Not a whole number: " + number);
+        }
+        return number.longValue();
+    }
+
+    private static Long narrow(long value, long min, long max) {
+        if (value < min || value > max) {
+            throw new ArithmeticException("Out of range: " + value);
+        }
+        return value;
+    }
+
+    /** Returns a successful result for the caller to close; a failed one is closed here. */
+    private static QueryResult check(QueryResult result, String what) {
+        if (!result.isSuccess()) {
+            String error = result.getErrorMessage();
+            result.close();
+            throw new IllegalStateException("Upsert of " + what + " failed: " + error);
+        }
+        return result;
+    }
+
+    private static void execute(Connection conn, String statement) {
+        try (QueryResult result = conn.query(statement)) {
+            if (!result.isSuccess()) {
+                throw new IllegalStateException(statement + " failed: " + result.getErrorMessage());
+            }
+        }
+    }
+}
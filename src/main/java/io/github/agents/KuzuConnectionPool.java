@@ -0,0 +1,85 @@
+package io.github.agents;
+
+import com.kuzudb.Connection;
+import com.kuzudb.Database;
+import lombok.extern.java.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Fixed set of Kuzu connections over one database. A connection runs one query at a time, so
+ * concurrent requests borrow a connection each instead of sharing one. Each borrow runs under the
+ * {@link ResourceGovernor} limits of its query class.
+ */
+@Log
+public class KuzuConnectionPool implements AutoCloseable {
+
+    private final String graph;
+    private final Database database;
+    private final ResourceGovernor governor;
+    private final List<Connection> all = new ArrayList<>();
+    private final BlockingQueue<Connection> idle;
+    private final long borrowTimeoutMillis;
+
+    public KuzuConnectionPool(String graph, Database database, ResourceGovernor governor, int size, long borrowTimeoutMillis) {
+        this.graph = graph;
+        this.database = database;
+        this.governor = governor;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idle = new ArrayBlockingQueue<>(size);
+        for (int i = 0; i < size; i++) {
+            Connection conn = new Connection(database);
+            all.add(conn);
+            idle.add(conn);
+        }
+        log.info("Opened Kuzu connection pool with " + size + " connections");
+    }
+
+    /** Runs the work as a {@link ResourceGovernor.QueryClass#TEMPLATE} query. */
+    public <T> T withConnection(Function<Connection, T> work) {
+        return withConnection(ResourceGovernor.QueryClass.TEMPLATE, null, work);
+    }
+
+    public <T> T withConnection(ResourceGovernor.QueryClass queryClass, String label, Function<Connection, T> work) {
+        Connection conn = borrow();
+        try {
+            return governor.run(graph, conn, queryClass, label, work);
+        } finally {
+            idle.offer(conn);
+        }
+    }
+
+    private Connection borrow() {
+        try {
+            Connection conn = idle.poll(borrowTimeoutMillis, TimeUnit.MILLISECONDS);
+            if (conn == null) {
+                throw new IllegalStateException("No Kuzu connection available within " + borrowTimeoutMillis + " ms");
+            }
+            return conn;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a Kuzu connection", e);
+        }
+    }
+
+    public int size() {
+        return all.size();
+    }
+
+    public Database getDatabase() {
+        return database;
+    }
+
+    @Override
+    public void close() {
+        for (Connection conn : all) {
+            conn.close();
+        }
+        database.close();
+    }
+}
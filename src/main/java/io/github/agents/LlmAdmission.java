@@ -0,0 +1,296 @@
+package io.github.agents;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control in front of the LLM. Every client, identified by its API key header when the key
+ * is one of {@code kg.admission.api-keys} or else by its address, has a request bucket and a
+ * prompt-token bucket; the buckets of at most {@code kg.admission.max-clients} clients are kept, least
+ * recently used dropped first. LLM calls then wait for one of
+ * {@code kg.admission.llm-concurrency} slots in a queue ordered by {@link Priority}, so interactive
+ * questions go ahead of prose enrichment and batches. Requests answered from the graph, such as pose
+ * profiles found by the resolver, never enter that queue. When the queue is full or a request would
+ * wait longer than {@code kg.admission.max-wait-ms} it is rejected straight away with 429 rather than
+ * left to time out.
+ */
+@Component
+@Log
+public class LlmAdmission {
+
+    /** Earlier constants are served first. */
+    public enum Priority {
+        INTERACTIVE, ENRICHMENT, BATCH
+    }
+
+    private static final String INTERNAL_CLIENT = "internal";
+
+    @Value("${kg.admission.enabled:true}")
+    private boolean enabled;
+    @Value("${kg.admission.api-key-header:X-API-Key}")
+    private String apiKeyHeader;
+    @Value("${kg.admission.api-keys:}")
+    private String apiKeySpec;
+    @Value("${kg.admission.requests-per-second:5}")
+    private double requestsPerSecond;
+    @Value("${kg.admission.request-burst:20}")
+    private long requestBurst;
+    @Value("${kg.admission.tokens-per-minute:20000}")
+    private double tokensPerMinute;
+    @Value("${kg.admission.max-prompt-tokens:12000}")
+    private long maxPromptTokens;
+    @Value("${kg.admission.llm-concurrency:8}")
+    private int llmConcurrency;
+    @Value("${kg.admission.max-queue:32}")
+    private int maxQueue;
+    @Value("${kg.admission.max-wait-ms:3000}")
+    private long maxWaitMillis;
+    @Value("${kg.admission.max-clients:10000}")
+    private int maxClients;
+
+    private final Set<String> apiKeys = new HashSet<>();
+    private final Map<String, Client> clients = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Client> eldest) {
+            return size() > maxClients;
+        }
+    };
+    private final PriorityQueue<Waiter> waiting = new PriorityQueue<>(
+            Comparator.comparing((Waiter w) -> w.priority).thenComparingLong(w -> w.sequence));
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong rejectedRate = new AtomicLong();
+    private final AtomicLong rejectedTokens = new AtomicLong();
+    private final AtomicLong shed = new AtomicLong();
+    private final AtomicLong admitted = new AtomicLong();
+    private int inUse;
+
+    @PostConstruct
+    public void init() {
+        for (String key : apiKeySpec.split(",")) {
+            if (!key.isBlank()) {
+                apiKeys.add(key.trim());
+            }
+        }
+    }
+
+    /** Rough prompt size: about four characters per token for English text and schema listings. */
+    public static long estimateTokens(String... parts) {
+        long chars = 0;
+        for (String part : parts) {
+            chars += part == null ? 0 : part.length();
+        }
+        return chars / 4 + 1;
+    }
+
+    /** A configured API key names the client; unknown keys count as their address, so fresh keys buy nothing. */
+    public String clientOf(HttpServletRequest request) {
+        String key = request.getHeader(apiKeyHeader);
+        return key != null && apiKeys.contains(key.trim()) ? "key:" + key.trim() : "ip:" + request.getRemoteAddr();
+    }
+
+    /** Client of the HTTP request being handled on this thread, or {@code internal} for agent calls. */
+    public String currentClient() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes) {
+            return clientOf(((ServletRequestAttributes) attributes).getRequest());
+        }
+        return INTERNAL_CLIENT;
+    }
+
+    /** Takes one request from the client's bucket or rejects the request. */
+    public void checkRate(String client) {
+        if (!enabled) {
+            return;
+        }
+        long waitNanos = client(client).requests.take(1);
+        if (waitNanos > 0) {
+            rejectedRate.incrementAndGet();
+            throw new AdmissionRejectedException("Request rate limit of " + requestsPerSecond + "/s exceeded", seconds(waitNanos));
+        }
+    }
+
+    /**
+     * Charges the estimated prompt tokens to the current client and waits for an LLM slot. The permit
+     * must be closed when the LLM calls are done.
+     */
+    public Permit acquire(Priority priority, long promptTokens) {
+        if (!enabled) {
+            return new Permit(null, false);
+        }
+        if (promptTokens > maxPromptTokens) {
+            throw new PromptTooLargeException("Prompt of about " + promptTokens + " tokens is over the limit of " + maxPromptTokens);
+        }
+        String name = currentClient();
+        Client client = client(name);
+        long waitNanos = client.tokens.take(promptTokens);
+        if (waitNanos > 0) {
+            rejectedTokens.incrementAndGet();
+            throw new AdmissionRejectedException("LLM token budget of " + (long) tokensPerMinute + "/min exceeded", seconds(waitNanos));
+        }
+        Waiter waiter = new Waiter(priority, sequence.incrementAndGet());
+        synchronized (this) {
+            if (inUse < llmConcurrency && waiting.isEmpty()) {
+                inUse++;
+                admitted.incrementAndGet();
+                return new Permit(client, true);
+            }
+            if (waiting.size() >= maxQueue) {
+                shed.incrementAndGet();
+                client.tokens.debit(-promptTokens);
+                throw new AdmissionRejectedException("LLM queue is full", seconds(TimeUnit.MILLISECONDS.toNanos(maxWaitMillis)));
+            }
+            waiting.add(waiter);
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+            try {
+                while (inUse >= llmConcurrency || waiting.peek() != waiter) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        waiting.remove(waiter);
+                        notifyAll();
+                        shed.incrementAndGet();
+                        client.tokens.debit(-promptTokens);
+                        throw new AdmissionRejectedException("No LLM capacity within " + maxWaitMillis + " ms", 1);
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                }
+            } catch (InterruptedException e) {
+                waiting.remove(waiter);
+                notifyAll();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for an LLM slot", e);
+            }
+            waiting.poll();
+            inUse++;
+            admitted.incrementAndGet();
+            notifyAll();
+            return new Permit(client, true);
+        }
+    }
+
+    private synchronized void release() {
+        inUse--;
+        notifyAll();
+    }
+
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("llmInUse", inUse);
+        stats.put("llmConcurrency", llmConcurrency);
+        stats.put("queued", waiting.size());
+        stats.put("admitted", admitted.get());
+        stats.put("rejectedRate", rejectedRate.get());
+        stats.put("rejectedTokens", rejectedTokens.get());
+        stats.put("shed", shed.get());
+        synchronized (clients) {
+            stats.put("clients", clients.size());
+        }
+        return stats;
+    }
+
+    private Client client(String name) {
+        synchronized (clients) {
+            return clients.computeIfAbsent(name, n -> new Client());
+        }
+    }
+
+    private static long seconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    /** An LLM slot; repair rounds inside it charge their extra tokens with {@link #charge}. */
+    public final class Permit implements AutoCloseable {
+        private final Client client;
+        private boolean held;
+
+        private Permit(Client client, boolean held) {
+            this.client = client;
+            this.held = held;
+        }
+
+        /** Debits more tokens without blocking; the bucket may go into debt, which delays later requests. */
+        public void charge(long promptTokens) {
+            if (client != null) {
+                client.tokens.debit(promptTokens);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (held) {
+                held = false;
+                release();
+            }
+        }
+    }
+
+    private final class Client {
+        private final TokenBucket requests = new TokenBucket(requestBurst, requestsPerSecond);
+        private final TokenBucket tokens = new TokenBucket((long) tokensPerMinute, tokensPerMinute / 60);
+    }
+
+    private static final class Waiter {
+        private final Priority priority;
+        private final long sequence;
+
+        private Waiter(Priority priority, long sequence) {
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+    }
+
+    /** Classic token bucket refilled continuously at {@code perSecond} up to {@code capacity}. */
+    static final class TokenBucket {
+        private final double capacity;
+        private final double perNano;
+        private double available;
+        private long refilledAt = System.nanoTime();
+
+        TokenBucket(long capacity, double perSecond) {
+            this.capacity = capacity;
+            this.perNano = perSecond / TimeUnit.SECONDS.toNanos(1);
+            this.available = capacity;
+        }
+
+        /**
+         * Takes {@code n} tokens and returns 0, or takes nothing and returns the nanos until they would be
+         * there. More than the capacity is granted from a full bucket, leaving it in debt.
+         */
+        synchronized long take(long n) {
+            refill();
+            double needed = Math.min(n, capacity);
+            if (available >= needed) {
+                available -= n;
+                return 0;
+            }
+            return (long) Math.ceil((needed - available) / perNano);
+        }
+
+        /** Takes tokens without checking, or gives them back when {@code n} is negative. */
+        synchronized void debit(long n) {
+            refill();
+            available = Math.min(capacity, available - n);
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            available = Math.min(capacity, available + (now - refilledAt) * perNano);
+            refilledAt = now;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package io.github.agents;
+
+import com.t4a.processor.AIProcessingException;
+
+/**
+ * The one call the service makes against an LLM. Kept narrow so that a real
+ * {@link com.t4a.processor.AIProcessor}, a hedged pair of them or a local stub can be swapped in.
+ */
+@FunctionalInterface
+public interface LlmClient {
+    String query(String prompt) throws AIProcessingException;
+}
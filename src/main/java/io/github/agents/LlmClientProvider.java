@@ -0,0 +1,118 @@
+package io.github.agents;
+
+import com.t4a.predict.PredictionLoader;
+import com.t4a.processor.AIProcessor;
+import com.t4a.processor.AnthropicActionProcessor;
+import com.t4a.processor.GeminiV2ActionProcessor;
+import com.t4a.processor.OpenAiActionProcessor;
+import io.github.vishalmysore.GraphWriter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the {@link LlmClient} used by the services. The processors are created lazily because the
+ * tools4ai prediction loader is only ready once the Spring context is up.
+ */
+@Component
+@Log
+public class LlmClientProvider {
+
+    @Value("${yoga.llm.provider:}")
+    private String provider;
+    @Value("${yoga.llm.hedge.enabled:false}")
+    private boolean hedgeEnabled;
+    @Value("${yoga.llm.hedge.provider:}")
+    private String hedgeProvider;
+    @Value("${yoga.llm.hedge.percentile:95}")
+    private double hedgePercentile;
+    @Value("${yoga.llm.hedge.min-delay-ms:250}")
+    private long hedgeMinDelayMillis;
+    @Value("${yoga.llm.hedge.max-ratio:0.1}")
+    private double hedgeMaxRatio;
+    @Value("${yoga.llm.hedge.threads:16}")
+    private int hedgeThreads;
+    @Value("${yoga.llm.stub.latency:lognormal:400:0.6}")
+    private String stubLatency;
+    @Value("${yoga.llm.stub.error-rate:0}")
+    private double stubErrorRate;
+    @Value("${yoga.llm.stub.responses:}")
+    private String stubResponses;
+
+    private volatile LlmClient client;
+    private ExecutorService hedgeExecutor;
+
+    public LlmClient get() {
+        if (client == null) {
+            synchronized (this) {
+                if (client == null) {
+                    client = create();
+                }
+            }
+        }
+        return client;
+    }
+
+    private LlmClient create() {
+        LlmClient primary = forProvider(provider);
+        if (!hedgeEnabled) {
+            return primary;
+        }
+        LlmClient hedge = hedgeProvider.isBlank() ? primary : forProvider(hedgeProvider);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(hedgeThreads, hedgeThreads, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), r -> {
+                    Thread t = new Thread(r, "llm-hedge");
+                    t.setDaemon(true);
+                    return t;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        hedgeExecutor = executor;
+        log.info("LLM hedging enabled: primary=" + describe(provider) + " hedge=" + describe(hedgeProvider)
+                + " p" + hedgePercentile + " maxRatio=" + hedgeMaxRatio);
+        return new HedgedLlmClient(primary, hedge, hedgeExecutor, hedgePercentile, hedgeMinDelayMillis, hedgeMaxRatio);
+    }
+
+    /** Blank means the provider chosen by {@code agent.provider} in the tools4ai properties. */
+    private LlmClient forProvider(String name) {
+        AIProcessor processor;
+        switch (name.trim().toLowerCase()) {
+            case "":
+                processor = PredictionLoader.getInstance().createOrGetAIProcessor();
+                break;
+            case "stub":
+                return stubResponses.isBlank()
+                        ? new StubLlmClient(stubLatency, stubErrorRate)
+                        : new StubLlmClient(StubLlmClient.LatencyDistribution.parse(stubLatency), stubErrorRate,
+                                StubLlmClient.replaying(GraphWriter.readScript(stubResponses)));
+            case "openai":
+                processor = new OpenAiActionProcessor();
+                break;
+            case "gemini":
+                processor = new GeminiV2ActionProcessor();
+                break;
+            case "anthropic":
+                processor = new AnthropicActionProcessor();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown LLM provider: " + name);
+        }
+        return processor::query;
+    }
+
+    private static String describe(String name) {
+        return name.isBlank() ? "default" : name;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (hedgeExecutor != null) {
+            hedgeExecutor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package io.github.agents;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load generator for the yoga endpoints. Closed loop keeps {@code --concurrency} requests in flight
+ * back to back; open loop issues {@code --rate} requests per second on a fixed schedule and measures
+ * each one from its intended start, so a stalled server shows up as queueing delay instead of
+ * silently lowering the offered load. With {@code --start-server} the server is started in-process
+ * against the stub LLM replaying canned Cypher, which keeps the numbers about this code and not the
+ * provider; its per-client admission limits are off unless {@code --admission} is given, since every
+ * request comes from one address.
+ *
+ * <pre>
+ * java -cp ... io.github.agents.LoadTest --start-server --mode=open --rate=100 --duration=60 --report=load.md
+ * </pre>
+ */
+public class LoadTest {
+
+    private static final List<String> DEFAULT_PATHS = List.of(
+            "/api/yoga/info",
+            "/api/yoga/pose/downward%20dog",
+            "/api/yoga/recommend?benefits=flexibility&maxDifficulty=4",
+            "/api/yoga/graph/list%20poses");
+
+    private final Map<String, String> options;
+    private final String baseUrl;
+    private final List<String> paths;
+    private final Duration timeout;
+    private final HttpClient client;
+    private final ExecutorService executor;
+    private final Map<String, PathStats> stats = new LinkedHashMap<>();
+    private final PathStats total = new PathStats();
+    private final AtomicLong next = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile long measureFrom;
+
+    LoadTest(Map<String, String> options) {
+        this.options = options;
+        this.baseUrl = option("url", "http://localhost:" + option("port", "7860"));
+        this.paths = options.containsKey("paths") ? Arrays.asList(options.get("paths").split(",")) : DEFAULT_PATHS;
+        this.timeout = Duration.ofSeconds(Long.parseLong(option("timeout", "30")));
+        int threads = Integer.parseInt(option("concurrency", "16"));
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "load");
+            t.setDaemon(true);
+            return t;
+        });
+        this.client = HttpClient.newBuilder().executor(executor).connectTimeout(timeout).build();
+        for (String path : paths) {
+            stats.put(path, new PathStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        ConfigurableApplicationContext server = options.containsKey("start-server") ? startServer(options) : null;
+        LoadTest test = new LoadTest(options);
+        try {
+            String report = test.run();
+            System.out.println(report);
+            if (options.containsKey("report")) {
+                Files.writeString(Path.of(options.get("report")), report, StandardCharsets.UTF_8);
+            }
+        } finally {
+            test.executor.shutdownNow();
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Options look like --name=value, got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(eq < 0 ? arg.substring(2) : arg.substring(2, eq), eq < 0 ? "true" : arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    /** Starts the server with the replaying stub LLM; stub latency and error rate pass through. */
+    private static ConfigurableApplicationContext startServer(Map<String, String> options) throws InterruptedException {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=" + options.getOrDefault("port", "7860"),
+                "--yoga.llm.provider=stub",
+                "--kg.admission.enabled=" + options.containsKey("admission"),
+                "--yoga.llm.stub.responses=" + options.getOrDefault("stub-responses", "stub/yoga-cypher.txt")));
+        if (options.containsKey("stub-latency")) {
+            args.add("--yoga.llm.stub.latency=" + options.get("stub-latency"));
+        }
+        if (options.containsKey("stub-error-rate")) {
+            args.add("--yoga.llm.stub.error-rate=" + options.get("stub-error-rate"));
+        }
+        ConfigurableApplicationContext context = SpringApplication.run(YogaKGServer.class, args.toArray(new String[0]));
+        HttpClient probe = HttpClient.newHttpClient();
+        URI info = URI.create("http://localhost:" + options.getOrDefault("port", "7860") + "/api/yoga/info");
+        for (int attempt = 0; attempt < 120; attempt++) {
+            try {
+                if (probe.send(HttpRequest.newBuilder(info).build(), HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return context;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Server did not answer on " + info);
+    }
+
+    private String option(String name, String fallback) {
+        return options.getOrDefault(name, fallback);
+    }
+
+    String run() throws InterruptedException {
+        String mode = option("mode", "closed");
+        long warmup = TimeUnit.SECONDS.toNanos(Long.parseLong(option("warmup", "5")));
+        long duration = TimeUnit.SECONDS.toNanos(Long.parseLong(option("duration", "30")));
+        long start = System.nanoTime();
+        measureFrom = start + warmup;
+        long end = measureFrom + duration;
+        if ("open".equals(mode)) {
+            runOpen(end, Double.parseDouble(option("rate", "50")));
+        } else if ("closed".equals(mode)) {
+            runClosed(end, Integer.parseInt(option("concurrency", "16")));
+        } else {
+            throw new IllegalArgumentException("Unknown mode " + mode + ", expected open or closed");
+        }
+        return report(mode, duration);
+    }
+
+    /** Each worker sends its next request as soon as the previous one returns. */
+    private void runClosed(long end, int concurrency) throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            workers.execute(() -> {
+                while (System.nanoTime() < end) {
+                    String path = nextPath();
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request(path), HttpResponse.BodyHandlers.discarding());
+                        record(path, sent, response.statusCode() < 400);
+                    } catch (IOException e) {
+                        record(path, sent, false);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(end - System.nanoTime() + timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Requests go out on a fixed schedule whatever the server does. At most {@code --max-in-flight}
+     * are outstanding; a request that finds no slot is counted as dropped rather than delayed.
+     */
+    private void runOpen(long end, double rate) throws InterruptedException {
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        int maxInFlight = Integer.parseInt(option("max-in-flight", "1000"));
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long start = System.nanoTime();
+        for (long i = 0; ; i++) {
+            long intended = start + i * interval;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            String path = nextPath();
+            if (!inFlight.tryAcquire()) {
+                if (intended >= measureFrom) {
+                    dropped.incrementAndGet();
+                }
+                continue;
+            }
+            client.sendAsync(request(path), HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                inFlight.release();
+                record(path, intended, error == null && response.statusCode() < 400);
+            });
+        }
+        inFlight.tryAcquire(maxInFlight, timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private String nextPath() {
+        return paths.get((int) (next.getAndIncrement() % paths.size()));
+    }
+
+    private HttpRequest request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout).GET().build();
+    }
+
+    private void record(String path, long startNanos, boolean ok) {
+        if (startNanos < measureFrom) {
+            return;
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        stats.get(path).record(micros, ok);
+        total.record(micros, ok);
+    }
+
+    private String report(String mode, long durationNanos) {
+        double seconds = durationNanos / 1e9;
+        StringBuilder out = new StringBuilder();
+        out.append("# Load test\n\n")
+                .append("- target: ").append(baseUrl).append('\n')
+                .append("- mode: ").append(mode)
+                .append("open".equals(mode) ? ", " + option("rate", "50") + " req/s offered" : ", concurrency " + option("concurrency", "16"))
+                .append('\n')
+                .append("- measured: ").append(String.format("%.0f s", seconds)).append(" after ").append(option("warmup", "5")).append(" s warmup\n")
+                .append("- throughput: ").append(String.format("%.1f req/s", total.latency.count() / seconds)).append('\n');
+        if (dropped.get() > 0) {
+            out.append("- dropped (no in-flight slot): ").append(dropped.get()).append('\n');
+        }
+        out.append("\nLatencies in ms.\n\n")
+                .append("| path | requests | errors | mean | p50 | p90 | p99 | p99.9 | max |\n")
+                .append("|---|---|---|---|---|---|---|---|---|\n");
+        for (Map.Entry<String, PathStats> entry : stats.entrySet()) {
+            row(out, entry.getKey(), entry.getValue());
+        }
+        row(out, "all", total);
+        return out.toString();
+    }
+
+    private static void row(StringBuilder out, String name, PathStats stats) {
+        LatencyHistogram h = stats.latency;
+        out.append("| ").append(name)
+                .append(" | ").append(h.count())
+                .append(" | ").append(stats.errors.get())
+                .append(String.format(" | %.1f | %.1f | %.1f | %.1f | %.1f | %.1f |%n", h.mean() / 1000,
+                        h.percentile(50) / 1000.0, h.percentile(90) / 1000.0, h.percentile(99) / 1000.0,
+                        h.percentile(99.9) / 1000.0, h.max() / 1000.0));
+    }
+
+    private static final class PathStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final AtomicLong errors = new AtomicLong();
+
+        void record(long micros, boolean ok) {
+            latency.record(micros);
+            if (!ok) {
+                errors.incrementAndGet();
+            }
+        }
+    }
+}
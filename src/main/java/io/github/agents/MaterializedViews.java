@@ -0,0 +1,345 @@
+package io.github.agents;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.vishalmysore.CypherLiterals;
+import io.github.vishalmysore.SchemaModel;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Aggregate views declared in {@code views.json}, computed once a graph has been opened and held as
+ * immutable in-memory snapshots so that reading one is a map lookup. A change to a rel table a view
+ * depends on, or to the key node's table, re-aggregates only the groups whose keys were touched; a
+ * change to another node table the view reads, or one whose keys are not known, recomputes the view.
+ * Groups are only refreshed by key once the first group expression has been checked to be the key
+ * node's primary key.
+ */
+@Component
+@Log
+public class MaterializedViews implements GraphChangeListener {
+
+    @Autowired
+    private GraphRegistry graphRegistry;
+    @Autowired
+    private QueryLog queryLog;
+    @Autowired
+    private GraphEvents graphEvents;
+
+    @Value("${kg.views.resource:views.json}")
+    private String viewsResource;
+
+    private final Map<String, ViewDefinition> definitions = new LinkedHashMap<>();
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    /** Per view, the label of every node variable in its pattern, in pattern order. */
+    private final Map<String, Map<String, String>> labels = new HashMap<>();
+    /** Kuzu type of the group key of each view whose key has been checked against its open graph's schema. */
+    private final Map<String, String> keyTypes = new ConcurrentHashMap<>();
+    /** One lock per view, so a full refresh and an incremental update never overwrite each other. */
+    private final Map<String, Object> locks = new HashMap<>();
+
+    private static final Pattern NODE = Pattern.compile("\\(\\s*(\\w+)\\s*:\\s*(\\w+)");
+
+    /** One computed view: rows in group order and the same rows by group key. */
+    public static final class Snapshot {
+        private final List<Map<String, Object>> rows;
+        private final Map<Object, Map<String, Object>> byKey;
+        private final long refreshedAtMillis;
+
+        Snapshot(Map<Object, Map<String, Object>> byKey) {
+            this.byKey = Collections.unmodifiableMap(byKey);
+            this.rows = Collections.unmodifiableList(new ArrayList<>(byKey.values()));
+            this.refreshedAtMillis = System.currentTimeMillis();
+        }
+
+        public List<Map<String, Object>> getRows() {
+            return rows;
+        }
+
+        public Map<String, Object> getGroup(Object key) {
+            return byKey.get(key);
+        }
+
+        public long getRefreshedAtMillis() {
+            return refreshedAtMillis;
+        }
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(viewsResource)) {
+            if (in != null) {
+                for (ViewDefinition view : new ObjectMapper().readValue(in, new TypeReference<List<ViewDefinition>>() { })) {
+                    definitions.put(view.getName(), view);
+                    labels.put(view.getName(), nodeLabels(view));
+                    locks.put(view.getName(), new Object());
+                }
+            }
+        }
+        log.info("Declared materialized views " + definitions.keySet());
+        graphEvents.addListener(this);
+    }
+
+    public Collection<ViewDefinition> getDefinitions() {
+        return Collections.unmodifiableCollection(definitions.values());
+    }
+
+    /**
+     * The current snapshot. If its graph has not been opened yet, opening it computes the graph's
+     * views; the view is only computed here if that did not produce it.
+     */
+    public Snapshot get(String name) {
+        Snapshot snapshot = snapshots.get(name);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        ViewDefinition view = definition(name);
+        return locked(view, () -> {
+            Snapshot current = snapshots.get(name);
+            return current != null ? current : compute(view);
+        });
+    }
+
+    public Snapshot refresh(String name) {
+        ViewDefinition view = definition(name);
+        return locked(view, () -> compute(view));
+    }
+
+    /**
+     * Runs the work under the view's lock while holding a lease on its graph. Taking the lock only once
+     * the graph is open means no thread waits for a graph to open while holding a view lock, which the
+     * thread opening it may need for {@link #graphOpened}.
+     */
+    private <T> T locked(ViewDefinition view, Supplier<T> work) {
+        return graphRegistry.withGraph(view.getGraph(), graph -> {
+            synchronized (locks.get(view.getName())) {
+                return work.get();
+            }
+        });
+    }
+
+    private Snapshot compute(ViewDefinition view) {
+        Snapshot snapshot = new Snapshot(aggregate(view, null));
+        snapshots.put(view.getName(), snapshot);
+        log.info("Materialized view " + view.getName() + " computed with " + snapshot.getRows().size() + " groups");
+        return snapshot;
+    }
+
+    @Override
+    public void graphOpened(String graph) {
+        for (ViewDefinition view : definitions.values()) {
+            if (view.getGraph().equals(graph)) {
+                SchemaModel schema = graphRegistry.withGraph(graph, GraphHandle::getSchema);
+                if (keyIsPrimaryKey(view, schema)) {
+                    keyTypes.put(view.getName(), schema.properties(keyTable(view)).get(schema.primaryKey(keyTable(view))));
+                } else {
+                    keyTypes.remove(view.getName());
+                    log.warning("Materialized view " + view.getName() + " does not group on the primary key of its "
+                            + view.getKeySide() + " node; it is recomputed on every change");
+                }
+                refresh(view.getName());
+            }
+        }
+    }
+
+    @Override
+    public void tableChanged(RelChange change) {
+        for (ViewDefinition view : definitions.values()) {
+            if (!view.getGraph().equals(change.getGraph())) {
+                continue;
+            }
+            Set<String> keys;
+            if (view.getDependsOn() != null && view.getDependsOn().contains(change.getTable())) {
+                keys = "from".equals(view.getKeySide()) ? change.getFromKeys()
+                        : "to".equals(view.getKeySide()) ? change.getToKeys() : null;
+            } else if (readTables(view).contains(change.getTable())) {
+                keys = change.getTable().equals(keyTable(view)) ? change.getFromKeys() : null;
+            } else {
+                continue;
+            }
+            Set<String> changedKeys = keys;
+            locked(view, () -> {
+                String keyType = keyTypes.get(view.getName());
+                Snapshot current = snapshots.get(view.getName());
+                if (changedKeys == null || current == null || keyType == null) {
+                    return compute(view);
+                }
+                List<Object> typedKeys = typed(changedKeys, keyType);
+                if (typedKeys.isEmpty()) {
+                    return current;
+                }
+                Map<Object, Map<String, Object>> groups = new LinkedHashMap<>(current.byKey);
+                groups.keySet().removeAll(typedKeys);
+                groups.putAll(aggregate(view, typedKeys));
+                Snapshot snapshot = new Snapshot(byRowCount(groups));
+                snapshots.put(view.getName(), snapshot);
+                log.fine("Materialized view " + view.getName() + " refreshed for " + typedKeys.size() + " groups");
+                return snapshot;
+            });
+        }
+    }
+
+    /**
+     * Changed keys arrive as strings; converted to the primary key's type they match the group keys
+     * Kuzu returns and compare against the key column without a cast. Keys that do not parse cannot
+     * name an existing group and are dropped.
+     */
+    static List<Object> typed(Collection<String> keys, String type) {
+        List<Object> typedKeys = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            try {
+                switch (type.toUpperCase()) {
+                    case "INT64": case "INT32": case "INT16": case "INT8": case "SERIAL":
+                    case "UINT64": case "UINT32": case "UINT16": case "UINT8":
+                        typedKeys.add(Long.parseLong(key.trim()));
+                        break;
+                    case "DOUBLE": case "FLOAT":
+                        typedKeys.add(Double.parseDouble(key.trim()));
+                        break;
+                    default:
+                        typedKeys.add(key);
+                }
+            } catch (NumberFormatException e) {
+                log.fine("Ignoring key " + key + " that is not a " + type);
+            }
+        }
+        return typedKeys;
+    }
+
+    private ViewDefinition definition(String name) {
+        ViewDefinition view = definitions.get(name);
+        if (view == null) {
+            throw new NotFoundException("Unknown view " + name + ", known views are " + definitions.keySet());
+        }
+        return view;
+    }
+
+    /** Node variables of the view's pattern with their labels; the key variable must be the key-side endpoint. */
+    private static Map<String, String> nodeLabels(ViewDefinition view) {
+        Map<String, String> nodes = new LinkedHashMap<>();
+        Matcher matcher = NODE.matcher(view.getMatch());
+        while (matcher.find()) {
+            nodes.put(matcher.group(1), matcher.group(2));
+        }
+        List<String> variables = new ArrayList<>(nodes.keySet());
+        String endpoint = variables.isEmpty() ? null
+                : "from".equals(view.getKeySide()) ? variables.get(0)
+                : "to".equals(view.getKeySide()) ? variables.get(variables.size() - 1) : null;
+        if (endpoint == null || !endpoint.equals(variable(view.getGroupBy().get(0)))) {
+            throw new IllegalStateException("View " + view.getName() + " must group first on a property of its "
+                    + view.getKeySide() + " node, not " + view.getGroupBy().get(0));
+        }
+        return nodes;
+    }
+
+    private boolean keyIsPrimaryKey(ViewDefinition view, SchemaModel schema) {
+        String key = view.getGroupBy().get(0);
+        String primaryKey = schema.primaryKey(keyTable(view));
+        return primaryKey != null && key.equals(variable(key) + "." + primaryKey);
+    }
+
+    private String keyTable(ViewDefinition view) {
+        return labels.get(view.getName()).get(variable(view.getGroupBy().get(0)));
+    }
+
+    /** Node tables whose properties the view returns, aggregates or filters on. */
+    private Set<String> readTables(ViewDefinition view) {
+        List<String> expressions = new ArrayList<>(view.getGroupBy());
+        expressions.add(view.getMeasure());
+        expressions.add(view.getWhere());
+        Set<String> tables = new LinkedHashSet<>();
+        for (Map.Entry<String, String> node : labels.get(view.getName()).entrySet()) {
+            Pattern property = Pattern.compile("\\b" + Pattern.quote(node.getKey()) + "\\.");
+            for (String expression : expressions) {
+                if (expression != null && property.matcher(expression).find()) {
+                    tables.add(node.getValue());
+                }
+            }
+        }
+        return tables;
+    }
+
+    private static String variable(String expression) {
+        int dot = expression.indexOf('.');
+        return dot < 0 ? expression : expression.substring(0, dot).trim();
+    }
+
+    /** Puts merged groups back in the view's ORDER BY row_count DESC order. */
+    private static Map<Object, Map<String, Object>> byRowCount(Map<Object, Map<String, Object>> groups) {
+        List<Map.Entry<Object, Map<String, Object>>> entries = new ArrayList<>(groups.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<Object, Map<String, Object>> e) ->
+                ((Number) e.getValue().get("row_count")).longValue()).reversed());
+        Map<Object, Map<String, Object>> sorted = new LinkedHashMap<>();
+        for (Map.Entry<Object, Map<String, Object>> entry : entries) {
+            sorted.put(entry.getKey(), entry.getValue());
+        }
+        return sorted;
+    }
+
+    /** Runs the aggregate, restricted to the given group keys when not null. */
+    private Map<Object, Map<String, Object>> aggregate(ViewDefinition view, Collection<?> keys) {
+        String cypher = buildQuery(view, keys);
+        List<Map<String, Object>> rows = graphRegistry.withGraph(view.getGraph(),
+                graph -> queryLog.run(graph, ResourceGovernor.QueryClass.TEMPLATE, "view " + view.getName(), cypher).getRows());
+        Map<Object, Map<String, Object>> groups = new LinkedHashMap<>();
+        for (Map<String, Object> row : rows) {
+            groups.put(row.values().iterator().next(), row);
+        }
+        return groups;
+    }
+
+    static String buildQuery(ViewDefinition view, Collection<?> keys) {
+        List<String> conditions = new ArrayList<>();
+        if (view.getWhere() != null && !view.getWhere().isBlank()) {
+            conditions.add("(" + view.getWhere() + ")");
+        }
+        if (keys != null) {
+            List<String> literals = new ArrayList<>();
+            for (Object key : keys) {
+                literals.add(key instanceof String ? CypherLiterals.quote((String) key) : String.valueOf(key));
+            }
+            conditions.add(view.getGroupBy().get(0) + " IN [" + String.join(", ", literals) + "]");
+        }
+        StringBuilder cypher = new StringBuilder(view.getMatch());
+        if (!conditions.isEmpty()) {
+            cypher.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        cypher.append(" RETURN ");
+        for (int i = 0; i < view.getGroupBy().size(); i++) {
+            cypher.append(view.getGroupBy().get(i)).append(" AS ").append(columnName(view.getGroupBy().get(i))).append(", ");
+        }
+        cypher.append("COUNT(*) AS row_count");
+        if (view.getMeasure() != null && !view.getMeasure().isBlank()) {
+            String measure = view.getMeasure();
+            cypher.append(", SUM(").append(measure).append(") AS sum_value")
+                  .append(", AVG(").append(measure).append(") AS avg_value")
+                  .append(", MIN(").append(measure).append(") AS min_value")
+                  .append(", MAX(").append(measure).append(") AS max_value");
+        }
+        return cypher.append(" ORDER BY row_count DESC").toString();
+    }
+
+    private static String columnName(String expression) {
+        return expression.replaceAll("[^A-Za-z0-9_]", "_");
+    }
+}
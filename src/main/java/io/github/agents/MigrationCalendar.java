@@ -0,0 +1,349 @@
+package io.github.agents;
+
+import com.kuzudb.FlatTuple;
+import com.kuzudb.QueryResult;
+import io.github.vishalmysore.CypherLiterals;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Month-by-month presence of bird species at locations, derived from {@code MigratesTo.arrival_month}
+ * and {@code MigratesFrom.departure_month}. A species is at a location from the month it arrives
+ * until the month it next departs from there (or, if it never departs from there, until its next
+ * departure anywhere), wrapping around the year end. Every location keeps one species bitset per
+ * month, and every species a 12-bit month mask per location it visits, so occupancy is a bitset
+ * lookup and a species' calendar or the overlap of two species only touches the locations they visit.
+ */
+@Component
+@Log
+public class MigrationCalendar implements GraphChangeListener {
+
+    @Autowired
+    private GraphRegistry graphRegistry;
+    @Autowired
+    private GraphEvents graphEvents;
+    @Autowired
+    private QueryLog queryLog;
+
+    @Value("${kg.migration.graph:migration}")
+    private String graph;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> speciesIds = new HashMap<>();
+    private final List<String> speciesNames = new ArrayList<>();
+    private final Map<String, BitSet[]> locations = new LinkedHashMap<>();
+    /** By species id, the month mask (bit 0 = January) of each location the species visits. */
+    private final List<Map<String, Integer>> visits = new ArrayList<>();
+    private volatile boolean built;
+
+    static final class Event {
+        final String location;
+        final int month;
+        final boolean arrival;
+
+        Event(String location, int month, boolean arrival) {
+            this.location = location;
+            this.month = month;
+            this.arrival = arrival;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        graphEvents.addListener(this);
+    }
+
+    /** Species present at the location in the given month (1-12). */
+    public List<String> occupancy(String location, int month) {
+        checkMonth(month);
+        ensureBuilt();
+        lock.readLock().lock();
+        try {
+            BitSet[] months = locations.get(location);
+            return months == null ? List.of() : names(months[month - 1]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** For each location the species visits, the months it is there. */
+    public Map<String, List<Integer>> calendar(String species) {
+        ensureBuilt();
+        lock.readLock().lock();
+        try {
+            Map<String, List<Integer>> calendar = new LinkedHashMap<>();
+            Integer id = speciesIds.get(species);
+            if (id == null) {
+                return calendar;
+            }
+            for (Map.Entry<String, Integer> visit : visits.get(id).entrySet()) {
+                calendar.put(visit.getKey(), months(visit.getValue()));
+            }
+            return calendar;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Locations and months where both species are present at the same time. */
+    public Map<String, List<Integer>> overlap(String first, String second) {
+        ensureBuilt();
+        lock.readLock().lock();
+        try {
+            Map<String, List<Integer>> overlap = new LinkedHashMap<>();
+            Integer a = speciesIds.get(first);
+            Integer b = speciesIds.get(second);
+            if (a == null || b == null) {
+                return overlap;
+            }
+            Map<String, Integer> fewer = visits.get(a).size() <= visits.get(b).size() ? visits.get(a) : visits.get(b);
+            Map<String, Integer> more = fewer == visits.get(a) ? visits.get(b) : visits.get(a);
+            for (Map.Entry<String, Integer> visit : fewer.entrySet()) {
+                int both = visit.getValue() & more.getOrDefault(visit.getKey(), 0);
+                if (both != 0) {
+                    overlap.put(visit.getKey(), months(both));
+                }
+            }
+            return overlap;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Species present at the location in any month of the (possibly wrapping) range. */
+    public List<String> occupancy(String location, int fromMonth, int toMonth) {
+        checkMonth(fromMonth);
+        checkMonth(toMonth);
+        ensureBuilt();
+        lock.readLock().lock();
+        try {
+            BitSet[] months = locations.get(location);
+            if (months == null) {
+                return List.of();
+            }
+            BitSet present = new BitSet();
+            for (int m = fromMonth; ; m = m % 12 + 1) {
+                present.or(months[m - 1]);
+                if (m == toMonth) {
+                    break;
+                }
+            }
+            return names(present);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void graphOpened(String openedGraph) {
+        if (graph.equals(openedGraph)) {
+            rebuild(null);
+        }
+    }
+
+    @Override
+    public void tableChanged(RelChange change) {
+        if (graph.equals(change.getGraph())
+                && ("MigratesFrom".equals(change.getTable()) || "MigratesTo".equals(change.getTable()))) {
+            rebuild(change.getFromKeys());
+        }
+    }
+
+    private void ensureBuilt() {
+        if (!built) {
+            rebuild(null);
+        }
+    }
+
+    /** Recomputes the given species, or everything when {@code species} is null. */
+    public void rebuild(Set<String> species) {
+        apply(loadEvents(species), species);
+        log.info("Migration calendar built for " + (species == null ? "all " + speciesNames.size() : species.size()) + " species");
+    }
+
+    /** Replaces the given species, or everything when {@code species} is null, with their events. */
+    void apply(Map<String, List<Event>> events, Set<String> species) {
+        lock.writeLock().lock();
+        try {
+            if (species == null) {
+                speciesIds.clear();
+                speciesNames.clear();
+                locations.clear();
+                visits.clear();
+            } else {
+                for (String name : species) {
+                    Integer id = speciesIds.get(name);
+                    if (id != null) {
+                        for (String location : visits.get(id).keySet()) {
+                            for (BitSet month : locations.get(location)) {
+                                month.clear(id);
+                            }
+                        }
+                        visits.get(id).clear();
+                    }
+                }
+            }
+            for (Map.Entry<String, List<Event>> entry : events.entrySet()) {
+                place(id(entry.getKey()), entry.getValue());
+            }
+            built = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Map<String, List<Event>> loadEvents(Set<String> species) {
+        String filter = "";
+        if (species != null) {
+            List<String> literals = new ArrayList<>();
+            for (String name : species) {
+                literals.add(CypherLiterals.quote(name));
+            }
+            filter = " WHERE b.species_name IN [" + String.join(", ", literals) + "]";
+        }
+        String cypher = "MATCH (b:BirdSpecies)-[mt:MigratesTo]->(l:Location)" + filter
+                + " RETURN b.species_name, l.location_name, mt.arrival_month, true"
+                + " UNION ALL MATCH (b:BirdSpecies)-[mf:MigratesFrom]->(l:Location)" + filter
+                + " RETURN b.species_name, l.location_name, mf.departure_month, false";
+        Map<String, List<Event>> events = new LinkedHashMap<>();
+        graphRegistry.withGraph(graph, g -> queryLog.track(g, ResourceGovernor.QueryClass.TEMPLATE, "migration calendar", cypher, conn -> {
+            try (QueryResult result = conn.query(cypher)) {
+                if (!result.isSuccess()) {
+                    throw new IllegalStateException(result.getErrorMessage());
+                }
+                while (result.hasNext()) {
+                    FlatTuple row = result.getNext();
+                    if (row.getValue(2).isNull()) {
+                        continue;
+                    }
+                    int month = ((Number) row.getValue(2).getValue()).intValue();
+                    if (month < 1 || month > 12) {
+                        continue;
+                    }
+                    events.computeIfAbsent(row.getValue(0).getValue().toString(), k -> new ArrayList<>())
+                          .add(new Event(row.getValue(1).getValue().toString(), month, (Boolean) row.getValue(3).getValue()));
+                }
+            }
+            return null;
+        }));
+        if (species != null) {
+            for (String name : species) {
+                events.putIfAbsent(name, new ArrayList<>());
+            }
+        }
+        return events;
+    }
+
+    private void place(int id, List<Event> events) {
+        for (Event event : events) {
+            if (event.arrival) {
+                Integer departure = nextMonth(events, event.month, event.location, false, true);
+                if (departure == null) {
+                    departure = nextMonth(events, event.month, null, false, true);
+                }
+                mark(id, event.location, event.month, departure == null ? event.month : departure);
+            } else if (!hasArrival(events, event.location)) {
+                Integer arrival = nextMonth(events, event.month, null, true, false);
+                mark(id, event.location, arrival == null ? event.month : arrival, event.month);
+            }
+        }
+    }
+
+    private static boolean hasArrival(List<Event> events, String location) {
+        for (Event event : events) {
+            if (event.arrival && event.location.equals(location)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Closest month of a matching event at or after (forward) or at or before {@code month}, wrapping
+     * around the year.
+     */
+    private static Integer nextMonth(List<Event> events, int month, String location, boolean arrival, boolean forward) {
+        Integer best = null;
+        int bestDistance = Integer.MAX_VALUE;
+        for (Event event : events) {
+            if (event.arrival != arrival || (location != null && !event.location.equals(location))) {
+                continue;
+            }
+            int distance = forward ? Math.floorMod(event.month - month, 12) : Math.floorMod(month - event.month, 12);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = event.month;
+            }
+        }
+        return best;
+    }
+
+    private void mark(int id, String location, int fromMonth, int toMonth) {
+        BitSet[] months = locations.computeIfAbsent(location, k -> {
+            BitSet[] fresh = new BitSet[12];
+            for (int m = 0; m < 12; m++) {
+                fresh[m] = new BitSet();
+            }
+            return fresh;
+        });
+        int mask = 0;
+        for (int m = fromMonth; ; m = m % 12 + 1) {
+            months[m - 1].set(id);
+            mask |= 1 << (m - 1);
+            if (m == toMonth) {
+                break;
+            }
+        }
+        visits.get(id).merge(location, mask, (a, b) -> a | b);
+    }
+
+    private static List<Integer> months(int mask) {
+        List<Integer> months = new ArrayList<>();
+        for (int m = 0; m < 12; m++) {
+            if ((mask & (1 << m)) != 0) {
+                months.add(m + 1);
+            }
+        }
+        return months;
+    }
+
+    private int id(String species) {
+        Integer id = speciesIds.get(species);
+        if (id == null) {
+            id = speciesNames.size();
+            speciesIds.put(species, id);
+            speciesNames.add(species);
+            visits.add(new LinkedHashMap<>());
+        }
+        return id;
+    }
+
+    private List<String> names(BitSet present) {
+        Collection<String> names = new TreeSet<>();
+        for (int id = present.nextSetBit(0); id >= 0; id = present.nextSetBit(id + 1)) {
+            names.add(speciesNames.get(id));
+        }
+        return new ArrayList<>(names);
+    }
+
+    private static void checkMonth(int month) {
+        if (month < 1 || month > 12) {
+            throw new IllegalArgumentException("Month must be between 1 and 12, was " + month);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package io.github.agents;
+
+import com.t4a.annotations.Action;
+import com.t4a.annotations.Agent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RestController
+@RequestMapping("/api/migration")
+@CrossOrigin(origins = "*")
+@Agent(groupName = "migrationServices", groupDescription = "which bird species are where in which month")
+public class MigrationService {
+
+    @Autowired
+    private MigrationCalendar migrationCalendar;
+
+    @RequestMapping("/occupancy/{location}/{month}")
+    @Action
+    public List<String> getSpeciesAtLocation(@PathVariable String location, @PathVariable int month) {
+        return migrationCalendar.occupancy(location, month);
+    }
+
+    @RequestMapping("/occupancy/{location}/{fromMonth}/{toMonth}")
+    public List<String> getSpeciesAtLocationBetween(@PathVariable String location, @PathVariable int fromMonth, @PathVariable int toMonth) {
+        return migrationCalendar.occupancy(location, fromMonth, toMonth);
+    }
+
+    @RequestMapping("/species/{species}/calendar")
+    @Action
+    public Map<String, List<Integer>> getSpeciesCalendar(@PathVariable String species) {
+        return migrationCalendar.calendar(species);
+    }
+
+    @RequestMapping("/overlap/{first}/{second}")
+    @Action
+    public Map<String, List<Integer>> getOverlap(@PathVariable String first, @PathVariable String second) {
+        return migrationCalendar.overlap(first, second);
+    }
+}
@@ -0,0 +1,175 @@
+package io.github.agents;
+
+import io.github.vishalmysore.CypherLiterals;
+import io.github.vishalmysore.QueryResults;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps one in-memory index per node table of a graph, keyed by the node's primary key. Indexes are
+ * built from the chosen columns when the graph is opened (or first asked for), dropped when it is
+ * closed, and node table changes re-read only the reported keys; a table is rebuilt from scratch once
+ * its tombstones outnumber its live entries.
+ *
+ * @param <I> the index type
+ */
+@Log
+public abstract class NodeTableIndexes<I> implements GraphChangeListener {
+
+    @Autowired
+    private GraphRegistry graphRegistry;
+    @Autowired
+    private GraphEvents graphEvents;
+    @Autowired
+    private QueryLog queryLog;
+
+    /** graph -> node table -> index */
+    private final Map<String, Map<String, I>> indexes = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void registerListener() {
+        graphEvents.addListener(this);
+    }
+
+    /** Columns to read for the table, or an empty list to leave the table unindexed. */
+    protected abstract List<String> columns(String graph, String table, Map<String, String> properties, String primaryKey);
+
+    protected abstract I newIndex();
+
+    /** Adds or replaces the node; {@code row} maps each of {@link #columns} to its value. */
+    protected abstract void put(I index, String key, Map<String, Object> row);
+
+    protected abstract void remove(I index, String key);
+
+    protected abstract int size(I index);
+
+    protected abstract int deleted(I index);
+
+    protected I index(String graph, String table) {
+        I index = tablesOf(graph).get(table);
+        if (index == null) {
+            throw new NotFoundException("No " + getClass().getSimpleName() + " entry for " + graph + "." + table
+                    + "; indexed tables: " + tablesOf(graph).keySet());
+        }
+        return index;
+    }
+
+    protected Map<String, I> tablesOf(String graph) {
+        Map<String, I> tables = indexes.get(graph);
+        return tables != null ? tables : build(graph);
+    }
+
+    /** Indexed node tables of the graph and their sizes. */
+    public Map<String, Integer> tables(String graph) {
+        Map<String, Integer> tables = new LinkedHashMap<>();
+        tablesOf(graph).forEach((table, index) -> tables.put(table, size(index)));
+        return tables;
+    }
+
+    @Override
+    public void graphOpened(String graph) {
+        if (!indexes.containsKey(graph)) {
+            build(graph);
+        }
+    }
+
+    @Override
+    public void graphClosed(String graph) {
+        indexes.remove(graph);
+    }
+
+    /** For node tables the changed primary keys are expected in {@link RelChange#getFromKeys()}. */
+    @Override
+    public void tableChanged(RelChange change) {
+        Map<String, I> tables = indexes.get(change.getGraph());
+        if (tables == null || !tables.containsKey(change.getTable())) {
+            return;
+        }
+        I index = tables.get(change.getTable());
+        if (change.getFromKeys() == null || deleted(index) + change.getFromKeys().size() > size(index)) {
+            tables.put(change.getTable(), buildTable(change.getGraph(), change.getTable(), null, null));
+        } else {
+            buildTable(change.getGraph(), change.getTable(), change.getFromKeys(), index);
+        }
+    }
+
+    private synchronized Map<String, I> build(String graph) {
+        Map<String, I> existing = indexes.get(graph);
+        if (existing != null) {
+            return existing;
+        }
+        Set<String> tables = new HashSet<>();
+        graphRegistry.withGraph(graph, g -> {
+            for (Map.Entry<String, Map<String, String>> table : g.getSchema().getNodeTables().entrySet()) {
+                String key = g.getSchema().primaryKey(table.getKey());
+                if (!columns(graph, table.getKey(), table.getValue(), key).isEmpty()) {
+                    tables.add(table.getKey());
+                }
+            }
+            return null;
+        });
+        Map<String, I> built = new ConcurrentHashMap<>();
+        for (String table : tables) {
+            built.put(table, buildTable(graph, table, null, null));
+        }
+        indexes.put(graph, built);
+        return built;
+    }
+
+    /** Reads all rows of the table into a new index, or only {@code keys} into {@code index}. */
+    private I buildTable(String graph, String table, Collection<String> keys, I index) {
+        I target = index != null ? index : newIndex();
+        List<Map<String, Object>> rows = graphRegistry.withGraph(graph, g -> {
+            String key = g.getSchema().primaryKey(table);
+            StringBuilder cypher = new StringBuilder("MATCH (n:").append(table).append(")");
+            if (keys != null) {
+                List<String> literals = new ArrayList<>();
+                for (String k : keys) {
+                    literals.add(CypherLiterals.quote(k));
+                }
+                cypher.append(" WHERE CAST(n.").append(key).append(" AS STRING) IN [").append(String.join(", ", literals)).append("]");
+            }
+            cypher.append(" RETURN CAST(n.").append(key).append(" AS STRING) AS __key");
+            for (String column : columns(graph, table, g.getSchema().properties(table), key)) {
+                cypher.append(", n.").append(column).append(" AS ").append(column);
+            }
+            return queryLog.track(g, ResourceGovernor.QueryClass.MAINTENANCE, "index " + table, cypher.toString(),
+                    conn -> QueryResults.toRows(conn.query(cypher.toString())));
+        });
+        Set<String> seen = new HashSet<>();
+        for (Map<String, Object> row : rows) {
+            String key = (String) row.remove("__key");
+            seen.add(key);
+            put(target, key, row);
+        }
+        if (keys != null) {
+            for (String key : keys) {
+                if (!seen.contains(key)) {
+                    remove(target, key);
+                }
+            }
+        }
+        log.info(getClass().getSimpleName() + " " + graph + "." + table + ": read " + rows.size() + " rows, " + size(target) + " live");
+        return target;
+    }
+
+    protected static List<String> stringColumns(Map<String, String> properties) {
+        List<String> columns = new ArrayList<>();
+        properties.forEach((name, type) -> {
+            if ("STRING".equalsIgnoreCase(type)) {
+                columns.add(name);
+            }
+        });
+        return columns;
+    }
+}
@@ -0,0 +1,12 @@
+package io.github.agents;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/** A graph, view, entity or index entry the caller named does not exist; answered with 404. */
+public class NotFoundException extends ResponseStatusException {
+
+    public NotFoundException(String reason) {
+        super(HttpStatus.NOT_FOUND, reason);
+    }
+}
@@ -0,0 +1,116 @@
+package io.github.agents;
+
+import io.github.vishalmysore.PersonProfile;
+import io.github.vishalmysore.PersonProfileQuery;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cached person profiles. Misses of a whole batch are fetched together in one query; entries are
+ * dropped when the person or one of its edges changes, and the whole cache when a skill, organization,
+ * location or achievement a profile embeds changes, a change does not name its keys, or the graph is
+ * reopened. A fetch that overlapped an invalidation is returned but not cached, since it may have read
+ * the graph before the change.
+ */
+@Component
+public class PersonProfiles implements GraphChangeListener {
+
+    /** Tables whose changed keys are person names: the person node and the rel tables leaving it. */
+    private static final Set<String> PERSON_TABLES = Set.of("Person", "HasSkill", "WorksFor", "LivesIn", "BornIn", "Has");
+    /** Node tables whose properties are copied into profiles; their keys do not say which persons changed. */
+    private static final Set<String> EMBEDDED_TABLES = Set.of("Skill", "Organization", "Location", "Achievement");
+
+    @Autowired
+    private GraphRegistry graphRegistry;
+    @Autowired
+    private GraphEvents graphEvents;
+    @Autowired
+    private QueryLog queryLog;
+
+    @Value("${kg.profiles.graph:vishal}")
+    private String graph;
+    @Value("${kg.profiles.max-batch:100}")
+    private int maxBatch;
+
+    private final Map<String, PersonProfile> cache = new ConcurrentHashMap<>();
+    /** Bumped by every invalidation. */
+    private final AtomicLong version = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        graphEvents.addListener(this);
+    }
+
+    public PersonProfile get(String personName) {
+        return getAll(List.of(personName)).get(personName);
+    }
+
+    public Map<String, PersonProfile> getAll(Collection<String> personNames) {
+        if (personNames.size() > maxBatch) {
+            throw new IllegalArgumentException("At most " + maxBatch + " persons are allowed per batch, got " + personNames.size());
+        }
+        Map<String, PersonProfile> profiles = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String name : personNames) {
+            PersonProfile cached = cache.get(name);
+            if (cached != null) {
+                profiles.put(name, cached);
+            } else {
+                missing.add(name);
+            }
+        }
+        if (!missing.isEmpty()) {
+            long before = version.get();
+            Map<String, PersonProfile> fetched = graphRegistry.withGraph(graph,
+                    g -> queryLog.track(g, ResourceGovernor.QueryClass.TEMPLATE, "person profiles",
+                            "person profiles of " + missing.size() + " people", conn -> PersonProfileQuery.fetch(conn, missing)));
+            synchronized (this) {
+                if (version.get() == before) {
+                    cache.putAll(fetched);
+                }
+            }
+            profiles.putAll(fetched);
+        }
+        return profiles;
+    }
+
+    @Override
+    public void graphOpened(String openedGraph) {
+        if (graph.equals(openedGraph)) {
+            invalidate(null);
+        }
+    }
+
+    @Override
+    public void tableChanged(RelChange change) {
+        if (!graph.equals(change.getGraph())) {
+            return;
+        }
+        if (PERSON_TABLES.contains(change.getTable())) {
+            invalidate(change.getFromKeys());
+        } else if (EMBEDDED_TABLES.contains(change.getTable())) {
+            invalidate(null);
+        }
+    }
+
+    /** Drops the given persons, or everything when {@code null}. */
+    private synchronized void invalidate(Set<String> personNames) {
+        version.incrementAndGet();
+        if (personNames == null) {
+            cache.clear();
+        } else {
+            cache.keySet().removeAll(personNames);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.agents;
+
+import io.github.vishalmysore.PoseProfile;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** Answer of {@code /api/yoga/pose}: the profile from the graph and, when asked for, LLM prose. */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class PoseInfo {
+    private String query;
+    private PoseProfile profile;
+    private String prose;
+}
@@ -0,0 +1,109 @@
+package io.github.agents;
+
+import io.github.vishalmysore.PoseProfile;
+import io.github.vishalmysore.PoseProfileQuery;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Denormalized profile of every pose of the yoga graph, built in one pass after the graph is opened.
+ * Changes to a pose or one of its edge tables rebuild only the reported poses, and changes to a style,
+ * benefit, body part or pose type rebuild the poses that point at the changed rows; a change without
+ * keys rebuilds them all.
+ */
+@Component
+@Log
+public class PoseProfiles implements GraphChangeListener {
+
+    private static final Set<String> POSE_TABLES = Set.of("Pose", "BelongsToStyle", "TargetsBenefit", "EngagesBodyPart", "HasType");
+
+    @Autowired
+    private GraphRegistry graphRegistry;
+    @Autowired
+    private GraphEvents graphEvents;
+    @Autowired
+    private QueryLog queryLog;
+
+    private final Map<String, PoseProfile> profiles = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private volatile boolean built;
+
+    @PostConstruct
+    public void init() {
+        graphEvents.addListener(this);
+    }
+
+    /** The profile of the pose with this exact name, or null. */
+    public PoseProfile get(String poseName) {
+        if (!built) {
+            rebuild(null);
+        }
+        return profiles.get(poseName);
+    }
+
+    /** A copy of every profile, taken under the rebuild lock so it never mixes two builds. */
+    public synchronized List<PoseProfile> all() {
+        if (!built) {
+            rebuild(null);
+        }
+        return new ArrayList<>(profiles.values());
+    }
+
+    /** Changes every time profiles are rebuilt, so derived structures know when to recompute. */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /** Rebuilds the named poses, or all of them when {@code poseNames} is null. */
+    public synchronized void rebuild(Set<String> poseNames) {
+        Map<String, PoseProfile> fetched = graphRegistry.withGraph(YogaService.GRAPH,
+                g -> queryLog.track(g, ResourceGovernor.QueryClass.MAINTENANCE, "pose profiles",
+                        poseNames == null ? "all pose profiles" : "pose profiles of " + poseNames.size() + " poses",
+                        conn -> PoseProfileQuery.fetch(conn, poseNames)));
+        if (poseNames == null) {
+            profiles.keySet().retainAll(fetched.keySet());
+        } else {
+            for (String name : poseNames) {
+                if (!fetched.containsKey(name)) {
+                    profiles.remove(name);
+                }
+            }
+        }
+        profiles.putAll(fetched);
+        version.incrementAndGet();
+        built = true;
+        log.info("Built " + fetched.size() + " pose profiles, " + profiles.size() + " held");
+    }
+
+    @Override
+    public void graphOpened(String graph) {
+        if (YogaService.GRAPH.equals(graph)) {
+            rebuild(null);
+        }
+    }
+
+    @Override
+    public void tableChanged(RelChange change) {
+        if (!YogaService.GRAPH.equals(change.getGraph())) {
+            return;
+        }
+        if (POSE_TABLES.contains(change.getTable())) {
+            rebuild(change.getFromKeys());
+        } else if (PoseProfileQuery.EMBEDDED.containsKey(change.getTable())) {
+            Set<String> keys = change.getFromKeys();
+            rebuild(keys == null ? null : graphRegistry.withGraph(YogaService.GRAPH,
+                    g -> queryLog.track(g, ResourceGovernor.QueryClass.TEMPLATE, "poses using " + change.getTable(),
+                            "poses using " + keys.size() + " " + change.getTable() + " rows",
+                            conn -> PoseProfileQuery.posesUsing(conn, change.getTable(), keys))));
+        }
+    }
+}
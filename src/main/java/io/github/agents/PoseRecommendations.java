@@ -0,0 +1,65 @@
+package io.github.agents;
+
+import io.github.vishalmysore.PoseRecommender;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps a {@link PoseRecommender} compiled from the current pose profiles, recompiling it when the
+ * profiles have been rebuilt since, and turns loosely typed goal names into benefit and body part keys.
+ */
+@Component
+public class PoseRecommendations {
+
+    @Autowired
+    private PoseProfiles poseProfiles;
+    @Autowired
+    private EntityResolvers entityResolvers;
+
+    private volatile PoseRecommender recommender;
+    private volatile long compiledVersion = -1;
+
+    /**
+     * Goals are {@code name} or {@code name:weight} entries (weight 1 by default); names are resolved
+     * against the Benefit and BodyPart tables.
+     */
+    public List<PoseRecommender.Recommendation> recommend(List<String> benefits, List<String> bodyParts, long maxDifficulty, int k) {
+        return current().recommend(goals("Benefit", benefits), goals("BodyPart", bodyParts), maxDifficulty, k);
+    }
+
+    private PoseRecommender current() {
+        PoseRecommender compiled = recommender;
+        if (compiled == null || compiledVersion != poseProfiles.getVersion()) {
+            synchronized (this) {
+                // Read the version before the profiles, so a rebuild in between triggers another compile.
+                long version = poseProfiles.getVersion();
+                compiled = PoseRecommender.compile(poseProfiles.all());
+                recommender = compiled;
+                compiledVersion = version;
+            }
+        }
+        return compiled;
+    }
+
+    private Map<String, Double> goals(String table, List<String> entries) {
+        Map<String, Double> goals = new LinkedHashMap<>();
+        if (entries == null) {
+            return goals;
+        }
+        for (String entry : entries) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int colon = entry.lastIndexOf(':');
+            String name = colon > 0 ? entry.substring(0, colon).trim() : entry.trim();
+            double weight = colon > 0 ? Double.parseDouble(entry.substring(colon + 1).trim()) : 1.0;
+            String key = entityResolvers.resolveKey(YogaService.GRAPH, table, name);
+            goals.merge(key != null ? key : name, weight, Double::sum);
+        }
+        return goals;
+    }
+}
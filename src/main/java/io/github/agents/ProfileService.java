@@ -0,0 +1,42 @@
+package io.github.agents;
+
+import com.t4a.annotations.Action;
+import com.t4a.annotations.Agent;
+import io.github.vishalmysore.PersonProfile;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RestController
+@RequestMapping("/api/profiles")
+@CrossOrigin(origins = "*")
+@Agent(groupName = "profileServices", groupDescription = "professional profiles of persons in the knowledge graph")
+public class ProfileService {
+
+    @Autowired
+    private PersonProfiles personProfiles;
+
+    @RequestMapping("/{personName}")
+    @Action
+    public PersonProfile getProfile(@PathVariable String personName) {
+        PersonProfile profile = personProfiles.get(personName);
+        if (profile == null) {
+            throw new NotFoundException("No person named " + personName);
+        }
+        return profile;
+    }
+
+    @PostMapping("/batch")
+    public Map<String, PersonProfile> getProfiles(@RequestBody List<String> personNames) {
+        return personProfiles.getAll(personNames);
+    }
+}
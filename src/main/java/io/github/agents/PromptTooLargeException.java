@@ -0,0 +1,12 @@
+package io.github.agents;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/** Prompt over {@code kg.admission.max-prompt-tokens}; answered with 413 since retrying cannot help. */
+public class PromptTooLargeException extends ResponseStatusException {
+
+    public PromptTooLargeException(String reason) {
+        super(HttpStatus.PAYLOAD_TOO_LARGE, reason);
+    }
+}
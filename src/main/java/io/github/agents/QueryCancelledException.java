@@ -0,0 +1,19 @@
+package io.github.agents;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/** Query stopped by {@link ResourceGovernor}: 504 when it ran out of time, 503 when an operator cancelled it. */
+public class QueryCancelledException extends ResponseStatusException {
+
+    private final boolean timedOut;
+
+    public QueryCancelledException(String reason, boolean timedOut) {
+        super(timedOut ? HttpStatus.GATEWAY_TIMEOUT : HttpStatus.SERVICE_UNAVAILABLE, reason);
+        this.timedOut = timedOut;
+    }
+
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+}
@@ -0,0 +1,343 @@
+package io.github.agents;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kuzudb.Connection;
+import io.github.vishalmysore.QueryProfile;
+import io.github.vishalmysore.QueryResults;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Timing for every Cypher query the server runs, grouped by query shape (the text with literals
+ * replaced by {@code ?}). Queries slower than {@code kg.slow-query.threshold-ms} are kept in a short
+ * in-memory list and written as one JSON line each to the {@code kg.slow-query} logger, together with
+ * the English question they came from. With {@code kg.profile.mode=slow} a slow query is run once
+ * more under Kuzu {@code PROFILE}, at most once per shape per {@code kg.profile.min-interval-ms}, so
+ * the log carries operator timings and cardinalities; {@code always} profiles every query and
+ * {@code off} never does. These PROFILE runs happen in the background on a borrow of their own, at
+ * most {@code kg.profile.queue} waiting, and the slow entry is logged again once its operators are
+ * in. Work that issues its own statements, such as a subgraph traversal or a profile build, is
+ * recorded through {@link #track}.
+ */
+@Component
+@Log
+public class QueryLog {
+
+    private static final Logger SLOW_LOG = Logger.getLogger("kg.slow-query");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^'\\\\]|\\\\.)*'|\"(?:[^\"\\\\]|\\\\.)*\"");
+    private static final Pattern NUMBER = Pattern.compile("(?<![\\w$])-?\\d+(?:\\.\\d+)?");
+    private static final Pattern LIST = Pattern.compile("\\[\\s*\\?(?:\\s*,\\s*\\?)*\\s*]");
+    private static final String OTHER_SHAPES = "(other shapes)";
+
+    @Value("${kg.slow-query.threshold-ms:500}")
+    private long thresholdMillis;
+    @Value("${kg.slow-query.keep:200}")
+    private int keep;
+    @Value("${kg.slow-query.max-shapes:1000}")
+    private int maxShapes;
+    @Value("${kg.profile.mode:slow}")
+    private String profileMode;
+    @Value("${kg.profile.min-interval-ms:60000}")
+    private long profileIntervalMillis;
+    @Value("${kg.profile.queue:16}")
+    private int profileQueue;
+
+    @Autowired
+    private GraphRegistry graphRegistry;
+
+    private final Map<String, Shape> shapes = new ConcurrentHashMap<>();
+    private final Deque<SlowQuery> slowQueries = new ArrayDeque<>();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private ThreadPoolExecutor profiler;
+
+    @PostConstruct
+    public void init() {
+        profiler = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(profileQueue), r -> {
+            Thread t = new Thread(r, "query-profiler");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Runs a read query on the graph, under the limits of its class, and records it. {@code question}
+     * is the English question or whatever else asked for the query.
+     */
+    public Execution run(GraphHandle graph, ResourceGovernor.QueryClass queryClass, String question, String cypher) {
+        long start = System.nanoTime();
+        List<Map<String, Object>> rows;
+        try {
+            rows = graph.getPool().withConnection(queryClass, cypher, conn -> QueryResults.toRows(conn.query(cypher)));
+        } catch (RuntimeException e) {
+            record(graph.getName(), question, cypher, elapsedMillis(start), -1, e.getMessage(), null);
+            throw e;
+        }
+        long millis = elapsedMillis(start);
+        Shape shape = shape(graph.getName(), cypher);
+        SlowQuery entry = recordEntry(graph.getName(), question, cypher, millis, rows.size(), null, null);
+        if ("always".equals(profileMode)
+                || (millis >= thresholdMillis && "slow".equals(profileMode) && shape.profileDue(profileIntervalMillis))) {
+            profileLater(graph.getName(), queryClass, cypher, shape, entry);
+        }
+        return new Execution(rows, millis);
+    }
+
+    /**
+     * Runs the query once, under PROFILE only, and records it with its profile whatever the mode. The
+     * rows are not read, so the row count is recorded as unknown.
+     */
+    public QueryProfile profile(GraphHandle graph, ResourceGovernor.QueryClass queryClass, String question, String cypher) {
+        long start = System.nanoTime();
+        QueryProfile queryProfile;
+        try {
+            queryProfile = graph.getPool().withConnection(queryClass, "PROFILE " + cypher, conn -> QueryProfile.profile(conn, cypher));
+        } catch (RuntimeException e) {
+            record(graph.getName(), question, cypher, elapsedMillis(start), -1, e.getMessage(), null);
+            throw e;
+        }
+        shape(graph.getName(), cypher).profile = queryProfile;
+        record(graph.getName(), question, cypher, elapsedMillis(start), -1, null, queryProfile);
+        return queryProfile;
+    }
+
+    /**
+     * Runs work that issues its own statements on a borrowed connection and records it under
+     * {@code label}; the row count is the size of a returned collection or map.
+     */
+    public <T> T track(GraphHandle graph, ResourceGovernor.QueryClass queryClass, String question, String label, Function<Connection, T> work) {
+        long start = System.nanoTime();
+        T result;
+        try {
+            result = graph.getPool().withConnection(queryClass, label, work);
+        } catch (RuntimeException e) {
+            record(graph.getName(), question, label, elapsedMillis(start), -1, e.getMessage(), null);
+            throw e;
+        }
+        long rows = result instanceof Collection ? ((Collection<?>) result).size() : result instanceof Map ? ((Map<?, ?>) result).size() : -1;
+        record(graph.getName(), question, label, elapsedMillis(start), rows, null, null);
+        return result;
+    }
+
+    /** Records a query the caller ran itself, such as an export. */
+    public void record(String graph, String question, String cypher, long millis, long rows, String error, QueryProfile profile) {
+        recordEntry(graph, question, cypher, millis, rows, error, profile);
+    }
+
+    /** Records the query and returns its slow-query entry, or null when it was not slow. */
+    private SlowQuery recordEntry(String graph, String question, String cypher, long millis, long rows, String error, QueryProfile profile) {
+        Shape shape = shape(graph, cypher);
+        shape.record(millis, error != null, question, cypher);
+        if (millis < thresholdMillis) {
+            return null;
+        }
+        SlowQuery entry = new SlowQuery(Instant.now().toString(), graph, question, cypher, shape.text, millis, rows, error,
+                profile == null ? null : profile.getOperators());
+        synchronized (slowQueries) {
+            slowQueries.addFirst(entry);
+            while (slowQueries.size() > keep) {
+                slowQueries.removeLast();
+            }
+        }
+        logSlow(entry);
+        return entry;
+    }
+
+    /** Profiles the query on the background thread; dropped when the queue is full. */
+    private void profileLater(String graph, ResourceGovernor.QueryClass queryClass, String cypher, Shape shape, SlowQuery entry) {
+        try {
+            profiler.execute(() -> {
+                try {
+                    QueryProfile queryProfile = graphRegistry.withGraph(graph, g -> g.getPool().withConnection(queryClass,
+                            "PROFILE " + cypher, conn -> QueryProfile.profile(conn, cypher)));
+                    shape.profile = queryProfile;
+                    if (entry != null) {
+                        entry.operators = queryProfile.getOperators();
+                        logSlow(entry);
+                    }
+                } catch (RuntimeException e) {
+                    log.fine("Could not profile " + cypher + ": " + e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.fine("Profile queue full, not profiling " + cypher);
+        }
+    }
+
+    private void logSlow(SlowQuery entry) {
+        try {
+            SLOW_LOG.warning(mapper.writeValueAsString(entry));
+        } catch (JsonProcessingException e) {
+            SLOW_LOG.warning("Slow query (" + entry.millis + " ms) on " + entry.graph + ": " + entry.cypher);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        profiler.shutdownNow();
+    }
+
+    /** Most recent slow queries first. */
+    public List<SlowQuery> slowQueries(int limit) {
+        synchronized (slowQueries) {
+            List<SlowQuery> recent = new ArrayList<>(slowQueries);
+            return recent.subList(0, Math.max(0, Math.min(limit, recent.size())));
+        }
+    }
+
+    /** Query shapes ordered by {@code max}, {@code total}, {@code p99}, {@code mean} or {@code count}. */
+    public List<ShapeStats> topShapes(int top, String sortBy) {
+        Comparator<ShapeStats> order;
+        switch (sortBy) {
+            case "max":
+                order = Comparator.comparingDouble(ShapeStats::getMaxMillis);
+                break;
+            case "total":
+                order = Comparator.comparingDouble(ShapeStats::getTotalMillis);
+                break;
+            case "p99":
+                order = Comparator.comparingDouble(ShapeStats::getP99Millis);
+                break;
+            case "mean":
+                order = Comparator.comparingDouble(ShapeStats::getMeanMillis);
+                break;
+            case "count":
+                order = Comparator.comparingLong(ShapeStats::getCount);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown sort " + sortBy + ", expected max, total, p99, mean or count");
+        }
+        List<ShapeStats> stats = new ArrayList<>();
+        for (Shape shape : shapes.values()) {
+            stats.add(shape.stats());
+        }
+        stats.sort(order.reversed());
+        return stats.subList(0, Math.max(0, Math.min(top, stats.size())));
+    }
+
+    /** The query with literals and literal lists replaced by {@code ?} and whitespace collapsed. */
+    static String normalize(String cypher) {
+        String shape = STRING_LITERAL.matcher(cypher).replaceAll("?");
+        shape = NUMBER.matcher(shape).replaceAll("?");
+        shape = LIST.matcher(shape).replaceAll("[?]");
+        return shape.replaceAll("\\s+", " ").trim();
+    }
+
+    private Shape shape(String graph, String cypher) {
+        String text = normalize(cypher);
+        String key = graph + "\u001f" + text;
+        Shape shape = shapes.get(key);
+        if (shape != null) {
+            return shape;
+        }
+        if (shapes.size() >= maxShapes) {
+            return shapes.computeIfAbsent(graph + "\u001f" + OTHER_SHAPES, k -> new Shape(graph, OTHER_SHAPES));
+        }
+        return shapes.computeIfAbsent(key, k -> new Shape(graph, text));
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /** Rows of a query run through {@link #run}, with its time. */
+    @Getter
+    @AllArgsConstructor
+    public static class Execution {
+        private List<Map<String, Object>> rows;
+        private long millis;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class SlowQuery {
+        private String time;
+        private String graph;
+        private String question;
+        private String cypher;
+        private String shape;
+        private long millis;
+        private long rows;
+        private String error;
+        private volatile List<QueryProfile.Operator> operators;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ShapeStats {
+        private String graph;
+        private String shape;
+        private long count;
+        private long errors;
+        private double meanMillis;
+        private double p50Millis;
+        private double p99Millis;
+        private double maxMillis;
+        private double totalMillis;
+        private String lastQuestion;
+        private String lastCypher;
+        private QueryProfile profile;
+    }
+
+    private static final class Shape {
+        private final String graph;
+        private final String text;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong profiledAt = new AtomicLong();
+        private volatile String lastQuestion;
+        private volatile String lastCypher;
+        private volatile QueryProfile profile;
+
+        private Shape(String graph, String text) {
+            this.graph = graph;
+            this.text = text;
+        }
+
+        void record(long millis, boolean failed, String question, String cypher) {
+            latency.record(TimeUnit.MILLISECONDS.toMicros(millis));
+            if (failed) {
+                errors.incrementAndGet();
+            }
+            lastQuestion = question;
+            lastCypher = cypher;
+        }
+
+        /** True for the one caller that gets to profile this shape in the current interval. */
+        boolean profileDue(long intervalMillis) {
+            long now = System.currentTimeMillis();
+            long last = profiledAt.get();
+            return now - last >= intervalMillis && profiledAt.compareAndSet(last, now);
+        }
+
+        ShapeStats stats() {
+            return new ShapeStats(graph, text, latency.count(), errors.get(), latency.mean() / 1000,
+                    latency.percentile(50) / 1000.0, latency.percentile(99) / 1000.0, latency.max() / 1000.0,
+                    latency.mean() * latency.count() / 1000, lastQuestion, lastCypher, profile);
+        }
+    }
+}
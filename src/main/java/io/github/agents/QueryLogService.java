@@ -0,0 +1,33 @@
+package io.github.agents;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Service
+@RestController
+@RequestMapping("/api/queries")
+@CrossOrigin(origins = "*")
+public class QueryLogService {
+
+    @Autowired
+    private QueryLog queryLog;
+
+    /** Slowest query shapes, with the last question that produced each and its latest profile. */
+    @GetMapping("/shapes")
+    public List<QueryLog.ShapeStats> topShapes(@RequestParam(defaultValue = "20") int top,
+                                               @RequestParam(defaultValue = "max") String sort) {
+        return queryLog.topShapes(top, sort);
+    }
+
+    @GetMapping("/slow")
+    public List<QueryLog.SlowQuery> slowQueries(@RequestParam(defaultValue = "50") int limit) {
+        return queryLog.slowQueries(limit);
+    }
+}
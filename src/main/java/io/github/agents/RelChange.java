@@ -0,0 +1,29 @@
+package io.github.agents;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Set;
+
+/**
+ * Rows of a table were added or changed. For rel tables the primary keys of the touched source and
+ * destination nodes are given when known, and for node tables {@code fromKeys} holds the changed
+ * primary keys; {@code null} key sets mean the whole table may have changed, for example after a COPY.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class RelChange {
+    private String graph;
+    private String table;
+    private Set<String> fromKeys;
+    private Set<String> toKeys;
+
+    public RelChange(String graph, String table, Set<String> fromKeys, Set<String> toKeys) {
+        this.graph = graph;
+        this.table = table;
+        this.fromKeys = fromKeys;
+        this.toKeys = toKeys;
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.agents;
+
+import com.t4a.annotations.Action;
+import com.t4a.annotations.Agent;
+import io.github.vishalmysore.CypherLiterals;
+import io.github.vishalmysore.EntityResolver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RestController
+@RequestMapping("/api/resolve")
+@CrossOrigin(origins = "*")
+@Agent(groupName = "resolverServices", groupDescription = "find the graph node a loosely typed name refers to")
+public class ResolverService {
+
+    @Autowired
+    private EntityResolvers entityResolvers;
+    @Autowired
+    private GraphRegistry graphRegistry;
+    @Autowired
+    private QueryLog queryLog;
+
+    @GetMapping("/{graph}/{table}")
+    @Action
+    public List<EntityResolver.Match> resolve(@PathVariable String graph, @PathVariable String table,
+                                              @RequestParam("q") String text, @RequestParam(defaultValue = "5") int k) {
+        return entityResolvers.resolve(graph, table, text, k);
+    }
+
+    /** Properties of the node the text resolves to, read straight from the graph by its key. */
+    @GetMapping("/{graph}/{table}/node")
+    @Action
+    public Map<String, Object> getNode(@PathVariable String graph, @PathVariable String table, @RequestParam("q") String text) {
+        String key = entityResolvers.resolveKey(graph, table, text);
+        if (key == null) {
+            throw new NotFoundException("No " + table + " in " + graph + " matches '" + text + "'");
+        }
+        return graphRegistry.withGraph(graph, g -> {
+            String cypher = "MATCH (n:" + table + ") WHERE n." + g.getSchema().primaryKey(table) + " = "
+                    + CypherLiterals.quote(key) + " RETURN n.*";
+            List<Map<String, Object>> rows = queryLog.run(g, ResourceGovernor.QueryClass.TEMPLATE, text, cypher).getRows();
+            return rows.isEmpty() ? new LinkedHashMap<>() : rows.get(0);
+        });
+    }
+}
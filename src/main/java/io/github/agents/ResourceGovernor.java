@@ -0,0 +1,270 @@
+package io.github.agents;
+
+import com.kuzudb.Connection;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Limits on what a query may use. Each graph gets its buffer pool from {@code kg.graph-buffer-pool-mb}
+ * or else {@code kg.buffer-pool-mb}. Every borrowed connection is set to the exec thread cap and query
+ * timeout of its {@link QueryClass}, so Cypher written by the LLM runs on a few cores with a short
+ * timeout while the server's own templated queries keep the rest. Kuzu stops each statement at its
+ * timeout; a watchdog interrupts a TEMPLATE or ADHOC borrow still running
+ * {@code kg.governor.interrupt-grace-ms} after that, so for a request made of a few statements, such
+ * as a subgraph, the timeout bounds the whole request. The server's bulk work runs as MAINTENANCE,
+ * which has no timeout and is never interrupted by the watchdog. Operators can cancel any running
+ * query by id.
+ */
+@Component
+@Log
+public class ResourceGovernor {
+
+    private static final long MB = 1024L * 1024L;
+    /** The error Kuzu reports for a query stopped by {@code interrupt()} or by its query timeout. */
+    private static final String KUZU_INTERRUPTED = "Interrupted.";
+
+    /**
+     * Queries built by the server itself, Cypher that came from the LLM or a client, and the server's
+     * multi-statement bulk work: ingest transactions, index and profile builds, schema extraction.
+     */
+    public enum QueryClass {
+        TEMPLATE, ADHOC, MAINTENANCE
+    }
+
+    @Value("${kg.buffer-pool-mb:512}")
+    private long bufferPoolMb;
+    @Value("${kg.graph-buffer-pool-mb:}")
+    private String graphBufferPoolSpec;
+    @Value("${kg.governor.template.threads:0}")
+    private int templateThreads;
+    @Value("${kg.governor.template.timeout-ms:30000}")
+    private long templateTimeoutMillis;
+    @Value("${kg.governor.adhoc.threads:2}")
+    private int adhocThreads;
+    @Value("${kg.governor.adhoc.timeout-ms:10000}")
+    private long adhocTimeoutMillis;
+    @Value("${kg.governor.maintenance.threads:0}")
+    private int maintenanceThreads;
+    @Value("${kg.governor.interrupt-grace-ms:2000}")
+    private long interruptGraceMillis;
+
+    private final Map<String, Long> graphBufferPoolMb = new HashMap<>();
+    private final Map<QueryClass, Limits> limits = new LinkedHashMap<>();
+    private final Map<Long, Running> running = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+    private final AtomicLong watchdogInterrupts = new AtomicLong();
+    private ScheduledExecutorService watchdog;
+
+    @PostConstruct
+    public void init() {
+        for (String entry : graphBufferPoolSpec.split(",")) {
+            String[] parts = entry.trim().split("=", 2);
+            if (parts.length == 2) {
+                graphBufferPoolMb.put(parts[0].trim(), Long.parseLong(parts[1].trim()));
+            }
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        limits.put(QueryClass.TEMPLATE, new Limits(templateThreads > 0 ? templateThreads : cores, templateTimeoutMillis));
+        limits.put(QueryClass.ADHOC, new Limits(adhocThreads > 0 ? adhocThreads : cores, adhocTimeoutMillis));
+        limits.put(QueryClass.MAINTENANCE, new Limits(maintenanceThreads > 0 ? maintenanceThreads : cores, 0));
+        log.info("Query limits " + stats().get("classes") + ", buffer pools " + graphBufferPoolMb + " MB, default " + bufferPoolMb + " MB");
+        watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "query-watchdog");
+            t.setDaemon(true);
+            return t;
+        });
+        watchdog.scheduleWithFixedDelay(this::interruptOverdue, 1, 1, TimeUnit.SECONDS);
+    }
+
+    public long bufferPoolBytes(String graph) {
+        return graphBufferPoolMb.getOrDefault(graph, bufferPoolMb) * MB;
+    }
+
+    /**
+     * Runs the work on a borrowed connection under the limits of its class. {@code label}, usually the
+     * Cypher, shows up in the list of running queries.
+     */
+    public <T> T run(String graph, Connection conn, QueryClass queryClass, String label, Function<Connection, T> work) {
+        Limits classLimits = limits.get(queryClass);
+        conn.setMaxNumThreadForExec(classLimits.threads);
+        conn.setQueryTimeout(classLimits.timeoutMillis);
+        Running query = new Running(ids.incrementAndGet(), graph, queryClass, label, conn, classLimits.timeoutMillis);
+        running.put(query.id, query);
+        classLimits.running.incrementAndGet();
+        try {
+            return work.apply(conn);
+        } catch (RuntimeException e) {
+            if (query.cancelled) {
+                classLimits.cancelled.incrementAndGet();
+                throw new QueryCancelledException("Query " + query.id + " on " + graph + " was cancelled", false);
+            }
+            // Kuzu reports its own timeout as an interrupt; only one that came after the timeout is ours.
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - query.startNanos);
+            if (query.interrupted || (classLimits.timeoutMillis > 0 && elapsedMillis >= classLimits.timeoutMillis && interruptedByKuzu(e))) {
+                classLimits.timedOut.incrementAndGet();
+                throw new QueryCancelledException(queryClass.name().toLowerCase() + " query on " + graph + " ran over its "
+                        + classLimits.timeoutMillis + " ms limit and was stopped", true);
+            }
+            classLimits.failed.incrementAndGet();
+            throw e;
+        } finally {
+            synchronized (query) {
+                query.done = true;
+            }
+            running.remove(query.id);
+            classLimits.running.decrementAndGet();
+            classLimits.latency.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - query.startNanos));
+        }
+    }
+
+    private static boolean interruptedByKuzu(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().trim().endsWith(KUZU_INTERRUPTED)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Interrupts a running query; false when it has already finished. */
+    public boolean cancel(long id) {
+        Running query = running.get(id);
+        if (query == null) {
+            return false;
+        }
+        synchronized (query) {
+            if (query.done) {
+                return false;
+            }
+            query.cancelled = true;
+            query.conn.interrupt();
+        }
+        log.info("Cancelled query " + id + " on " + query.graph);
+        return true;
+    }
+
+    public List<RunningQuery> runningQueries() {
+        List<RunningQuery> queries = new ArrayList<>();
+        for (Running query : running.values()) {
+            queries.add(new RunningQuery(query.id, query.graph, query.queryClass, query.label,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - query.startNanos), query.interrupted || query.cancelled));
+        }
+        queries.sort((a, b) -> Long.compare(b.getMillis(), a.getMillis()));
+        return queries;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> classes = new LinkedHashMap<>();
+        limits.forEach((queryClass, l) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("threads", l.threads);
+            entry.put("timeoutMs", l.timeoutMillis);
+            entry.put("running", l.running.get());
+            entry.put("completed", l.latency.count());
+            entry.put("failed", l.failed.get());
+            entry.put("timedOut", l.timedOut.get());
+            entry.put("cancelled", l.cancelled.get());
+            entry.put("p50Ms", l.latency.percentile(50) / 1000.0);
+            entry.put("p99Ms", l.latency.percentile(99) / 1000.0);
+            entry.put("maxMs", l.latency.max() / 1000.0);
+            classes.put(queryClass.name().toLowerCase(), entry);
+        });
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("classes", classes);
+        stats.put("defaultBufferPoolMb", bufferPoolMb);
+        stats.put("graphBufferPoolMb", graphBufferPoolMb);
+        stats.put("watchdogInterrupts", watchdogInterrupts.get());
+        return stats;
+    }
+
+    /**
+     * Backstop for queries Kuzu did not stop at their timeout, e.g. while stuck outside an operator.
+     * MAINTENANCE borrows have no timeout and are left alone.
+     */
+    private void interruptOverdue() {
+        long now = System.nanoTime();
+        for (Running query : running.values()) {
+            if (query.timeoutMillis <= 0 || now - query.startNanos < TimeUnit.MILLISECONDS.toNanos(query.timeoutMillis + interruptGraceMillis)) {
+                continue;
+            }
+            synchronized (query) {
+                if (!query.done && !query.interrupted) {
+                    query.interrupted = true;
+                    query.conn.interrupt();
+                    watchdogInterrupts.incrementAndGet();
+                    log.warning("Interrupted query " + query.id + " on " + query.graph + " after its " + query.timeoutMillis + " ms timeout: " + query.label);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class RunningQuery {
+        private long id;
+        private String graph;
+        private QueryClass queryClass;
+        private String label;
+        private long millis;
+        private boolean stopping;
+    }
+
+    private static final class Limits {
+        private final int threads;
+        private final long timeoutMillis;
+        private final AtomicLong running = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong timedOut = new AtomicLong();
+        private final AtomicLong cancelled = new AtomicLong();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private Limits(int threads, long timeoutMillis) {
+            this.threads = threads;
+            this.timeoutMillis = timeoutMillis;
+        }
+    }
+
+    private static final class Running {
+        private final long id;
+        private final String graph;
+        private final QueryClass queryClass;
+        private final String label;
+        private final Connection conn;
+        private final long timeoutMillis;
+        private final long startNanos = System.nanoTime();
+        private volatile boolean interrupted;
+        private volatile boolean cancelled;
+        private boolean done;
+
+        private Running(long id, String graph, QueryClass queryClass, String label, Connection conn, long timeoutMillis) {
+            this.id = id;
+            this.graph = graph;
+            this.queryClass = queryClass;
+            this.label = label;
+            this.conn = conn;
+            this.timeoutMillis = timeoutMillis;
+        }
+    }
+}
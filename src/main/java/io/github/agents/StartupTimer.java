@@ -0,0 +1,72 @@
+package io.github.agents;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long {@link YogaKGServer} takes to get through context refresh, with and without the
+ * class data sharing archive built by the {@code cds} Maven profile. Each run is a fresh JVM started
+ * with {@code spring.context.exit=onRefresh}, so the wall-clock time covers JVM boot, class loading
+ * and bean creation but no request handling.
+ *
+ * <pre>
+ * java -cp ... io.github.agents.StartupTimer target/cds/agenticgraph-1.0-SNAPSHOT-cds.jar target/cds/app.jsa 5
+ * </pre>
+ */
+public class StartupTimer {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 2) {
+            System.out.println("Usage: StartupTimer <jar> <archive.jsa> [runs]");
+            return;
+        }
+        String jar = args[0];
+        String archive = args[1];
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        long plain = median(jar, null, runs);
+        long shared = new File(archive).exists() ? median(jar, archive, runs) : -1;
+        System.out.println("Startup to context refresh, median of " + runs + " runs:");
+        System.out.println("  without CDS archive: " + plain + " ms");
+        if (shared < 0) {
+            System.out.println("  with CDS archive:    missing " + archive);
+        } else {
+            System.out.printf("  with CDS archive:    %d ms (%.0f%% faster)%n", shared, 100.0 * (plain - shared) / plain);
+        }
+    }
+
+    private static long median(String jar, String archive, int runs) throws IOException, InterruptedException {
+        long[] millis = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            millis[i] = time(jar, archive);
+        }
+        Arrays.sort(millis);
+        return millis[runs / 2];
+    }
+
+    private static long time(String jar, String archive) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        if (archive != null) {
+            command.add("-XX:SharedArchiveFile=" + archive);
+        }
+        command.add("-Dspring.context.exit=onRefresh");
+        command.add("-jar");
+        command.add(jar);
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+        if (!process.waitFor(5, TimeUnit.MINUTES)) {
+            process.destroyForcibly();
+            throw new IllegalStateException("Server did not exit after refresh: " + command);
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (process.exitValue() != 0) {
+            throw new IllegalStateException("Startup run failed with exit code " + process.exitValue() + ": " + command);
+        }
+        return millis;
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.agents;
+
+import com.t4a.processor.AIProcessingException;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Local stand-in for an LLM provider. Replies with a canned answer after a latency drawn from a
+ * configurable distribution, and fails with the configured error rate. Used to exercise hedging
+ * and load handling without calling a real provider.
+ */
+public class StubLlmClient implements LlmClient {
+
+    public static final String DEFAULT_CYPHER = "MATCH (p:Pose) RETURN p.name, p.difficulty LIMIT 10";
+    private static final Pattern NUMBERED_LINE = Pattern.compile("^\\d+\\. ");
+
+    private final LatencyDistribution latency;
+    private final double errorRate;
+    private final Function<String, String> responder;
+
+    public StubLlmClient(LatencyDistribution latency, double errorRate, Function<String, String> responder) {
+        this.latency = latency;
+        this.errorRate = errorRate;
+        this.responder = responder;
+    }
+
+    public StubLlmClient(String latencySpec, double errorRate) {
+        this(LatencyDistribution.parse(latencySpec), errorRate, prompt -> DEFAULT_CYPHER);
+    }
+
+    /**
+     * Responder that replays the canned queries in turn. Numbered batch prompts (see
+     * {@link CypherBatchPrompt}) get one {@code <number>: <query>} line per question.
+     */
+    public static Function<String, String> replaying(List<String> cypherQueries) {
+        if (cypherQueries.isEmpty()) {
+            throw new IllegalArgumentException("No canned queries to replay");
+        }
+        AtomicInteger next = new AtomicInteger();
+        return prompt -> {
+            long questions = prompt.lines().filter(line -> NUMBERED_LINE.matcher(line).find()).count();
+            if (questions == 0) {
+                return cypherQueries.get(Math.floorMod(next.getAndIncrement(), cypherQueries.size()));
+            }
+            StringBuilder answer = new StringBuilder();
+            for (int i = 1; i <= questions; i++) {
+                answer.append(i).append(": ").append(cypherQueries.get(Math.floorMod(next.getAndIncrement(), cypherQueries.size()))).append('\n');
+            }
+            return answer.toString();
+        };
+    }
+
+    @Override
+    public String query(String prompt) throws AIProcessingException {
+        try {
+            Thread.sleep(latency.sampleMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AIProcessingException("stub request cancelled");
+        }
+        if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+            throw new AIProcessingException("stub injected failure");
+        }
+        return responder.apply(prompt);
+    }
+
+    /**
+     * Latency model for the stub. Spec strings look like {@code fixed:200}, {@code uniform:100:900},
+     * {@code lognormal:400:0.6} (median ms, sigma) or {@code bimodal:150:3000:0.05}
+     * (fast ms, slow ms, probability of slow).
+     */
+    public interface LatencyDistribution {
+
+        long sampleMillis();
+
+        static LatencyDistribution parse(String spec) {
+            String[] parts = spec.trim().split(":");
+            switch (parts[0].toLowerCase()) {
+                case "fixed": {
+                    long millis = Long.parseLong(parts[1]);
+                    return () -> millis;
+                }
+                case "uniform": {
+                    long min = Long.parseLong(parts[1]);
+                    long max = Long.parseLong(parts[2]);
+                    return () -> ThreadLocalRandom.current().nextLong(min, max + 1);
+                }
+                case "lognormal": {
+                    double median = Double.parseDouble(parts[1]);
+                    double sigma = Double.parseDouble(parts[2]);
+                    return () -> Math.round(median * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian()));
+                }
+                case "bimodal": {
+                    long fast = Long.parseLong(parts[1]);
+                    long slow = Long.parseLong(parts[2]);
+                    double slowProbability = Double.parseDouble(parts[3]);
+                    return () -> ThreadLocalRandom.current().nextDouble() < slowProbability ? slow : fast;
+                }
+                default:
+                    throw new IllegalArgumentException("Unknown latency distribution: " + spec);
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.agents;
+
+import io.github.vishalmysore.InvertedIndex;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * BM25 keyword indexes over the STRING columns of node tables, one {@link InvertedIndex} per table.
+ * {@code kg.text.tables} picks the tables as {@code graph.Table} entries; when blank every node table
+ * with a STRING column is indexed.
+ */
+@Component
+public class TextIndexes extends NodeTableIndexes<InvertedIndex> {
+
+    @Value("${kg.text.tables:}")
+    private String tableSpec;
+
+    private final Set<String> configuredTables = new HashSet<>();
+
+    @PostConstruct
+    public void init() {
+        for (String entry : tableSpec.split(",")) {
+            if (!entry.isBlank()) {
+                configuredTables.add(entry.trim());
+            }
+        }
+    }
+
+    public List<InvertedIndex.Hit> search(String graph, String table, String query, int k) {
+        return index(graph, table).search(query, k);
+    }
+
+    /** Best hits of every indexed table of the graph, by table. */
+    public Map<String, List<InvertedIndex.Hit>> search(String graph, String query, int k) {
+        Map<String, List<InvertedIndex.Hit>> hits = new LinkedHashMap<>();
+        tablesOf(graph).forEach((table, index) -> {
+            List<InvertedIndex.Hit> tableHits = index.search(query, k);
+            if (!tableHits.isEmpty()) {
+                hits.put(table, tableHits);
+            }
+        });
+        return hits;
+    }
+
+    @Override
+    protected List<String> columns(String graph, String table, Map<String, String> properties, String primaryKey) {
+        if (!configuredTables.isEmpty() && !configuredTables.contains(graph + "." + table)) {
+            return List.of();
+        }
+        return stringColumns(properties);
+    }
+
+    @Override
+    protected InvertedIndex newIndex() {
+        return new InvertedIndex();
+    }
+
+    @Override
+    protected void put(InvertedIndex index, String key, Map<String, Object> row) {
+        StringBuilder text = new StringBuilder();
+        for (Object value : row.values()) {
+            if (value != null) {
+                text.append(value).append(' ');
+            }
+        }
+        index.add(key, text.toString());
+    }
+
+    @Override
+    protected void remove(InvertedIndex index, String key) {
+        index.remove(key);
+    }
+
+    @Override
+    protected int size(InvertedIndex index) {
+        return index.size();
+    }
+
+    @Override
+    protected int deleted(InvertedIndex index) {
+        return index.getDeleted();
+    }
+}
@@ -0,0 +1,45 @@
+package io.github.agents;
+
+import com.t4a.annotations.Action;
+import com.t4a.annotations.Agent;
+import io.github.vishalmysore.InvertedIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "*")
+@Agent(groupName = "searchServices", groupDescription = "keyword search over the text of graph nodes")
+public class TextSearchService {
+
+    @Autowired
+    private TextIndexes textIndexes;
+
+    @GetMapping("/{graph}/tables")
+    public Map<String, Integer> getIndexedTables(@PathVariable String graph) {
+        return textIndexes.tables(graph);
+    }
+
+    @GetMapping("/{graph}")
+    @Action
+    public Map<String, List<InvertedIndex.Hit>> search(@PathVariable String graph, @RequestParam("q") String query,
+                                                       @RequestParam(defaultValue = "5") int k) {
+        return textIndexes.search(graph, query, k);
+    }
+
+    @GetMapping("/{graph}/{table}")
+    public List<InvertedIndex.Hit> searchTable(@PathVariable String graph, @PathVariable String table,
+                                               @RequestParam("q") String query, @RequestParam(defaultValue = "5") int k) {
+        return textIndexes.search(graph, table, query, k);
+    }
+}
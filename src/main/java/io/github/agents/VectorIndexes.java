@@ -0,0 +1,93 @@
+package io.github.agents;
+
+import io.github.vishalmysore.Embedder;
+import io.github.vishalmysore.HashingEmbedder;
+import io.github.vishalmysore.HnswIndex;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One {@link HnswIndex} per node table that has a text property (by default {@code description}).
+ * The embedding function is any {@link Embedder} bean, falling back to {@link HashingEmbedder}.
+ */
+@Component
+public class VectorIndexes extends NodeTableIndexes<HnswIndex> {
+
+    @Autowired(required = false)
+    private Embedder embedder;
+
+    @Value("${kg.vectors.property:description}")
+    private String property;
+    @Value("${kg.vectors.dimension:256}")
+    private int dimension;
+    @Value("${kg.vectors.m:16}")
+    private int m;
+    @Value("${kg.vectors.ef-construction:100}")
+    private int efConstruction;
+    @Value("${kg.vectors.ef-search:64}")
+    private int efSearch;
+
+    @PostConstruct
+    public void init() {
+        if (embedder == null) {
+            embedder = new HashingEmbedder(dimension);
+        }
+    }
+
+    /** Nodes of the table whose text is closest to the given text. */
+    public List<HnswIndex.Hit> search(String graph, String table, String text, int k) {
+        return index(graph, table).search(embedder.embed(text), k, efSearch);
+    }
+
+    /** Nodes of the table closest to the node with the given primary key, excluding that node. */
+    public List<HnswIndex.Hit> similar(String graph, String table, String key, int k) {
+        HnswIndex index = index(graph, table);
+        float[] vector = index.vector(key);
+        if (vector == null) {
+            throw new NotFoundException("No " + table + " '" + key + "' in the " + graph + " vector index");
+        }
+        List<HnswIndex.Hit> hits = new ArrayList<>();
+        for (HnswIndex.Hit hit : index.search(vector, k + 1, efSearch)) {
+            if (!hit.getKey().equals(key) && hits.size() < k) {
+                hits.add(hit);
+            }
+        }
+        return hits;
+    }
+
+    @Override
+    protected List<String> columns(String graph, String table, Map<String, String> properties, String primaryKey) {
+        return "STRING".equalsIgnoreCase(properties.get(property)) ? List.of(property) : List.of();
+    }
+
+    @Override
+    protected HnswIndex newIndex() {
+        return new HnswIndex(embedder.dimension(), m, efConstruction);
+    }
+
+    @Override
+    protected void put(HnswIndex index, String key, Map<String, Object> row) {
+        index.add(key, embedder.embed((String) row.get(property)));
+    }
+
+    @Override
+    protected void remove(HnswIndex index, String key) {
+        index.remove(key);
+    }
+
+    @Override
+    protected int size(HnswIndex index) {
+        return index.size();
+    }
+
+    @Override
+    protected int deleted(HnswIndex index) {
+        return index.getDeleted();
+    }
+}
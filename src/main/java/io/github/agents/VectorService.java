@@ -0,0 +1,46 @@
+package io.github.agents;
+
+import com.t4a.annotations.Action;
+import com.t4a.annotations.Agent;
+import io.github.vishalmysore.HnswIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RestController
+@RequestMapping("/api/vectors")
+@CrossOrigin(origins = "*")
+@Agent(groupName = "vectorServices", groupDescription = "find graph nodes whose descriptions are similar to a text or to another node")
+public class VectorService {
+
+    @Autowired
+    private VectorIndexes vectorIndexes;
+
+    @GetMapping("/{graph}")
+    public Map<String, Integer> getIndexedTables(@PathVariable String graph) {
+        return vectorIndexes.tables(graph);
+    }
+
+    @GetMapping("/{graph}/{table}/search")
+    @Action
+    public List<HnswIndex.Hit> search(@PathVariable String graph, @PathVariable String table,
+                                      @RequestParam("q") String text, @RequestParam(defaultValue = "5") int k) {
+        return vectorIndexes.search(graph, table, text, k);
+    }
+
+    @GetMapping("/{graph}/{table}/{key}/similar")
+    @Action
+    public List<HnswIndex.Hit> similar(@PathVariable String graph, @PathVariable String table,
+                                       @PathVariable String key, @RequestParam(defaultValue = "5") int k) {
+        return vectorIndexes.similar(graph, table, key, k);
+    }
+}
@@ -0,0 +1,29 @@
+package io.github.agents;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * A named GROUP BY aggregate over one graph. {@code groupBy} holds the returned group expressions,
+ * the first of which is the group key and must be the primary key of the {@code keySide} node ("from"
+ * or "to" endpoint of the pattern); {@code measure} is the expression summed and averaged (count only
+ * when absent). {@code dependsOn} lists the rel tables of the pattern; node tables the view reads are
+ * taken from the pattern itself.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class ViewDefinition {
+    private String name;
+    private String description;
+    private String graph;
+    private String match;
+    private String where;
+    private List<String> groupBy;
+    private String measure;
+    private List<String> dependsOn;
+    private String keySide;
+}
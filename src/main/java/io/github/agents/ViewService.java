@@ -0,0 +1,47 @@
+package io.github.agents;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Collection;
+
+@Service
+@RestController
+@RequestMapping("/api/views")
+@CrossOrigin(origins = "*")
+public class ViewService {
+
+    @Autowired
+    private MaterializedViews materializedViews;
+    @Autowired
+    private GraphEvents graphEvents;
+
+    @GetMapping
+    public Collection<ViewDefinition> listViews() {
+        return materializedViews.getDefinitions();
+    }
+
+    @GetMapping("/{name}")
+    public MaterializedViews.Snapshot getView(@PathVariable String name) {
+        return materializedViews.get(name);
+    }
+
+    @PostMapping("/{name}/refresh")
+    public MaterializedViews.Snapshot refreshView(@PathVariable String name) {
+        return materializedViews.refresh(name);
+    }
+
+    /** Lets a writer process report what it changed so that dependent views are refreshed. */
+    @PostMapping("/changes")
+    public String reportChange(@RequestBody RelChange change) {
+        graphEvents.tableChanged(change);
+        return "accepted";
+    }
+}
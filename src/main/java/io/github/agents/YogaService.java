@@ -2,19 +2,25 @@ package io.github.agents;
 
 import com.t4a.annotations.Action;
 import com.t4a.annotations.Agent;
-import com.t4a.predict.PredictionLoader;
 import com.t4a.processor.AIProcessingException;
-import com.t4a.processor.AIProcessor;
-import io.github.vishalmysore.SchemaExtractor;
-import jakarta.annotation.PostConstruct;
+import io.github.vishalmysore.InvertedIndex;
+import io.github.vishalmysore.PoseProfile;
+import io.github.vishalmysore.PoseRecommender;
 import lombok.extern.java.Log;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+import java.util.Map;
+
 @Service
 @RestController
 @RequestMapping("/api/yoga")
@@ -23,25 +29,27 @@ import org.springframework.web.bind.annotation.RestController;
 @Log
 public class YogaService {
 
-    private  AIProcessor processor;  // Add this field
+    static final String GRAPH = "yoga";
 
-    private String yogaSchemaInfo;
-    @Value("${yoga.db.path:db/yoga.kuzu}")
-    private String yogaDbPath;
-    @PostConstruct
-    public void init() {
-        // Load or initialize the yoga knowledge graph schema information
-        yogaSchemaInfo = SchemaExtractor.getSchemaForDB(yogaDbPath, "Yoga");
-        log.info(yogaSchemaInfo);
-    }
+    @Autowired
+    private LlmClientProvider llmClientProvider;
+    @Autowired
+    private CypherTranslator cypherTranslator;
+    @Autowired
+    private EntityResolvers entityResolvers;
+    @Autowired
+    private TextIndexes textIndexes;
+    @Autowired
+    private PoseProfiles poseProfiles;
+    @Autowired
+    private PoseRecommendations poseRecommendations;
+    @Autowired
+    private LlmAdmission admission;
 
-    //this is needed if you want to initialize the processor once the service is constructed
+    //the client wraps the processor, which can only be created once the service is constructed
     //only needed whwne you call thru spring controller
-    private AIProcessor getProcessor() {
-        if(processor == null) {
-            processor = PredictionLoader.getInstance().createOrGetAIProcessor();
-        }
-        return processor;
+    private LlmClient getProcessor() {
+        return llmClientProvider.get();
     }
     @RequestMapping("/info")
     @Action
@@ -53,24 +61,73 @@ public class YogaService {
     @Action
     public String getYogaBenefits() throws AIProcessingException {
         // Now you can use the processor to query
-        String response = getProcessor().query("What are the benefits of yoga?");
-        return "Welcome to the Yoga Knowledge Service! " + response;
+        String prompt = "What are the benefits of yoga?";
+        try (LlmAdmission.Permit permit = admission.acquire(LlmAdmission.Priority.INTERACTIVE, LlmAdmission.estimateTokens(prompt))) {
+            return "Welcome to the Yoga Knowledge Service! " + getProcessor().query(prompt);
+        }
     }
 
     @RequestMapping("/pose/{poseName}")
     @Action
-    public String getPoseInfo(@PathVariable String poseName) throws AIProcessingException {
-        String response = getProcessor().query("Tell me about the " + poseName + " yoga pose");
-        return response;
+    public PoseInfo getPoseInfo(@PathVariable String poseName,
+                                @RequestParam(defaultValue = "false") boolean prose) throws AIProcessingException {
+        PoseProfile profile = findPose(poseName);
+        if (profile == null) {
+            String prompt = "Tell me about the " + poseName + " yoga pose";
+            try (LlmAdmission.Permit permit = admission.acquire(LlmAdmission.Priority.INTERACTIVE, LlmAdmission.estimateTokens(prompt))) {
+                return new PoseInfo(poseName, null, getProcessor().query(prompt));
+            }
+        }
+        if (!prose) {
+            return new PoseInfo(poseName, profile, null);
+        }
+        // the profile already answers the question, so under load the prose is dropped instead of the request
+        String prompt = "Describe this yoga pose in a short paragraph using only these facts: " + profile.summary();
+        try (LlmAdmission.Permit permit = admission.acquire(LlmAdmission.Priority.ENRICHMENT, LlmAdmission.estimateTokens(prompt))) {
+            return new PoseInfo(poseName, profile, getProcessor().query(prompt));
+        } catch (AdmissionRejectedException e) {
+            log.info("Prose for " + poseName + " skipped: " + e.getReason());
+            return new PoseInfo(poseName, profile, null);
+        }
+    }
+
+    /** Resolves the user's pose name by fuzzy match, then keyword search, to a pose profile. */
+    private PoseProfile findPose(String poseName) {
+        String pose = entityResolvers.resolveKey(GRAPH, "Pose", poseName);
+        if (pose == null) {
+            List<InvertedIndex.Hit> hits = textIndexes.search(GRAPH, "Pose", poseName, 1);
+            pose = hits.isEmpty() ? null : hits.get(0).getKey();
+        }
+        return pose == null ? null : poseProfiles.get(pose);
+    }
+
+    /**
+     * Poses for goals such as {@code ?benefits=flexibility&bodyParts=lower back&maxDifficulty=4}; a goal may
+     * carry a weight as {@code name:weight}.
+     */
+    @GetMapping("/recommend")
+    @Action
+    public List<PoseRecommender.Recommendation> recommendPoses(@RequestParam(required = false) List<String> benefits,
+                                                               @RequestParam(required = false) List<String> bodyParts,
+                                                               @RequestParam(defaultValue = "10") long maxDifficulty,
+                                                               @RequestParam(defaultValue = "5") int k) {
+        return poseRecommendations.recommend(benefits, bodyParts, maxDifficulty, k);
     }
 
     @RequestMapping("/graph/{englishQuery}")
     @Action
     public CypherResponse convertToCipherQuery(@PathVariable String englishQuery) throws AIProcessingException {
-        String prommpt = "Convert the following English query to a Cypher query :provide only cypher query and no other text " + englishQuery+" here is the schema info "+yogaSchemaInfo;
-        log.info(prommpt);
-        String response = getProcessor().query(prommpt);
-        String cipherQuery = response.replaceAll("```(?:cypher)?\\s*", "").trim();
-        return new CypherResponse(cipherQuery);
+        return cypherTranslator.translate(GRAPH, englishQuery, false);
+    }
+
+    /** Admission control counters: LLM slots in use, queue length, rejections and shed requests. */
+    @GetMapping("/admission")
+    public Map<String, Object> getAdmissionStats() {
+        return admission.stats();
+    }
+
+    @PostMapping("/graph/batch")
+    public List<CypherResponse> convertBatchToCipherQueries(@RequestBody BatchCypherRequest request) throws AIProcessingException {
+        return cypherTranslator.translateBatch(GRAPH, request.getQuestions());
     }
-}
\ No newline at end of file
+}
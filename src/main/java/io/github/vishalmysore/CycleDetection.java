@@ -15,136 +15,12 @@ public class CycleDetection {
         Database db = new Database("cycle_detection.kuzu");
         Connection conn = new Connection(db);
 
-        // Create tables
-        conn.query("CREATE NODE TABLE Account(account_id STRING PRIMARY KEY, account_type STRING, risk_score DOUBLE)");
-        conn.query("CREATE NODE TABLE Transaction(transaction_id STRING PRIMARY KEY, amount DOUBLE, timestamp STRING)");
-        conn.query("CREATE NODE TABLE CyclePattern(pattern_id STRING PRIMARY KEY, pattern_name STRING, description STRING, risk_level STRING)");
-        conn.query("CREATE NODE TABLE Algorithm(algorithm_name STRING PRIMARY KEY, description STRING, time_complexity STRING)");
+        // Create tables and load data
+        GraphWriter.runScript(conn, "cycle/load.cypher", false);
 
-        conn.query("CREATE REL TABLE Transfers(FROM Account TO Account, transaction_id STRING, amount DOUBLE)");
-        conn.query("CREATE REL TABLE Involves(FROM Transaction TO Account)");
-        conn.query("CREATE REL TABLE DetectsPattern(FROM Algorithm TO CyclePattern, confidence INT64)");
-
-        // Load data
-        conn.query("COPY Account FROM 'src/main/resources/cycle/account.csv'");
-        conn.query("COPY Transaction FROM 'src/main/resources/cycle/transaction.csv'");
-        conn.query("COPY CyclePattern FROM 'src/main/resources/cycle/cycle-pattern.csv'");
-        conn.query("COPY Algorithm FROM 'src/main/resources/cycle/algorithm.csv'");
-        conn.query("COPY Transfers FROM 'src/main/resources/cycle/transfers.csv'");
-        conn.query("COPY Involves FROM 'src/main/resources/cycle/involves.csv'");
-        conn.query("COPY DetectsPattern FROM 'src/main/resources/cycle/detects-pattern.csv'");
-
-        // Query 1: Simple - All account transfers
-        System.out.println("\n=== Query 1: All Account Transfers ===");
-        QueryResult result = conn.query(
-                "MATCH (a1:Account)-[t:Transfers]->(a2:Account) " +
-                "RETURN a1.account_id, t.amount, a2.account_id;");
-        while (result.hasNext()) {
-            FlatTuple row = result.getNext();
-            System.out.println(row);
-        }
-
-        // Query 2: High-risk accounts
-        System.out.println("\n=== Query 2: High-Risk Accounts ===");
-        result = conn.query(
-                "MATCH (a:Account) WHERE a.risk_score > 0.7 " +
-                "RETURN a.account_id, a.account_type, a.risk_score " +
-                "ORDER BY a.risk_score DESC;");
-        while (result.hasNext()) {
-            FlatTuple row = result.getNext();
-            System.out.println(row);
-        }
-
-        // Query 3: Detect potential 2-step cycles (A->B->A)
-        System.out.println("\n=== Query 3: Potential 2-Step Cycles (A->B->A) ===");
-        result = conn.query(
-                "MATCH (a1:Account)-[t1:Transfers]->(a2:Account)-[t2:Transfers]->(a3:Account) " +
-                "WHERE a1.account_id = a3.account_id " +
-                "RETURN a1.account_id, a2.account_id, t1.amount, t2.amount;");
-        while (result.hasNext()) {
-            FlatTuple row = result.getNext();
-            System.out.println(row);
-        }
-
-        // Query 4: Detect potential 3-step cycles (A->B->C->A)
-        System.out.println("\n=== Query 4: Potential 3-Step Cycles (A->B->C->A) ===");
-        result = conn.query(
-                "MATCH (a1:Account)-[t1:Transfers]->(a2:Account)-[t2:Transfers]->(a3:Account)-[t3:Transfers]->(a4:Account) " +
-                "WHERE a1.account_id = a4.account_id " +
-                "RETURN a1.account_id, a2.account_id, a3.account_id, t1.amount, t2.amount, t3.amount;");
-        while (result.hasNext()) {
-            FlatTuple row = result.getNext();
-            System.out.println(row);
-        }
-
-        // Query 5: Detect potential 4-step cycles (A->B->C->D->A) - MAIN CYCLE
-        System.out.println("\n=== Query 5: Potential 4-Step Cycles (A->B->C->D->A) ===");
-        result = conn.query(
-                "MATCH (a1:Account)-[t1:Transfers]->(a2:Account)-[t2:Transfers]->(a3:Account)-[t3:Transfers]->(a4:Account)-[t4:Transfers]->(a5:Account) " +
-                "WHERE a1.account_id = a5.account_id " +
-                "RETURN a1.account_id, a2.account_id, a3.account_id, a4.account_id, t1.amount, t2.amount, t3.amount, t4.amount;");
-        while (result.hasNext()) {
-            FlatTuple row = result.getNext();
-            System.out.println(row);
-        }
-
-        // Query 6: Account outgoing vs incoming transfers
-        System.out.println("\n=== Query 6: Account Transfer Summary (Outgoing and Incoming) ===");
-        result = conn.query(
-                "MATCH (a:Account)-[out:Transfers]->(out_account:Account) " +
-                "WITH a, COUNT(out) as outgoing_transfers, SUM(out.amount) as total_outgoing " +
-                "MATCH (in_account:Account)-[in_trans:Transfers]->(a) " +
-                "WITH a, outgoing_transfers, total_outgoing, COUNT(in_trans) as incoming_transfers, SUM(in_trans.amount) as total_incoming " +
-                "RETURN a.account_id, outgoing_transfers, total_outgoing, incoming_transfers, total_incoming " +
-                "ORDER BY total_outgoing DESC;");
-        while (result.hasNext()) {
-            FlatTuple row = result.getNext();
-            System.out.println(row);
-        }
-
-        // Query 7: Cycle patterns and detection algorithms
-        System.out.println("\n=== Query 7: Cycle Patterns and Detection Algorithms ===");
-        result = conn.query(
-                "MATCH (algo:Algorithm)-[d:DetectsPattern]->(pattern:CyclePattern) " +
-                "RETURN algo.algorithm_name, pattern.pattern_name, d.confidence, pattern.risk_level;");
-        while (result.hasNext()) {
-            FlatTuple row = result.getNext();
-            System.out.println(row);
-        }
-
-        // Query 8: Complex - Accounts in cycles with their pattern details
-        System.out.println("\n=== Query 8: High-Risk Cycle Analysis ===");
-        result = conn.query(
-                "MATCH (a:Account) WHERE a.risk_score > 0.7 " +
-                "MATCH (a)-[t:Transfers]->(next:Account) " +
-                "WITH a, next, t " +
-                "MATCH (next)-[t2:Transfers]->(target:Account) " +
-                "RETURN a.account_id, next.account_id, target.account_id, a.risk_score, t.amount, t2.amount " +
-                "ORDER BY a.risk_score DESC;");
-        while (result.hasNext()) {
-            FlatTuple row = result.getNext();
-            System.out.println(row);
-        }
-
-        // Query 9: Transactions involved in accounts
-        System.out.println("\n=== Query 9: Transactions Linked to Accounts ===");
-        result = conn.query(
-                "MATCH (t:Transaction)-[i:Involves]->(a:Account) " +
-                "RETURN t.transaction_id, t.amount, t.timestamp, a.account_id;");
-        while (result.hasNext()) {
-            FlatTuple row = result.getNext();
-            System.out.println(row);
-        }
-
-        // Query 10: Total cycle risk assessment
-        System.out.println("\n=== Query 10: Cycle Risk Assessment Summary ===");
-        result = conn.query(
-                "MATCH (pattern:CyclePattern) " +
-                "RETURN pattern.pattern_name, pattern.risk_level, pattern.description;");
-        while (result.hasNext()) {
-            FlatTuple row = result.getNext();
-            System.out.println(row);
-        }
+        // Queries are declared in cycle/queries.json
+        QueryPack pack = QueryPack.load("cycle/queries.json");
+        pack.print(conn);
 
         // CYCLE DETECTION LOGIC
         System.out.println("\n\n========== CYCLE DETECTION ANALYSIS ==========");
@@ -0,0 +1,14 @@
+package io.github.vishalmysore;
+
+/**
+ * Helpers for putting Java values into Cypher text where a parameter cannot be used.
+ */
+public final class CypherLiterals {
+
+    private CypherLiterals() {
+    }
+
+    public static String quote(String value) {
+        return "'" + value.replace("\\", "\\\\").replace("'", "\\'") + "'";
+    }
+}
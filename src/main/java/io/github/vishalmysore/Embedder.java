@@ -0,0 +1,12 @@
+package io.github.vishalmysore;
+
+/**
+ * Turns text into a fixed-length vector for similarity search. Implementations must be thread-safe
+ * and must return vectors of {@link #dimension()} floats; they need not be normalized.
+ */
+public interface Embedder {
+
+    int dimension();
+
+    float[] embed(String text);
+}
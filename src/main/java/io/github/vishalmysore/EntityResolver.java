@@ -0,0 +1,233 @@
+package io.github.vishalmysore;
+
+import lombok.Getter;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Maps free-form names ("downward dog", "adho mukha", "warrior 2", "trangle") to node keys through a
+ * trigram index over each node's names and aliases. Names are normalized first: case, accents and
+ * punctuation are dropped and the roman numerals I to X become digits. A candidate alias scores the
+ * mean of its Dice coefficient and its overlap coefficient with the query, so both typos and partial
+ * names (a prefix of a long Sanskrit name) rank high; an exact normalized match scores 1.
+ */
+public class EntityResolver {
+
+    private static final String[] ROMAN = {"i", "ii", "iii", "iv", "v", "vi", "vii", "viii", "ix", "x"};
+
+    /** A resolved key, the alias that matched and the match score in (0, 1]. */
+    @Getter
+    public static class Match {
+        private final String key;
+        private final String alias;
+        private final double score;
+
+        Match(String key, String alias, double score) {
+            this.key = key;
+            this.alias = alias;
+            this.score = score;
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, int[]> postings = new HashMap<>();
+    private final Map<String, Integer> exact = new HashMap<>();
+    private final Map<String, int[]> aliasesByKey = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private String[] aliasKeys = new String[64];
+    private String[] aliasNames = new String[64];
+    private int[] aliasTrigrams = new int[64];
+    private int aliasCount;
+
+    /** Lower case, no accents or punctuation, single spaces, roman numerals as digits. */
+    public static String normalize(String text) {
+        String plain = Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}", "").toLowerCase(Locale.ROOT);
+        StringBuilder normalized = new StringBuilder();
+        for (String word : plain.split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            int roman = Arrays.asList(ROMAN).indexOf(word);
+            if (normalized.length() > 0) {
+                normalized.append(' ');
+            }
+            normalized.append(roman >= 0 ? String.valueOf(roman + 1) : word);
+        }
+        return normalized.toString();
+    }
+
+    /** Registers the key under the given names, replacing names it was registered with before. */
+    public void add(String key, List<String> names) {
+        lock.writeLock().lock();
+        try {
+            removeKey(key);
+            List<Integer> ids = new ArrayList<>();
+            for (String name : names) {
+                if (name == null) {
+                    continue;
+                }
+                String normalized = normalize(name);
+                if (normalized.isEmpty()) {
+                    continue;
+                }
+                int id = aliasCount++;
+                if (id == aliasKeys.length) {
+                    aliasKeys = Arrays.copyOf(aliasKeys, id * 2);
+                    aliasNames = Arrays.copyOf(aliasNames, id * 2);
+                    aliasTrigrams = Arrays.copyOf(aliasTrigrams, id * 2);
+                }
+                aliasKeys[id] = key;
+                aliasNames[id] = name;
+                int[] trigrams = trigrams(normalized);
+                aliasTrigrams[id] = trigrams.length;
+                for (int trigram : trigrams) {
+                    int[] list = postings.get(trigram);
+                    if (list == null) {
+                        list = new int[]{0, 0, 0, 0};
+                        postings.put(trigram, list);
+                    } else if (list[0] + 1 == list.length) {
+                        list = Arrays.copyOf(list, list.length * 2);
+                        postings.put(trigram, list);
+                    }
+                    list[++list[0]] = id;
+                }
+                exact.putIfAbsent(normalized, id);
+                ids.add(id);
+            }
+            aliasesByKey.put(key, ids.stream().mapToInt(Integer::intValue).toArray());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String key) {
+        lock.writeLock().lock();
+        try {
+            removeKey(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Best {@code k} distinct keys scoring at least {@code minScore}, best first. */
+    public List<Match> resolve(String text, int k, double minScore) {
+        String normalized = normalize(text);
+        List<Match> matches = new ArrayList<>();
+        if (normalized.isEmpty() || k <= 0) {
+            return matches;
+        }
+        int[] queryTrigrams = trigrams(normalized);
+        lock.readLock().lock();
+        try {
+            Integer exactId = exact.get(normalized);
+            if (exactId != null && !deleted.get(exactId)) {
+                matches.add(new Match(aliasKeys[exactId], aliasNames[exactId], 1.0));
+                if (k == 1) {
+                    return matches;
+                }
+            }
+            int[] shared = new int[aliasCount];
+            BitSet touched = new BitSet(aliasCount);
+            for (int trigram : queryTrigrams) {
+                int[] list = postings.get(trigram);
+                if (list == null) {
+                    continue;
+                }
+                for (int i = 1; i <= list[0]; i++) {
+                    shared[list[i]]++;
+                    touched.set(list[i]);
+                }
+            }
+            Map<String, Match> best = new HashMap<>();
+            if (!matches.isEmpty()) {
+                best.put(matches.get(0).getKey(), matches.get(0));
+            }
+            for (int id = touched.nextSetBit(0); id >= 0; id = touched.nextSetBit(id + 1)) {
+                if (deleted.get(id)) {
+                    continue;
+                }
+                double dice = 2.0 * shared[id] / (queryTrigrams.length + aliasTrigrams[id]);
+                double overlap = (double) shared[id] / Math.min(queryTrigrams.length, aliasTrigrams[id]);
+                double score = Math.min(0.99, (dice + overlap) / 2);
+                Match current = best.get(aliasKeys[id]);
+                if (score >= minScore && (current == null || score > current.getScore())) {
+                    best.put(aliasKeys[id], new Match(aliasKeys[id], aliasNames[id], score));
+                }
+            }
+            PriorityQueue<Match> top = new PriorityQueue<>(Comparator.comparingDouble(Match::getScore));
+            for (Match match : best.values()) {
+                top.add(match);
+                if (top.size() > k) {
+                    top.poll();
+                }
+            }
+            matches.clear();
+            while (!top.isEmpty()) {
+                matches.add(0, top.poll());
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Keys with at least one live name. */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return aliasesByKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Replaced or removed names still held in the trigram postings. */
+    public int getDeleted() {
+        lock.readLock().lock();
+        try {
+            return deleted.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeKey(String key) {
+        int[] ids = aliasesByKey.remove(key);
+        if (ids == null) {
+            return;
+        }
+        for (int id : ids) {
+            deleted.set(id);
+            exact.remove(normalize(aliasNames[id]), id);
+        }
+    }
+
+    /** Distinct trigrams of the name padded with two leading and one trailing space, packed into ints. */
+    private static int[] trigrams(String normalized) {
+        String padded = "  " + normalized + " ";
+        int[] trigrams = new int[padded.length() - 2];
+        int count = 0;
+        outer:
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            int trigram = padded.substring(i, i + 3).hashCode();
+            for (int j = 0; j < count; j++) {
+                if (trigrams[j] == trigram) {
+                    continue outer;
+                }
+            }
+            trigrams[count++] = trigram;
+        }
+        return Arrays.copyOf(trigrams, count);
+    }
+}
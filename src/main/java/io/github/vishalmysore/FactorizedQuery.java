@@ -0,0 +1,187 @@
+package io.github.vishalmysore;
+
+import com.kuzudb.Connection;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Nested alternative to matching several relationships off the same node in one pattern. Instead of
+ * the cross product of every branch (FraudDetection Query 8 returns fraud types x indicators x data
+ * sources per method), each branch is fetched on its own and attached to its anchor node, so the
+ * result grows with the sum of the branch sizes rather than their product.
+ *
+ * <pre>
+ * new FactorizedQuery("DetectionMethod", "name")
+ *         .branch("fraudTypes", "Detects", "FraudType", "name", "confidence")
+ *         .branch("indicators", "Uses", "Indicator", "name")
+ *         .run(conn);
+ * </pre>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class FactorizedQuery {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_]\\w*");
+
+    private String anchor;
+    private String key;
+    private List<String> anchorProperties = new ArrayList<>();
+    private List<Branch> branches = new ArrayList<>();
+    /** Drop anchors that have no edge in one of the branches, as the cross-product query would. */
+    private boolean requireAll;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class Branch {
+        private String name;
+        private String rel;
+        private String target;
+        private String targetKey;
+        private List<String> edgeProperties = new ArrayList<>();
+        private List<String> targetProperties = new ArrayList<>();
+        private boolean incoming;
+    }
+
+    /** One anchor node with the rows of each branch. */
+    @Getter
+    public static class Row {
+        private final Object key;
+        private final Map<String, Object> properties = new LinkedHashMap<>();
+        private final Map<String, List<Map<String, Object>>> branches = new LinkedHashMap<>();
+
+        Row(Object key) {
+            this.key = key;
+        }
+    }
+
+    public FactorizedQuery(String anchor, String key) {
+        this.anchor = anchor;
+        this.key = key;
+    }
+
+    public FactorizedQuery branch(String name, String rel, String target, String targetKey, String... edgeProperties) {
+        Branch branch = new Branch();
+        branch.setName(name);
+        branch.setRel(rel);
+        branch.setTarget(target);
+        branch.setTargetKey(targetKey);
+        branch.setEdgeProperties(new ArrayList<>(List.of(edgeProperties)));
+        branches.add(branch);
+        return this;
+    }
+
+    public FactorizedQuery requireAll(boolean requireAll) {
+        this.requireAll = requireAll;
+        return this;
+    }
+
+    /** One query for the anchors and one per branch; each anchor appears once in the result. */
+    public List<Row> run(Connection conn) {
+        return run(conn, 0);
+    }
+
+    /**
+     * As {@link #run(Connection)}, but only the first {@code maxAnchors} anchors by key (all of them
+     * when not positive) and their edges are read.
+     */
+    public List<Row> run(Connection conn, long maxAnchors) {
+        Map<Object, Row> rows = new LinkedHashMap<>();
+        for (Map<String, Object> anchorRow : QueryResults.toRows(conn.query(anchorQuery(maxAnchors)))) {
+            Row row = new Row(anchorRow.remove("key"));
+            row.properties.putAll(anchorRow);
+            for (Branch branch : branches) {
+                row.branches.put(branch.getName(), new ArrayList<>());
+            }
+            rows.put(row.getKey(), row);
+        }
+        for (Branch branch : branches) {
+            for (Map<String, Object> edge : QueryResults.toRows(conn.query(branchQuery(branch, maxAnchors)))) {
+                Row row = rows.get(edge.remove("anchor_key"));
+                if (row != null) {
+                    row.branches.get(branch.getName()).add(edge);
+                }
+            }
+        }
+        List<Row> result = new ArrayList<>();
+        for (Row row : rows.values()) {
+            if (!requireAll || row.branches.values().stream().noneMatch(List::isEmpty)) {
+                result.add(row);
+            }
+        }
+        return result;
+    }
+
+    String anchorQuery(long maxAnchors) {
+        checkIdentifiers();
+        StringBuilder cypher = new StringBuilder("MATCH (a:").append(anchor).append(")");
+        if (maxAnchors > 0) {
+            cypher.append(" WITH a ORDER BY a.").append(key).append(" LIMIT ").append(maxAnchors);
+        }
+        cypher.append(" RETURN a.").append(key).append(" AS key");
+        for (String property : anchorProperties) {
+            cypher.append(", a.").append(property).append(" AS ").append(property);
+        }
+        return cypher.toString();
+    }
+
+    /** Edges of one branch; with a cap, restricted to the same first anchors as {@link #anchorQuery}. */
+    String branchQuery(Branch branch, long maxAnchors) {
+        StringBuilder cypher = new StringBuilder("MATCH (a:").append(anchor).append(")");
+        if (maxAnchors > 0) {
+            cypher.append(" WITH a ORDER BY a.").append(key).append(" LIMIT ").append(maxAnchors).append(" MATCH (a)");
+        }
+        cypher.append(branch.isIncoming() ? "<-" : "-").append("[r:").append(branch.getRel()).append("]")
+                .append(branch.isIncoming() ? "-" : "->").append("(t:").append(branch.getTarget()).append(")")
+                .append(" RETURN a.").append(key).append(" AS anchor_key, t.").append(branch.getTargetKey())
+                .append(" AS ").append(branch.getTargetKey());
+        for (String property : branch.getTargetProperties()) {
+            cypher.append(", t.").append(property).append(" AS ").append(property);
+        }
+        for (String property : branch.getEdgeProperties()) {
+            cypher.append(", r.").append(property).append(" AS ").append(property);
+        }
+        return cypher.toString();
+    }
+
+    private void checkIdentifiers() {
+        List<String> identifiers = new ArrayList<>(List.of(anchor, key));
+        identifiers.addAll(anchorProperties);
+        for (Branch branch : branches) {
+            identifiers.addAll(List.of(branch.getName(), branch.getRel(), branch.getTarget(), branch.getTargetKey()));
+            identifiers.addAll(branch.getEdgeProperties());
+            identifiers.addAll(branch.getTargetProperties());
+        }
+        for (String identifier : identifiers) {
+            if (identifier == null || !IDENTIFIER.matcher(identifier).matches()) {
+                throw new IllegalArgumentException("Not a valid table or property name: " + identifier);
+            }
+        }
+        Set<String> anchorColumns = new HashSet<>(List.of("key"));
+        for (String property : anchorProperties) {
+            if (!anchorColumns.add(property)) {
+                throw new IllegalArgumentException("Anchor returns " + property + " twice");
+            }
+        }
+        for (Branch branch : branches) {
+            Set<String> columns = new HashSet<>(List.of("anchor_key", branch.getTargetKey()));
+            List<String> properties = new ArrayList<>(branch.getTargetProperties());
+            properties.addAll(branch.getEdgeProperties());
+            for (String property : properties) {
+                if (!columns.add(property)) {
+                    throw new IllegalArgumentException("Branch " + branch.getName() + " returns " + property + " twice");
+                }
+            }
+        }
+    }
+}
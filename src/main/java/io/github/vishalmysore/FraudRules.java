@@ -0,0 +1,214 @@
+package io.github.vishalmysore;
+
+import com.kuzudb.Connection;
+import com.kuzudb.Database;
+import com.kuzudb.QueryResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The fraud graph compiled into a flat rule table. Every indicator gets a bit, every detection method
+ * a mask of the indicators it {@code Uses}, and every {@code Detects} edge a rule (method, fraud type,
+ * confidence). An event is a set of indicator flags; a method fires with strength = fraction of its
+ * indicators present, and a fraud type scores the highest {@code confidence / 100 * strength} over the
+ * methods that detect it.
+ *
+ * <p>Instances are immutable. Scoring works on caller-owned {@code long[]} flags and {@code double[]}
+ * scores and does not allocate, so one compiled table can be shared by any number of threads.
+ */
+public final class FraudRules {
+
+    private final String[] indicators;
+    private final String[] fraudTypes;
+    private final String[] methods;
+    private final Map<String, Integer> indicatorIds = new HashMap<>();
+    private final Map<String, Integer> fraudTypeIds = new HashMap<>();
+    /** Longs per event. */
+    private final int words;
+    /** Method m's indicator mask is {@code masks[m * words .. m * words + words)}. */
+    private final long[] masks;
+    private final int[] indicatorCounts;
+    /** Rules of method m are {@code ruleTypes[ruleStart[m] .. ruleStart[m + 1])}. */
+    private final int[] ruleStart;
+    private final int[] ruleTypes;
+    private final double[] ruleConfidence;
+
+    FraudRules(List<String> indicators, List<String> fraudTypes, List<String> methods,
+                       Map<String, List<String>> uses, Map<String, List<Object[]>> detects) {
+        this.indicators = indicators.toArray(new String[0]);
+        this.fraudTypes = fraudTypes.toArray(new String[0]);
+        this.methods = methods.toArray(new String[0]);
+        for (int i = 0; i < this.indicators.length; i++) {
+            indicatorIds.put(this.indicators[i], i);
+        }
+        for (int i = 0; i < this.fraudTypes.length; i++) {
+            fraudTypeIds.put(this.fraudTypes[i], i);
+        }
+        words = Math.max(1, (this.indicators.length + 63) / 64);
+        masks = new long[this.methods.length * words];
+        indicatorCounts = new int[this.methods.length];
+        ruleStart = new int[this.methods.length + 1];
+        List<Integer> types = new ArrayList<>();
+        List<Double> confidence = new ArrayList<>();
+        for (int m = 0; m < this.methods.length; m++) {
+            for (String indicator : uses.getOrDefault(this.methods[m], List.of())) {
+                int bit = indicatorIds.get(indicator);
+                masks[m * words + bit / 64] |= 1L << (bit % 64);
+            }
+            for (int w = 0; w < words; w++) {
+                indicatorCounts[m] += Long.bitCount(masks[m * words + w]);
+            }
+            ruleStart[m] = types.size();
+            for (Object[] rule : detects.getOrDefault(this.methods[m], List.of())) {
+                types.add(fraudTypeIds.get((String) rule[0]));
+                confidence.add((Double) rule[1]);
+            }
+        }
+        ruleStart[this.methods.length] = types.size();
+        ruleTypes = new int[types.size()];
+        ruleConfidence = new double[types.size()];
+        for (int r = 0; r < ruleTypes.length; r++) {
+            ruleTypes[r] = types.get(r);
+            ruleConfidence[r] = confidence.get(r);
+        }
+    }
+
+    /** Reads indicators, fraud types, methods and their Uses/Detects edges from the fraud graph. */
+    public static FraudRules compile(Connection conn) {
+        List<String> indicators = names(conn, "MATCH (i:Indicator) RETURN i.name ORDER BY i.name");
+        List<String> fraudTypes = names(conn, "MATCH (f:FraudType) RETURN f.name ORDER BY f.name");
+        List<String> methods = names(conn, "MATCH (m:DetectionMethod) RETURN m.name ORDER BY m.name");
+        Map<String, List<String>> uses = new HashMap<>();
+        for (Map<String, Object> row : rows(conn, "MATCH (m:DetectionMethod)-[:Uses]->(i:Indicator) RETURN m.name AS method, i.name AS indicator")) {
+            uses.computeIfAbsent((String) row.get("method"), k -> new ArrayList<>()).add((String) row.get("indicator"));
+        }
+        Map<String, List<Object[]>> detects = new HashMap<>();
+        for (Map<String, Object> row : rows(conn, "MATCH (m:DetectionMethod)-[d:Detects]->(f:FraudType) RETURN m.name AS method, f.name AS type, d.confidence AS confidence")) {
+            Object value = row.get("confidence");
+            double confidence = value == null ? 1.0 : ((Number) value).doubleValue() / 100.0;
+            detects.computeIfAbsent((String) row.get("method"), k -> new ArrayList<>())
+                   .add(new Object[]{row.get("type"), confidence});
+        }
+        return new FraudRules(indicators, fraudTypes, methods, uses, detects);
+    }
+
+    /**
+     * Scores one event. {@code flags[flagsOffset ..]} holds {@link #getWords()} longs of indicator bits;
+     * {@link #getFraudTypes()}-many scores are written to {@code scores[scoresOffset ..]}.
+     */
+    public void score(long[] flags, int flagsOffset, double[] scores, int scoresOffset) {
+        Arrays.fill(scores, scoresOffset, scoresOffset + fraudTypes.length, 0.0);
+        for (int m = 0; m < methods.length; m++) {
+            int total = indicatorCounts[m];
+            if (total == 0) {
+                continue;
+            }
+            int present = 0;
+            int base = m * words;
+            for (int w = 0; w < words; w++) {
+                present += Long.bitCount(flags[flagsOffset + w] & masks[base + w]);
+            }
+            if (present == 0) {
+                continue;
+            }
+            double strength = (double) present / total;
+            for (int r = ruleStart[m]; r < ruleStart[m + 1]; r++) {
+                double score = ruleConfidence[r] * strength;
+                int slot = scoresOffset + ruleTypes[r];
+                if (score > scores[slot]) {
+                    scores[slot] = score;
+                }
+            }
+        }
+    }
+
+    /** Scores {@code count} events laid out back to back in {@code flags}; scores are laid out the same way. */
+    public void scoreBatch(long[] flags, int count, double[] scores) {
+        for (int e = 0; e < count; e++) {
+            score(flags, e * words, scores, e * fraudTypes.length);
+        }
+    }
+
+    /** Sets the bits for the named indicators in {@code flags[offset ..]}. */
+    public void setFlags(Collection<String> indicatorNames, long[] flags, int offset) {
+        for (String name : indicatorNames) {
+            int bit = indicatorId(name);
+            flags[offset + bit / 64] |= 1L << (bit % 64);
+        }
+    }
+
+    public int indicatorId(String name) {
+        Integer id = indicatorIds.get(name);
+        if (id == null) {
+            throw new IllegalArgumentException("Unknown indicator: " + name);
+        }
+        return id;
+    }
+
+    public int getWords() {
+        return words;
+    }
+
+    public List<String> getIndicators() {
+        return List.of(indicators);
+    }
+
+    public List<String> getFraudTypes() {
+        return List.of(fraudTypes);
+    }
+
+    public List<String> getMethods() {
+        return List.of(methods);
+    }
+
+    public int getRuleCount() {
+        return ruleTypes.length;
+    }
+
+    private static List<String> names(Connection conn, String cypher) {
+        List<String> names = new ArrayList<>();
+        for (Map<String, Object> row : rows(conn, cypher)) {
+            names.add((String) row.values().iterator().next());
+        }
+        return names;
+    }
+
+    private static List<Map<String, Object>> rows(Connection conn, String cypher) {
+        return QueryResults.toRows(conn.query(cypher));
+    }
+
+    /** Compiles the fraud graph and scores random events to show the throughput of the rule table. */
+    public static void main(String[] args) {
+        String dbPath = args.length > 0 ? args[0] : "db/fraud_detection.kuzu";
+        int events = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        Database db = new Database(dbPath);
+        Connection conn = new Connection(db);
+        FraudRules rules = compile(conn);
+        System.out.println("Compiled " + rules.getRuleCount() + " rules over " + rules.indicators.length
+                + " indicators, " + rules.methods.length + " methods and " + rules.fraudTypes.length + " fraud types");
+
+        Random random = new Random(42);
+        long[] flags = new long[events * rules.words];
+        for (int e = 0; e < events; e++) {
+            for (int bit = 0; bit < rules.indicators.length; bit++) {
+                if (random.nextInt(4) == 0) {
+                    flags[e * rules.words + bit / 64] |= 1L << (bit % 64);
+                }
+            }
+        }
+        double[] scores = new double[events * rules.fraudTypes.length];
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            rules.scoreBatch(flags, events, scores);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Round %d: %,d events in %.3f s (%,.0f events/s)%n", round + 1, events, seconds, events / seconds);
+        }
+        System.out.println("First event scores: " + Arrays.toString(Arrays.copyOf(scores, rules.fraudTypes.length)));
+    }
+}
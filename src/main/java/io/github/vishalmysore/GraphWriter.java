@@ -0,0 +1,130 @@
+package io.github.vishalmysore;
+
+import com.kuzudb.Connection;
+import com.kuzudb.Database;
+import com.kuzudb.QueryResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Opens a graph read-write outside the server. Builds a database from a load script
+ * ({@code <domain>/load.cypher} on the classpath) and applies updates in transactions, so that
+ * servers can open the finished database read-only, as many times as needed. Live updates into a
+ * graph the server itself holds read-write go through {@code /api/ingest} instead.
+ *
+ * <pre>
+ * java -cp agenticgraph.jar io.github.vishalmysore.GraphWriter db/fraud_detection.kuzu fraud/load.cypher
+ * </pre>
+ */
+public class GraphWriter implements AutoCloseable {
+
+    private final Database db;
+    private final Connection conn;
+
+    public GraphWriter(String dbPath) {
+        this.db = new Database(dbPath);
+        this.conn = new Connection(db);
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: GraphWriter <db path> <load script resource>...");
+            return;
+        }
+        try (GraphWriter writer = new GraphWriter(args[0])) {
+            for (int i = 1; i < args.length; i++) {
+                System.out.println("Running " + args[i] + " against " + args[0]);
+                runScript(writer.conn, args[i], true);
+            }
+        }
+    }
+
+    /** Runs a statement and fails if Kuzu reports an error. */
+    public void execute(String statement) {
+        execute(conn, statement);
+    }
+
+    /** Runs the work in one write transaction, rolled back if it throws. */
+    public <T> T inTransaction(Function<Connection, T> work) {
+        execute("BEGIN TRANSACTION");
+        try {
+            T result = work.apply(conn);
+            execute("COMMIT");
+            return result;
+        } catch (RuntimeException e) {
+            conn.query("ROLLBACK").close();
+            throw e;
+        }
+    }
+
+    public Connection getConnection() {
+        return conn;
+    }
+
+    /**
+     * Runs every statement of a classpath script. With {@code strict} the first failing statement
+     * aborts the load, otherwise failures are reported and the script carries on, which lets the
+     * example programs be re-run against an existing database.
+     */
+    public static void runScript(Connection conn, String resource, boolean strict) {
+        for (String statement : readScript(resource)) {
+            try {
+                execute(conn, statement);
+            } catch (IllegalStateException e) {
+                if (strict) {
+                    throw e;
+                }
+                System.out.println(e.getMessage());
+            }
+        }
+    }
+
+    static void execute(Connection conn, String statement) {
+        try (QueryResult result = conn.query(statement)) {
+            if (!result.isSuccess()) {
+                throw new IllegalStateException("Failed: " + statement + " - " + result.getErrorMessage());
+            }
+        }
+    }
+
+    /** Statements of a classpath script: ;-terminated, blank lines and // comments skipped. */
+    public static List<String> readScript(String resource) {
+        String script;
+        try (InputStream in = GraphWriter.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Load script not found on classpath: " + resource);
+            }
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read " + resource, e);
+        }
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String line : script.split("\\R")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("//")) {
+                continue;
+            }
+            current.append(current.length() == 0 ? "" : " ").append(trimmed);
+            if (trimmed.endsWith(";")) {
+                statements.add(current.substring(0, current.length() - 1));
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) {
+            statements.add(current.toString());
+        }
+        return statements;
+    }
+
+    @Override
+    public void close() {
+        conn.close();
+        db.close();
+    }
+}
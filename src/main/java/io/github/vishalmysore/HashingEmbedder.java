@@ -0,0 +1,52 @@
+package io.github.vishalmysore;
+
+import java.util.Locale;
+
+/**
+ * Embedder that needs no model: words and their character trigrams are hashed into a fixed number of
+ * signed buckets. Texts that share words or word fragments end up close, which is enough to find the
+ * related descriptions in these small graphs; a model-backed {@link Embedder} can replace it.
+ */
+public class HashingEmbedder implements Embedder {
+
+    private static final float TRIGRAM_WEIGHT = 0.5f;
+
+    private final int dimension;
+
+    public HashingEmbedder(int dimension) {
+        if (dimension <= 0) {
+            throw new IllegalArgumentException("Dimension must be positive, was " + dimension);
+        }
+        this.dimension = dimension;
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    @Override
+    public float[] embed(String text) {
+        float[] vector = new float[dimension];
+        if (text == null) {
+            return vector;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            add(vector, word.hashCode(), 1f);
+            String padded = " " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                add(vector, padded.substring(i, i + 3).hashCode() * 31 + 7, TRIGRAM_WEIGHT);
+            }
+        }
+        return vector;
+    }
+
+    private void add(float[] vector, int hash, float weight) {
+        int mixed = hash * 0x9E3779B9;
+        mixed ^= mixed >>> 16;
+        vector[Math.floorMod(mixed, dimension)] += (mixed & 0x40000000) != 0 ? weight : -weight;
+    }
+}
@@ -0,0 +1,349 @@
+package io.github.vishalmysore;
+
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Approximate nearest-neighbour index (HNSW) over string-keyed vectors, scored by cosine similarity.
+ * Vectors are normalized and stored off-heap in one direct buffer; the layered neighbour lists stay
+ * on the heap. Re-adding a key or removing it leaves a tombstone that still routes searches but is
+ * never returned; {@link #getDeleted()} tells the owner when a rebuild would pay off.
+ */
+public class HnswIndex {
+
+    /** A key and its cosine similarity to the query. */
+    @Getter
+    public static class Hit {
+        private final String key;
+        private final double score;
+
+        Hit(String key, double score) {
+            this.key = key;
+            this.score = score;
+        }
+    }
+
+    private final int dimension;
+    private final int m;
+    private final int efConstruction;
+    private final double levelFactor;
+    private final Random random = new Random(42);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private FloatBuffer vectors;
+    /** links[node][level] = {count, neighbour...}. */
+    private int[][][] links = new int[16][][];
+    private String[] keys = new String[16];
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private int size;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    public HnswIndex(int dimension, int m, int efConstruction) {
+        this.dimension = dimension;
+        this.m = m;
+        this.efConstruction = Math.max(efConstruction, m);
+        this.levelFactor = 1 / Math.log(m);
+        this.vectors = allocate(16);
+    }
+
+    /** Adds the vector under the key, replacing any earlier vector for that key. */
+    public void add(String key, float[] vector) {
+        if (vector.length != dimension) {
+            throw new IllegalArgumentException("Expected " + dimension + " dimensions, got " + vector.length);
+        }
+        float[] normalized = normalize(vector);
+        lock.writeLock().lock();
+        try {
+            Integer previous = ids.remove(key);
+            if (previous != null) {
+                deleted.set(previous);
+            }
+            insert(key, normalized);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(String key) {
+        lock.writeLock().lock();
+        try {
+            Integer id = ids.remove(key);
+            if (id == null) {
+                return false;
+            }
+            deleted.set(id);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(String key) {
+        lock.readLock().lock();
+        try {
+            return ids.containsKey(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** The stored (normalized) vector for the key, or null. */
+    public float[] vector(String key) {
+        lock.readLock().lock();
+        try {
+            Integer id = ids.get(key);
+            if (id == null) {
+                return null;
+            }
+            float[] vector = new float[dimension];
+            vectors.get(id * dimension, vector);
+            return vector;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** The {@code k} live keys closest to the query, best first; {@code ef} trades recall for time. */
+    public List<Hit> search(float[] query, int k, int ef) {
+        float[] normalized = normalize(query);
+        lock.readLock().lock();
+        try {
+            List<Hit> hits = new ArrayList<>();
+            if (entryPoint < 0 || k <= 0) {
+                return hits;
+            }
+            int current = entryPoint;
+            for (int level = maxLevel; level > 0; level--) {
+                current = greedy(normalized, current, level);
+            }
+            // Ask for extra candidates so tombstones do not crowd out live results.
+            PriorityQueue<double[]> found = searchLayer(normalized, current, Math.max(ef, k) + Math.min(deleted.cardinality(), k), 0);
+            List<double[]> ordered = new ArrayList<>(found);
+            ordered.sort(Comparator.comparingDouble(c -> c[0]));
+            for (double[] candidate : ordered) {
+                int id = (int) candidate[1];
+                if (!deleted.get(id)) {
+                    hits.add(new Hit(keys[id], 1 - candidate[0]));
+                    if (hits.size() == k) {
+                        break;
+                    }
+                }
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Live keys in the index. */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ids.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Tombstoned nodes still held in the graph. */
+    public int getDeleted() {
+        lock.readLock().lock();
+        try {
+            return deleted.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getDimension() {
+        return dimension;
+    }
+
+    private void insert(String key, float[] vector) {
+        int id = size++;
+        ensureCapacity(size);
+        vectors.put(id * dimension, vector);
+        keys[id] = key;
+        ids.put(key, id);
+
+        int level = (int) Math.floor(-Math.log(1 - random.nextDouble()) * levelFactor);
+        links[id] = new int[level + 1][];
+        for (int l = 0; l <= level; l++) {
+            links[id][l] = new int[maxConnections(l) + 1];
+        }
+        if (entryPoint < 0) {
+            entryPoint = id;
+            maxLevel = level;
+            return;
+        }
+
+        int current = entryPoint;
+        for (int l = maxLevel; l > level; l--) {
+            current = greedy(vector, current, l);
+        }
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            PriorityQueue<double[]> candidates = searchLayer(vector, current, efConstruction, l);
+            List<double[]> closest = new ArrayList<>(candidates);
+            closest.sort(Comparator.comparingDouble(c -> c[0]));
+            int limit = Math.min(m, closest.size());
+            for (int i = 0; i < limit; i++) {
+                int neighbour = (int) closest.get(i)[1];
+                connect(id, neighbour, l);
+                connect(neighbour, id, l);
+            }
+            current = (int) closest.get(0)[1];
+        }
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = id;
+        }
+    }
+
+    /** Adds the link, dropping the farthest neighbour when the list is full. */
+    private void connect(int from, int to, int level) {
+        int[] list = links[from][level];
+        int count = list[0];
+        if (count < list.length - 1) {
+            list[count + 1] = to;
+            list[0] = count + 1;
+            return;
+        }
+        int farthest = -1;
+        double farthestDistance = distance(from, to);
+        for (int i = 1; i <= count; i++) {
+            double d = distance(from, list[i]);
+            if (d > farthestDistance) {
+                farthestDistance = d;
+                farthest = i;
+            }
+        }
+        if (farthest > 0) {
+            list[farthest] = to;
+        }
+    }
+
+    private int greedy(float[] query, int start, int level) {
+        int current = start;
+        double best = distance(query, current);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            int[] list = links[current][level];
+            for (int i = 1; i <= list[0]; i++) {
+                double d = distance(query, list[i]);
+                if (d < best) {
+                    best = d;
+                    current = list[i];
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /** Best-first search of one layer; returns up to {@code ef} {distance, id} pairs, farthest on top. */
+    private PriorityQueue<double[]> searchLayer(float[] query, int start, int ef, int level) {
+        BitSet visited = new BitSet(size);
+        PriorityQueue<double[]> candidates = new PriorityQueue<>(Comparator.comparingDouble(c -> c[0]));
+        PriorityQueue<double[]> results = new PriorityQueue<>(Comparator.comparingDouble((double[] c) -> c[0]).reversed());
+        double[] first = {distance(query, start), start};
+        candidates.add(first);
+        results.add(first);
+        visited.set(start);
+        while (!candidates.isEmpty()) {
+            double[] closest = candidates.poll();
+            if (closest[0] > results.peek()[0] && results.size() >= ef) {
+                break;
+            }
+            int[] list = links[(int) closest[1]][level];
+            for (int i = 1; i <= list[0]; i++) {
+                int neighbour = list[i];
+                if (visited.get(neighbour)) {
+                    continue;
+                }
+                visited.set(neighbour);
+                double d = distance(query, neighbour);
+                if (results.size() < ef || d < results.peek()[0]) {
+                    double[] candidate = {d, neighbour};
+                    candidates.add(candidate);
+                    results.add(candidate);
+                    if (results.size() > ef) {
+                        results.poll();
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private int maxConnections(int level) {
+        return level == 0 ? 2 * m : m;
+    }
+
+    private double distance(float[] query, int id) {
+        int base = id * dimension;
+        double dot = 0;
+        for (int i = 0; i < dimension; i++) {
+            dot += query[i] * vectors.get(base + i);
+        }
+        return 1 - dot;
+    }
+
+    private double distance(int a, int b) {
+        int baseA = a * dimension;
+        int baseB = b * dimension;
+        double dot = 0;
+        for (int i = 0; i < dimension; i++) {
+            dot += vectors.get(baseA + i) * vectors.get(baseB + i);
+        }
+        return 1 - dot;
+    }
+
+    private void ensureCapacity(int nodes) {
+        if (nodes <= keys.length) {
+            return;
+        }
+        int capacity = Math.max(nodes, keys.length * 2);
+        FloatBuffer grown = allocate(capacity);
+        grown.put(0, vectors, 0, keys.length * dimension);
+        vectors = grown;
+        links = Arrays.copyOf(links, capacity);
+        keys = Arrays.copyOf(keys, capacity);
+    }
+
+    private FloatBuffer allocate(int nodes) {
+        return ByteBuffer.allocateDirect(nodes * dimension * Float.BYTES).order(ByteOrder.nativeOrder()).asFloatBuffer();
+    }
+
+    private float[] normalize(float[] vector) {
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        float[] normalized = new float[vector.length];
+        if (norm == 0) {
+            return normalized;
+        }
+        float scale = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < vector.length; i++) {
+            normalized[i] = vector[i] * scale;
+        }
+        return normalized;
+    }
+}
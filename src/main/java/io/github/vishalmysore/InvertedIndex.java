@@ -0,0 +1,286 @@
+package io.github.vishalmysore;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index with BM25 ranking over string-keyed documents. Each term's postings are
+ * one byte array of varint-encoded (document gap, term frequency) pairs; documents get increasing ids,
+ * so adding a document only appends. Replacing or removing a document tombstones its old id, and
+ * {@link #getDeleted()} tells the owner when rebuilding would reclaim the space.
+ */
+public class InvertedIndex {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "the", "to", "with");
+
+    /** A document key and its BM25 score. */
+    @Getter
+    public static class Hit {
+        private final String key;
+        private final double score;
+
+        Hit(String key, double score) {
+            this.key = key;
+            this.score = score;
+        }
+    }
+
+    private final double k1;
+    private final double b;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private byte[][] postings = new byte[64][];
+    private int[] postingLengths = new int[64];
+    private int[] lastDoc = new int[64];
+    /** Live documents containing the term. */
+    private int[] documentFrequency = new int[64];
+
+    private final Map<String, Integer> docIds = new HashMap<>();
+    private String[] docKeys = new String[64];
+    private int[] docLengths = new int[64];
+    /** Distinct terms of each document, to keep document frequencies right on removal. */
+    private int[][] docTerms = new int[64][];
+    private final BitSet deleted = new BitSet();
+    private int docCount;
+    private long liveLength;
+
+    public InvertedIndex() {
+        this(1.2, 0.75);
+    }
+
+    public InvertedIndex(double k1, double b) {
+        this.k1 = k1;
+        this.b = b;
+    }
+
+    /** Lower-cased letter/digit runs without the most common English stop words. */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /** Indexes the text under the key, replacing any earlier text for that key. */
+    public void add(String key, String text) {
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        List<String> tokens = tokenize(text);
+        for (String token : tokens) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        lock.writeLock().lock();
+        try {
+            Integer previous = docIds.remove(key);
+            if (previous != null) {
+                delete(previous);
+            }
+            int doc = docCount++;
+            ensureDocCapacity(docCount);
+            docKeys[doc] = key;
+            docLengths[doc] = tokens.size();
+            docIds.put(key, doc);
+            liveLength += tokens.size();
+            int[] terms = new int[frequencies.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                int term = termId(entry.getKey());
+                append(term, doc, entry.getValue());
+                documentFrequency[term]++;
+                terms[i++] = term;
+            }
+            docTerms[doc] = terms;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(String key) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docIds.remove(key);
+            if (doc == null) {
+                return false;
+            }
+            delete(doc);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** The {@code k} best-scoring live documents for the query, best first. */
+    public List<Hit> search(String query, int k) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        lock.readLock().lock();
+        try {
+            int live = docIds.size();
+            if (live == 0 || k <= 0) {
+                return new ArrayList<>();
+            }
+            double averageLength = Math.max(1.0, (double) liveLength / live);
+            double[] scores = new double[docCount];
+            BitSet matched = new BitSet(docCount);
+            for (String token : terms) {
+                Integer term = termIds.get(token);
+                if (term == null || documentFrequency[term] == 0) {
+                    continue;
+                }
+                double df = documentFrequency[term];
+                double idf = Math.log(1 + (live - df + 0.5) / (df + 0.5));
+                byte[] bytes = postings[term];
+                int[] position = {0};
+                int doc = -1;
+                while (position[0] < postingLengths[term]) {
+                    doc += readVarint(bytes, position);
+                    int tf = readVarint(bytes, position);
+                    if (deleted.get(doc)) {
+                        continue;
+                    }
+                    double norm = k1 * (1 - b + b * docLengths[doc] / averageLength);
+                    scores[doc] += idf * tf * (k1 + 1) / (tf + norm);
+                    matched.set(doc);
+                }
+            }
+            PriorityQueue<Integer> best = new PriorityQueue<>(Comparator.comparingDouble(d -> scores[d]));
+            for (int doc = matched.nextSetBit(0); doc >= 0; doc = matched.nextSetBit(doc + 1)) {
+                best.add(doc);
+                if (best.size() > k) {
+                    best.poll();
+                }
+            }
+            List<Hit> hits = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                int doc = best.poll();
+                hits.add(new Hit(docKeys[doc], scores[doc]));
+            }
+            Collections.reverse(hits);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Live documents. */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Tombstoned documents still held in the postings. */
+    public int getDeleted() {
+        lock.readLock().lock();
+        try {
+            return deleted.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Bytes held by the postings lists. */
+    public long getPostingBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (int term = 0; term < termIds.size(); term++) {
+                bytes += postingLengths[term];
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void delete(int doc) {
+        deleted.set(doc);
+        liveLength -= docLengths[doc];
+        for (int term : docTerms[doc]) {
+            documentFrequency[term]--;
+        }
+        docTerms[doc] = null;
+    }
+
+    private int termId(String token) {
+        Integer id = termIds.get(token);
+        if (id == null) {
+            id = termIds.size();
+            termIds.put(token, id);
+            if (id == postings.length) {
+                int capacity = id * 2;
+                postings = Arrays.copyOf(postings, capacity);
+                postingLengths = Arrays.copyOf(postingLengths, capacity);
+                lastDoc = Arrays.copyOf(lastDoc, capacity);
+                documentFrequency = Arrays.copyOf(documentFrequency, capacity);
+            }
+            postings[id] = new byte[8];
+            lastDoc[id] = -1;
+        }
+        return id;
+    }
+
+    private void append(int term, int doc, int tf) {
+        if (postingLengths[term] + 10 > postings[term].length) {
+            postings[term] = Arrays.copyOf(postings[term], postings[term].length * 2 + 10);
+        }
+        postingLengths[term] = writeVarint(postings[term], postingLengths[term], doc - lastDoc[term]);
+        postingLengths[term] = writeVarint(postings[term], postingLengths[term], tf);
+        lastDoc[term] = doc;
+    }
+
+    private void ensureDocCapacity(int docs) {
+        if (docs > docKeys.length) {
+            int capacity = docKeys.length * 2;
+            docKeys = Arrays.copyOf(docKeys, capacity);
+            docLengths = Arrays.copyOf(docLengths, capacity);
+            docTerms = Arrays.copyOf(docTerms, capacity);
+        }
+    }
+
+    private static int writeVarint(byte[] bytes, int offset, int value) {
+        while ((value & ~0x7F) != 0) {
+            bytes[offset++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[offset++] = (byte) value;
+        return offset;
+    }
+
+    private static int readVarint(byte[] bytes, int[] position) {
+        int value = 0;
+        int shift = 0;
+        byte current;
+        do {
+            current = bytes[position[0]++];
+            value |= (current & 0x7F) << shift;
+            shift += 7;
+        } while (current < 0);
+        return value;
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.vishalmysore;
+
+import com.kuzudb.Connection;
+import com.kuzudb.Database;
+
+import java.util.List;
+import java.util.Map;
+
+/** A shard opened in this process; its single connection runs one statement at a time. */
+public class LocalShard implements Shard {
+
+    private final int id;
+    private final Database db;
+    private final Connection conn;
+
+    public LocalShard(int id, String dbPath) {
+        this.id = id;
+        this.db = new Database(dbPath);
+        this.conn = new Connection(db);
+    }
+
+    @Override
+    public int getId() {
+        return id;
+    }
+
+    @Override
+    public synchronized List<Map<String, Object>> query(String cypher) {
+        return QueryResults.toRows(conn.query(cypher));
+    }
+
+    @Override
+    public void close() {
+        conn.close();
+        db.close();
+    }
+}
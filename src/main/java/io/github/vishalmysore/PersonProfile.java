@@ -0,0 +1,60 @@
+package io.github.vishalmysore;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Everything the person knowledge graph knows about one {@code Person}: skills, employers, places
+ * and achievements, plus the totals {@link VishalMysore} reports in its professional analysis.
+ */
+@Getter
+public class PersonProfile {
+
+    private final String name;
+    private String description;
+    private final List<Facet> skills = new ArrayList<>();
+    private final List<Facet> organizations = new ArrayList<>();
+    private final List<Facet> livesIn = new ArrayList<>();
+    private final List<Facet> bornIn = new ArrayList<>();
+    private final List<Facet> achievements = new ArrayList<>();
+
+    public PersonProfile(String name) {
+        this.name = name;
+    }
+
+    /** One related node: its key, a descriptive attribute and the numeric property of the edge. */
+    @Getter
+    public static class Facet {
+        private final String name;
+        private final String detail;
+        private final long amount;
+
+        public Facet(String name, String detail, long amount) {
+            this.name = name;
+            this.detail = detail;
+            this.amount = amount;
+        }
+    }
+
+    void setDescription(String description) {
+        this.description = description;
+    }
+
+    public int getSkillCount() {
+        return skills.size();
+    }
+
+    public double getAverageProficiency() {
+        return skills.stream().mapToLong(Facet::getAmount).average().orElse(0);
+    }
+
+    public long getYearsOfExperience() {
+        return organizations.stream().mapToLong(Facet::getAmount).sum();
+    }
+
+    public long getTotalAchievements() {
+        return achievements.stream().mapToLong(Facet::getAmount).sum();
+    }
+}
@@ -0,0 +1,87 @@
+package io.github.vishalmysore;
+
+import com.kuzudb.Connection;
+import com.kuzudb.FlatTuple;
+import com.kuzudb.QueryResult;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fetches the complete profile of any number of persons in one query. Each facet is one branch of a
+ * UNION ALL that returns flat (person, facet, name, detail, amount) rows, so N profiles cost one round
+ * trip instead of a query per facet per person.
+ */
+public final class PersonProfileQuery {
+
+    private PersonProfileQuery() {
+    }
+
+    public static Map<String, PersonProfile> fetch(Connection conn, Collection<String> personNames) {
+        Map<String, PersonProfile> profiles = new LinkedHashMap<>();
+        if (personNames.isEmpty()) {
+            return profiles;
+        }
+        try (QueryResult result = conn.query(build(personNames))) {
+            if (!result.isSuccess()) {
+                throw new IllegalStateException("Profile query failed: " + result.getErrorMessage());
+            }
+            while (result.hasNext()) {
+                FlatTuple row = result.getNext();
+                String person = row.getValue(0).getValue().toString();
+                String facet = row.getValue(1).getValue().toString();
+                String name = row.getValue(2).isNull() ? null : row.getValue(2).getValue().toString();
+                String detail = row.getValue(3).isNull() ? null : row.getValue(3).getValue().toString();
+                long amount = row.getValue(4).isNull() ? 0 : Long.parseLong(row.getValue(4).getValue().toString());
+                PersonProfile profile = profiles.computeIfAbsent(person, PersonProfile::new);
+                switch (facet) {
+                    case "person":
+                        profile.setDescription(detail);
+                        break;
+                    case "skill":
+                        profile.getSkills().add(new PersonProfile.Facet(name, detail, amount));
+                        break;
+                    case "organization":
+                        profile.getOrganizations().add(new PersonProfile.Facet(name, detail, amount));
+                        break;
+                    case "lives_in":
+                        profile.getLivesIn().add(new PersonProfile.Facet(name, detail, amount));
+                        break;
+                    case "born_in":
+                        profile.getBornIn().add(new PersonProfile.Facet(name, detail, amount));
+                        break;
+                    case "achievement":
+                        profile.getAchievements().add(new PersonProfile.Facet(name, detail, amount));
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+        return profiles;
+    }
+
+    static String build(Collection<String> personNames) {
+        List<String> literals = new ArrayList<>();
+        for (String name : personNames) {
+            literals.add(CypherLiterals.quote(name));
+        }
+        String persons = "[" + String.join(", ", literals) + "]";
+        String columns = " AS person, %s AS facet, %s AS name, %s AS detail, %s AS amount";
+        return "MATCH (p:Person) WHERE p.person_name IN " + persons
+                + " RETURN p.person_name" + String.format(columns, "'person'", "p.person_name", "p.description", "0")
+                + " UNION ALL MATCH (p:Person)-[hs:HasSkill]->(s:Skill) WHERE p.person_name IN " + persons
+                + " RETURN p.person_name" + String.format(columns, "'skill'", "s.skill_name", "s.category", "hs.proficiency_level")
+                + " UNION ALL MATCH (p:Person)-[wf:WorksFor]->(o:Organization) WHERE p.person_name IN " + persons
+                + " RETURN p.person_name" + String.format(columns, "'organization'", "o.org_name", "o.industry", "wf.years_of_service")
+                + " UNION ALL MATCH (p:Person)-[li:LivesIn]->(loc:Location) WHERE p.person_name IN " + persons
+                + " RETURN p.person_name" + String.format(columns, "'lives_in'", "loc.location_name", "loc.region", "0")
+                + " UNION ALL MATCH (p:Person)-[bi:BornIn]->(loc:Location) WHERE p.person_name IN " + persons
+                + " RETURN p.person_name" + String.format(columns, "'born_in'", "loc.location_name", "loc.region", "0")
+                + " UNION ALL MATCH (p:Person)-[h:Has]->(a:Achievement) WHERE p.person_name IN " + persons
+                + " RETURN p.person_name" + String.format(columns, "'achievement'", "a.achievement_name", "a.description", "h.count");
+    }
+}
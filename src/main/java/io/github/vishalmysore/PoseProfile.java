@@ -0,0 +1,82 @@
+package io.github.vishalmysore;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One {@code Pose} with everything its edges say about it: styles, benefits with intensity, body
+ * parts with engagement level, and pose types. Built by {@link PoseProfileQuery}.
+ */
+@Getter
+public class PoseProfile {
+
+    private final String name;
+    private String sanskritName;
+    private String description;
+    private String targetTime;
+    private long difficulty;
+    private final List<String> styles = new ArrayList<>();
+    private final List<Weighted> benefits = new ArrayList<>();
+    private final List<Weighted> bodyParts = new ArrayList<>();
+    private final List<String> types = new ArrayList<>();
+
+    public PoseProfile(String name) {
+        this.name = name;
+    }
+
+    /** A related node and the weight of the edge to it. */
+    @Getter
+    public static class Weighted {
+        private final String name;
+        private final long weight;
+
+        public Weighted(String name, long weight) {
+            this.name = name;
+            this.weight = weight;
+        }
+    }
+
+    void setPose(String sanskritName, String description, long difficulty) {
+        this.sanskritName = sanskritName;
+        this.description = description;
+        this.difficulty = difficulty;
+    }
+
+    void setTargetTime(String targetTime) {
+        this.targetTime = targetTime;
+    }
+
+    /** Plain sentence form of the profile, for printing and as facts for an LLM prompt. */
+    public String summary() {
+        StringBuilder summary = new StringBuilder(name);
+        if (sanskritName != null) {
+            summary.append(" (").append(sanskritName).append(')');
+        }
+        summary.append(": ").append(description).append(". Difficulty ").append(difficulty);
+        if (targetTime != null) {
+            summary.append(", hold for ").append(targetTime);
+        }
+        summary.append('.');
+        append(summary, "Styles", styles);
+        List<String> weighted = new ArrayList<>();
+        for (Weighted benefit : benefits) {
+            weighted.add(benefit.getName() + " (intensity " + benefit.getWeight() + ")");
+        }
+        append(summary, "Benefits", weighted);
+        weighted = new ArrayList<>();
+        for (Weighted bodyPart : bodyParts) {
+            weighted.add(bodyPart.getName() + " (engagement " + bodyPart.getWeight() + ")");
+        }
+        append(summary, "Body parts", weighted);
+        append(summary, "Types", types);
+        return summary.toString();
+    }
+
+    private static void append(StringBuilder summary, String label, List<String> values) {
+        if (!values.isEmpty()) {
+            summary.append(' ').append(label).append(": ").append(String.join(", ", values)).append('.');
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package io.github.vishalmysore;
+
+import com.kuzudb.Connection;
+import com.kuzudb.FlatTuple;
+import com.kuzudb.QueryResult;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds pose profiles with one UNION ALL query: the pose row plus one branch per edge table, each
+ * returning flat (pose, facet, name, detail, amount) rows. Unlike matching all four edge tables in one
+ * pattern (YogaKnowledge Query 5), the row count is the sum of the edges rather than their product.
+ */
+public final class PoseProfileQuery {
+
+    /** Node tables whose rows are copied into profiles, with the rel table leading to them from Pose. */
+    public static final Map<String, String> EMBEDDED = Map.of(
+            "YogaStyle", "BelongsToStyle", "Benefit", "TargetsBenefit", "BodyPart", "EngagesBodyPart", "PoseType", "HasType");
+
+    private PoseProfileQuery() {
+    }
+
+    /** Names of the poses whose profiles embed one of the given rows of an {@link #EMBEDDED} table. */
+    public static Set<String> posesUsing(Connection conn, String table, Collection<String> keys) {
+        Set<String> poses = new LinkedHashSet<>();
+        if (keys.isEmpty()) {
+            return poses;
+        }
+        for (Map<String, Object> row : QueryResults.toRows(conn.query(usingQuery(table, keys)))) {
+            poses.add(String.valueOf(row.get("pose")));
+        }
+        return poses;
+    }
+
+    static String usingQuery(String table, Collection<String> keys) {
+        String rel = EMBEDDED.get(table);
+        if (rel == null) {
+            throw new IllegalArgumentException(table + " is not embedded in pose profiles");
+        }
+        List<String> literals = new ArrayList<>();
+        for (String key : keys) {
+            literals.add(CypherLiterals.quote(key));
+        }
+        return "MATCH (p:Pose)-[:" + rel + "]->(x:" + table + ") WHERE x.name IN [" + String.join(", ", literals)
+                + "] RETURN DISTINCT p.name AS pose";
+    }
+
+    /** Profiles of the named poses, or of every pose when {@code poseNames} is null. */
+    public static Map<String, PoseProfile> fetch(Connection conn, Collection<String> poseNames) {
+        Map<String, PoseProfile> profiles = new LinkedHashMap<>();
+        if (poseNames != null && poseNames.isEmpty()) {
+            return profiles;
+        }
+        try (QueryResult result = conn.query(build(poseNames))) {
+            if (!result.isSuccess()) {
+                throw new IllegalStateException("Pose profile query failed: " + result.getErrorMessage());
+            }
+            // Styles, benefits and body parts repeat across poses; share one String per name.
+            Map<String, String> names = new HashMap<>();
+            while (result.hasNext()) {
+                FlatTuple row = result.getNext();
+                String pose = row.getValue(0).getValue().toString();
+                String facet = row.getValue(1).getValue().toString();
+                String name = row.getValue(2).isNull() ? null : names.computeIfAbsent(row.getValue(2).getValue().toString(), n -> n);
+                String detail = row.getValue(3).isNull() ? null : row.getValue(3).getValue().toString();
+                long amount = row.getValue(4).isNull() ? 0 : Long.parseLong(row.getValue(4).getValue().toString());
+                PoseProfile profile = profiles.computeIfAbsent(pose, PoseProfile::new);
+                switch (facet) {
+                    case "pose":
+                        profile.setPose(name, detail, amount);
+                        break;
+                    case "target_time":
+                        profile.setTargetTime(detail);
+                        break;
+                    case "style":
+                        profile.getStyles().add(name);
+                        break;
+                    case "benefit":
+                        profile.getBenefits().add(new PoseProfile.Weighted(name, amount));
+                        break;
+                    case "body_part":
+                        profile.getBodyParts().add(new PoseProfile.Weighted(name, amount));
+                        break;
+                    case "type":
+                        profile.getTypes().add(name);
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+        for (PoseProfile profile : profiles.values()) {
+            profile.getBenefits().sort(Comparator.comparingLong(PoseProfile.Weighted::getWeight).reversed());
+            profile.getBodyParts().sort(Comparator.comparingLong(PoseProfile.Weighted::getWeight).reversed());
+        }
+        return profiles;
+    }
+
+    static String build(Collection<String> poseNames) {
+        String filter = "";
+        if (poseNames != null) {
+            List<String> literals = new ArrayList<>();
+            for (String name : poseNames) {
+                literals.add(CypherLiterals.quote(name));
+            }
+            filter = " WHERE p.name IN [" + String.join(", ", literals) + "]";
+        }
+        String columns = " AS pose, %s AS facet, %s AS name, %s AS detail, %s AS amount";
+        return "MATCH (p:Pose)" + filter
+                + " RETURN p.name" + String.format(columns, "'pose'", "p.sanskrit_name", "p.description", "p.difficulty")
+                + " UNION ALL MATCH (p:Pose)" + filter
+                + " RETURN p.name" + String.format(columns, "'target_time'", "p.name", "p.target_time", "0")
+                + " UNION ALL MATCH (p:Pose)-[:BelongsToStyle]->(s:YogaStyle)" + filter
+                + " RETURN p.name" + String.format(columns, "'style'", "s.name", "s.origin", "0")
+                + " UNION ALL MATCH (p:Pose)-[t:TargetsBenefit]->(b:Benefit)" + filter
+                + " RETURN p.name" + String.format(columns, "'benefit'", "b.name", "b.category", "t.intensity")
+                + " UNION ALL MATCH (p:Pose)-[e:EngagesBodyPart]->(bp:BodyPart)" + filter
+                + " RETURN p.name" + String.format(columns, "'body_part'", "bp.name", "bp.description", "e.engagement_level")
+                + " UNION ALL MATCH (p:Pose)-[:HasType]->(pt:PoseType)" + filter
+                + " RETURN p.name" + String.format(columns, "'type'", "pt.name", "pt.description", "0");
+    }
+}
@@ -0,0 +1,209 @@
+package io.github.vishalmysore;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Recommends poses for weighted goals over benefits and body parts. {@code TargetsBenefit.intensity}
+ * and {@code EngagesBodyPart.engagement_level} are compiled into two sparse column-major matrices (for
+ * every benefit or body part, the poses it touches and the edge weights), so a request only visits the
+ * poses of the requested goals. A pose scores the goal-weighted sum of its edge weights; poses above
+ * the difficulty limit are skipped and the best {@code k} are kept in a bounded heap.
+ *
+ * <p>Instances are immutable and safe to share between threads.
+ */
+public final class PoseRecommender {
+
+    /** A recommended pose and its score. */
+    @Getter
+    public static class Recommendation {
+        private final String pose;
+        private final long difficulty;
+        private final double score;
+
+        Recommendation(String pose, long difficulty, double score) {
+            this.pose = pose;
+            this.difficulty = difficulty;
+            this.score = score;
+        }
+    }
+
+    private final String[] poses;
+    private final long[] difficulty;
+    private final Column benefits;
+    private final Column bodyParts;
+
+    /** Sparse matrix stored by column: rows of column c are {@code rows[start[c] .. start[c + 1])}. */
+    private static final class Column {
+        final Map<String, Integer> ids = new HashMap<>();
+        int[] start;
+        int[] rows;
+        float[] weights;
+
+        Column(List<String> names, Map<String, List<long[]>> entries) {
+            start = new int[names.size() + 1];
+            int total = 0;
+            for (int c = 0; c < names.size(); c++) {
+                ids.put(names.get(c).toLowerCase(Locale.ROOT), c);
+                total += entries.get(names.get(c)).size();
+            }
+            rows = new int[total];
+            weights = new float[total];
+            int next = 0;
+            for (int c = 0; c < names.size(); c++) {
+                start[c] = next;
+                for (long[] entry : entries.get(names.get(c))) {
+                    rows[next] = (int) entry[0];
+                    weights[next] = entry[1];
+                    next++;
+                }
+            }
+            start[names.size()] = next;
+        }
+
+        int id(String name) {
+            Integer id = ids.get(name.toLowerCase(Locale.ROOT));
+            if (id == null) {
+                throw new IllegalArgumentException("Unknown goal: " + name);
+            }
+            return id;
+        }
+    }
+
+    private PoseRecommender(String[] poses, long[] difficulty, Column benefits, Column bodyParts) {
+        this.poses = poses;
+        this.difficulty = difficulty;
+        this.benefits = benefits;
+        this.bodyParts = bodyParts;
+    }
+
+    public static PoseRecommender compile(Collection<PoseProfile> profiles) {
+        List<PoseProfile> snapshot = new ArrayList<>(profiles);
+        String[] poses = new String[snapshot.size()];
+        long[] difficulty = new long[snapshot.size()];
+        List<String> benefitNames = new ArrayList<>();
+        List<String> bodyPartNames = new ArrayList<>();
+        Map<String, List<long[]>> benefitEntries = new HashMap<>();
+        Map<String, List<long[]>> bodyPartEntries = new HashMap<>();
+        int p = 0;
+        for (PoseProfile profile : snapshot) {
+            poses[p] = profile.getName();
+            difficulty[p] = profile.getDifficulty();
+            for (PoseProfile.Weighted benefit : profile.getBenefits()) {
+                add(benefitNames, benefitEntries, benefit, p);
+            }
+            for (PoseProfile.Weighted bodyPart : profile.getBodyParts()) {
+                add(bodyPartNames, bodyPartEntries, bodyPart, p);
+            }
+            p++;
+        }
+        return new PoseRecommender(poses, difficulty,
+                new Column(benefitNames, benefitEntries), new Column(bodyPartNames, bodyPartEntries));
+    }
+
+    private static void add(List<String> names, Map<String, List<long[]>> entries, PoseProfile.Weighted edge, int pose) {
+        List<long[]> column = entries.get(edge.getName());
+        if (column == null) {
+            column = new ArrayList<>();
+            entries.put(edge.getName(), column);
+            names.add(edge.getName());
+        }
+        column.add(new long[]{pose, edge.getWeight()});
+    }
+
+    /**
+     * The best {@code k} poses no harder than {@code maxDifficulty} for the weighted goals, best first.
+     * Goal names are matched case-insensitively; unknown names are rejected.
+     */
+    public List<Recommendation> recommend(Map<String, Double> benefitGoals, Map<String, Double> bodyPartGoals,
+                                          long maxDifficulty, int k) {
+        double[] scores = new double[poses.length];
+        boolean[] touched = new boolean[poses.length];
+        accumulate(benefits, benefitGoals, scores, touched);
+        accumulate(bodyParts, bodyPartGoals, scores, touched);
+
+        // Min-heap of pose ids on score; the root is the weakest of the current best k.
+        int[] heap = new int[Math.max(0, Math.min(k, poses.length))];
+        int size = 0;
+        for (int pose = 0; pose < poses.length && heap.length > 0; pose++) {
+            if (!touched[pose] || difficulty[pose] > maxDifficulty) {
+                continue;
+            }
+            if (size < heap.length) {
+                heap[size] = pose;
+                siftUp(heap, size++, scores);
+            } else if (scores[pose] > scores[heap[0]]) {
+                heap[0] = pose;
+                siftDown(heap, size, scores);
+            }
+        }
+        Recommendation[] ordered = new Recommendation[size];
+        while (size > 0) {
+            int pose = heap[0];
+            ordered[--size] = new Recommendation(poses[pose], difficulty[pose], scores[pose]);
+            heap[0] = heap[size];
+            siftDown(heap, size, scores);
+        }
+        return List.of(ordered);
+    }
+
+    public int getPoseCount() {
+        return poses.length;
+    }
+
+    private static void accumulate(Column column, Map<String, Double> goals, double[] scores, boolean[] touched) {
+        if (goals == null) {
+            return;
+        }
+        for (Map.Entry<String, Double> goal : goals.entrySet()) {
+            int c = column.id(goal.getKey());
+            double weight = goal.getValue();
+            for (int i = column.start[c]; i < column.start[c + 1]; i++) {
+                scores[column.rows[i]] += weight * column.weights[i];
+                touched[column.rows[i]] = true;
+            }
+        }
+    }
+
+    private static void siftUp(int[] heap, int index, double[] scores) {
+        int pose = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (scores[heap[parent]] <= scores[pose]) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = pose;
+    }
+
+    private static void siftDown(int[] heap, int size, double[] scores) {
+        if (size == 0) {
+            return;
+        }
+        int index = 0;
+        int pose = heap[0];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && scores[heap[child + 1]] < scores[heap[child]]) {
+                child++;
+            }
+            if (scores[heap[child]] >= scores[pose]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = pose;
+    }
+}
@@ -0,0 +1,130 @@
+package io.github.vishalmysore;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kuzudb.Connection;
+import com.kuzudb.PreparedStatement;
+import com.kuzudb.QueryResult;
+import com.kuzudb.Value;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A graph's query suite, declared in {@code <domain>/queries.json} on the classpath: named Cypher
+ * queries with their parameters and the columns they must return. The example programs print their
+ * pack; {@link QueryPackRunner} times every pack and compares the results with stored baselines.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class QueryPack {
+
+    private String graph;
+    private String load;
+    private List<Query> queries = new ArrayList<>();
+
+    public static QueryPack load(String resource) {
+        try (InputStream in = QueryPack.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Query pack not found on classpath: " + resource);
+            }
+            return new ObjectMapper().readValue(in, QueryPack.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read query pack " + resource, e);
+        }
+    }
+
+    public Query query(String name) {
+        for (Query query : queries) {
+            if (query.getName().equals(name)) {
+                return query;
+            }
+        }
+        throw new IllegalArgumentException("No query " + name + " in the " + graph + " pack");
+    }
+
+    /** Prints every query of the pack. */
+    public void print(Connection conn) {
+        print(conn, queries.get(0).getName(), queries.get(queries.size() - 1).getName());
+    }
+
+    /** Prints the queries from {@code first} to {@code last}, in pack order, each under its title. */
+    public void print(Connection conn, String first, String last) {
+        int from = queries.indexOf(query(first));
+        int to = queries.indexOf(query(last));
+        for (Query query : queries.subList(from, to + 1)) {
+            System.out.println("\n=== " + query.getTitle() + " ===");
+            try (QueryResult result = query.run(conn)) {
+                while (result.hasNext()) {
+                    System.out.println(result.getNext());
+                }
+            }
+        }
+    }
+
+    /** One named query; {@code $name} placeholders in the Cypher are bound from {@code parameters}. */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class Query {
+        private String name;
+        private String title;
+        private String cypher;
+        private Map<String, Object> parameters = new LinkedHashMap<>();
+        private List<String> expectedColumns = new ArrayList<>();
+
+        /**
+         * Runs the query, prepared when it has parameters, and fails if it errors or returns other
+         * columns. The caller closes the result.
+         */
+        public QueryResult run(Connection conn) {
+            QueryResult result;
+            if (parameters.isEmpty()) {
+                result = conn.query(cypher);
+            } else {
+                PreparedStatement statement = conn.prepare(cypher);
+                if (!statement.isSuccess()) {
+                    throw new IllegalStateException(name + ": " + statement.getErrorMessage());
+                }
+                Map<String, Value> values = new LinkedHashMap<>();
+                parameters.forEach((key, value) -> values.put(key, toValue(value)));
+                result = conn.execute(statement, values);
+            }
+            String error = null;
+            if (!result.isSuccess()) {
+                error = result.getErrorMessage();
+            } else if (!expectedColumns.isEmpty()) {
+                List<String> columns = QueryResults.columnNames(result);
+                if (!columns.equals(expectedColumns)) {
+                    error = "expected columns " + expectedColumns + " but got " + columns;
+                }
+            }
+            if (error != null) {
+                result.close();
+                throw new IllegalStateException(name + ": " + error);
+            }
+            return result;
+        }
+
+        /** JSON numbers bind as INT64 or DOUBLE, the types the load scripts use. */
+        private static Value toValue(Object value) {
+            if (value instanceof Integer || value instanceof Long) {
+                return new Value(((Number) value).longValue());
+            }
+            if (value instanceof Number) {
+                return new Value(((Number) value).doubleValue());
+            }
+            if (value instanceof Boolean) {
+                return new Value((Boolean) value);
+            }
+            return new Value(String.valueOf(value));
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package io.github.vishalmysore;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kuzudb.Connection;
+import com.kuzudb.Database;
+import com.kuzudb.QueryResult;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs the query packs of several graphs at once, each graph on its own database and connection, and
+ * compares every query with the baseline stored in {@code <baselines>/<graph>.json}: same columns,
+ * same rows (compared as a sorted list, since ties under ORDER BY have no fixed order) and a median
+ * time no more than {@code --slower} times the baseline. A missing database is built from the pack's
+ * load script first, and each database gets a {@code --buffer-pool-mb} pool so several fit side by
+ * side. {@code --update} writes the current results as the new baselines instead; the process exits
+ * with 1 when any query fails, regresses or has no baseline, so it can gate a build. Baselines are not
+ * committed with the packs, since they depend on the Kuzu version and machine; a build that gates on
+ * the runner first records them with {@code --update} on a known-good commit.
+ *
+ * <pre>
+ * java -cp agenticgraph.jar io.github.vishalmysore.QueryPackRunner --graphs=fraud=db/fraud_detection.kuzu,cycle=db/cycle_detection.kuzu --repeat=10
+ * </pre>
+ */
+public class QueryPackRunner {
+
+    private static final String DEFAULT_GRAPHS = "yoga=db/yoga.kuzu,fraud=db/fraud_detection.kuzu,cycle=db/cycle_detection.kuzu,"
+            + "migration=db/bird_migration.kuzu,vishal=db/vishal_mysore.kuzu";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Path baselines;
+    private final boolean update;
+    private final int repeat;
+    private final double slower;
+    private final double minMillis;
+    private final long bufferPoolBytes;
+
+    QueryPackRunner(Map<String, String> options) {
+        this.baselines = Path.of(options.getOrDefault("baselines", "baselines"));
+        this.update = options.containsKey("update");
+        this.repeat = Integer.parseInt(options.getOrDefault("repeat", "5"));
+        this.slower = Double.parseDouble(options.getOrDefault("slower", "2.0"));
+        this.minMillis = Double.parseDouble(options.getOrDefault("min-ms", "5"));
+        this.bufferPoolBytes = Long.parseLong(options.getOrDefault("buffer-pool-mb", "256")) * 1024 * 1024;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = options(args);
+        Map<String, String> graphs = new LinkedHashMap<>();
+        for (String entry : options.getOrDefault("graphs", DEFAULT_GRAPHS).split(",")) {
+            String[] parts = entry.trim().split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Graphs look like name=path, got " + entry);
+            }
+            graphs.put(parts[0].trim(), parts[1].trim());
+        }
+        QueryPackRunner runner = new QueryPackRunner(options);
+        int threads = Integer.parseInt(options.getOrDefault("threads", String.valueOf(graphs.size())));
+        long start = System.nanoTime();
+        List<Outcome> outcomes = runner.runAll(graphs, threads);
+        double wallMillis = (System.nanoTime() - start) / 1e6;
+        String report = report(outcomes, wallMillis);
+        System.out.println(report);
+        if (options.containsKey("report")) {
+            Files.writeString(Path.of(options.get("report")), report, StandardCharsets.UTF_8);
+        }
+        boolean failed = outcomes.stream().anyMatch(Outcome::isFailed);
+        System.exit(failed && !runner.update ? 1 : 0);
+    }
+
+    /** Command-line options of the form {@code --name=value}; a bare {@code --name} is {@code true}. */
+    static Map<String, String> options(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Options look like --name=value, got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(eq < 0 ? arg.substring(2) : arg.substring(2, eq), eq < 0 ? "true" : arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    /** Runs every graph's pack on a pool of {@code threads}; outcomes come back in graph order. */
+    public List<Outcome> runAll(Map<String, String> graphs, int threads) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads), r -> new Thread(r, "query-pack"));
+        try {
+            List<Future<List<Outcome>>> futures = new ArrayList<>();
+            graphs.forEach((graph, path) -> futures.add(executor.submit(() -> runGraph(graph, path))));
+            List<Outcome> outcomes = new ArrayList<>();
+            for (Future<List<Outcome>> future : futures) {
+                try {
+                    outcomes.addAll(future.get());
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+                }
+            }
+            return outcomes;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /** Runs one graph's pack {@code repeat} times after a warm-up pass and diffs it with its baseline. */
+    List<Outcome> runGraph(String graph, String path) throws IOException {
+        QueryPack pack = QueryPack.load(graph + "/queries.json");
+        if (!Files.exists(Path.of(path))) {
+            try (Database db = new Database(path); Connection conn = new Connection(db)) {
+                GraphWriter.runScript(conn, pack.getLoad(), true);
+            }
+        }
+        Baseline baseline = readBaseline(graph);
+        List<Outcome> outcomes = new ArrayList<>();
+        try (Database db = new Database(path, bufferPoolBytes, true, true, 0); Connection conn = new Connection(db)) {
+            for (QueryPack.Query query : pack.getQueries()) {
+                Outcome outcome = new Outcome(graph, query.getName());
+                try {
+                    QueryResult result = query.run(conn);
+                    List<String> columns = QueryResults.columnNames(result);
+                    List<Map<String, Object>> rows = QueryResults.toRows(result);
+                    double[] millis = new double[repeat];
+                    for (int i = 0; i < repeat; i++) {
+                        long start = System.nanoTime();
+                        QueryResults.toRows(query.run(conn));
+                        millis[i] = (System.nanoTime() - start) / 1e6;
+                    }
+                    Arrays.sort(millis);
+                    outcome.millis = repeat == 0 ? 0 : millis[repeat / 2];
+                    outcome.columns = columns;
+                    outcome.rows = canonical(rows);
+                } catch (RuntimeException e) {
+                    outcome.error = e.getMessage();
+                }
+                outcome.compare(baseline.getQueries().get(query.getName()), slower, minMillis, update);
+                outcomes.add(outcome);
+            }
+        }
+        if (update) {
+            writeBaseline(graph, outcomes);
+        }
+        return outcomes;
+    }
+
+    /** Rows as sorted {@code a | b | c} lines, so results can be compared whatever order they came in. */
+    static List<String> canonical(List<Map<String, Object>> rows) {
+        List<String> lines = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            List<String> cells = new ArrayList<>();
+            for (Object value : row.values()) {
+                cells.add(String.valueOf(value));
+            }
+            lines.add(String.join(" | ", cells));
+        }
+        Collections.sort(lines);
+        return lines;
+    }
+
+    private Baseline readBaseline(String graph) throws IOException {
+        Path file = baselines.resolve(graph + ".json");
+        return Files.exists(file) ? mapper.readValue(file.toFile(), Baseline.class) : new Baseline();
+    }
+
+    private void writeBaseline(String graph, List<Outcome> outcomes) throws IOException {
+        Baseline baseline = new Baseline();
+        for (Outcome outcome : outcomes) {
+            if (outcome.error == null) {
+                baseline.getQueries().put(outcome.query, new BaselineQuery(outcome.columns, outcome.rows, outcome.millis));
+            }
+        }
+        Files.createDirectories(baselines);
+        mapper.writerWithDefaultPrettyPrinter().writeValue(baselines.resolve(graph + ".json").toFile(), baseline);
+    }
+
+    static String report(List<Outcome> outcomes, double wallMillis) {
+        StringBuilder out = new StringBuilder();
+        out.append("| graph | query | rows | median ms | baseline ms | status |\n");
+        out.append("|---|---|---:|---:|---:|---|\n");
+        for (Outcome o : outcomes) {
+            out.append(String.format("| %s | %s | %s | %.2f | %s | %s |%n", o.graph, o.query,
+                    o.rows == null ? "-" : String.valueOf(o.rows.size()), o.millis,
+                    o.baselineMillis < 0 ? "-" : String.format("%.2f", o.baselineMillis), o.status));
+        }
+        long failed = outcomes.stream().filter(Outcome::isFailed).count();
+        out.append(String.format("%n%d queries, %d failed or regressed, %.0f ms wall%n", outcomes.size(), failed, wallMillis));
+        return out.toString();
+    }
+
+    /** What one query did in this run compared with its baseline. */
+    @Getter
+    public static class Outcome {
+        private final String graph;
+        private final String query;
+        private List<String> columns;
+        private List<String> rows;
+        private double millis;
+        private double baselineMillis = -1;
+        private String error;
+        private String status;
+        private boolean failed;
+
+        Outcome(String graph, String query) {
+            this.graph = graph;
+            this.query = query;
+        }
+
+        void compare(BaselineQuery baseline, double slower, double minMillis, boolean update) {
+            if (baseline != null) {
+                baselineMillis = baseline.getMillis();
+            }
+            if (error != null) {
+                fail("error: " + error);
+            } else if (baseline == null && update) {
+                status = "new";
+            } else if (baseline == null) {
+                fail("no baseline, record one with --update");
+            } else if (!Objects.equals(columns, baseline.getColumns())) {
+                fail("columns " + baseline.getColumns() + " -> " + columns);
+            } else if (!rows.equals(baseline.getRows())) {
+                fail("rows changed: " + firstDifference(baseline.getRows(), rows));
+            } else if (millis > baselineMillis * slower && millis - baselineMillis >= minMillis) {
+                fail(String.format("slower: %.1fx", millis / baselineMillis));
+            } else {
+                status = "ok";
+            }
+        }
+
+        private void fail(String status) {
+            this.status = status;
+            this.failed = true;
+        }
+
+        private static String firstDifference(List<String> expected, List<String> actual) {
+            List<String> missing = new ArrayList<>(expected);
+            missing.removeAll(actual);
+            List<String> extra = new ArrayList<>(actual);
+            extra.removeAll(expected);
+            String difference = expected.size() + " -> " + actual.size() + " rows";
+            if (!missing.isEmpty()) {
+                difference += ", missing [" + missing.get(0) + "]";
+            }
+            if (!extra.isEmpty()) {
+                difference += ", new [" + extra.get(0) + "]";
+            }
+            return difference;
+        }
+    }
+
+    /** Stored results of one graph's pack, keyed by query name. */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class Baseline {
+        private Map<String, BaselineQuery> queries = new LinkedHashMap<>();
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class BaselineQuery {
+        private List<String> columns;
+        private List<String> rows;
+        private double millis;
+
+        BaselineQuery(List<String> columns, List<String> rows, double millis) {
+            this.columns = columns;
+            this.rows = rows;
+            this.millis = millis;
+        }
+    }
+}
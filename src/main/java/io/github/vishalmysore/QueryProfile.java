@@ -0,0 +1,157 @@
+package io.github.vishalmysore;
+
+import com.kuzudb.Connection;
+import com.kuzudb.QueryResult;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Operator timings and cardinalities of one query, taken from Kuzu's {@code PROFILE} output. Kuzu
+ * prints the plan as a tree of text boxes; each box becomes an {@link Operator}, listed from the
+ * result collector down to the scans. The raw plan is kept as well in case a Kuzu version prints
+ * something the parser does not recognise.
+ */
+public class QueryProfile {
+
+    private static final Pattern CELL = Pattern.compile("│([^│]*)│");
+    private static final Pattern TUPLES = Pattern.compile("(?i)(?:tuples|output)[^:]*:\\s*(\\d+)");
+    private static final Pattern TIME = Pattern.compile("(?i)time[^:]*:\\s*([\\d.]+)");
+    private static final Pattern SEPARATOR = Pattern.compile("[-─\\s]*");
+
+    private final String plan;
+    private final List<Operator> operators;
+
+    public QueryProfile(String plan, List<Operator> operators) {
+        this.plan = plan;
+        this.operators = operators;
+    }
+
+    /** Runs the query under {@code PROFILE}; its rows are not returned, only the profiled plan. */
+    public static QueryProfile profile(Connection conn, String cypher) {
+        StringBuilder plan = new StringBuilder();
+        try (QueryResult result = conn.query("PROFILE " + cypher)) {
+            if (!result.isSuccess()) {
+                throw new IllegalStateException("PROFILE failed: " + result.getErrorMessage());
+            }
+            while (result.hasNext()) {
+                Object text = result.getNext().getValue(0).getValue();
+                plan.append(text).append('\n');
+            }
+        }
+        return parse(plan.toString());
+    }
+
+    public static QueryProfile parse(String plan) {
+        List<Operator> operators = new ArrayList<>();
+        Map<Integer, List<String>> open = new HashMap<>();
+        List<List<String>> boxes = new ArrayList<>();
+        boolean inTitle = plan.contains("Physical Plan");
+        for (String line : plan.split("\\R")) {
+            if (inTitle) {
+                inTitle = !line.trim().startsWith("└");
+                continue;
+            }
+            for (int i = line.indexOf('┌'); i >= 0; i = line.indexOf('┌', i + 1)) {
+                List<String> box = new ArrayList<>();
+                open.put(i, box);
+                boxes.add(box);
+            }
+            for (int i = line.indexOf('└'); i >= 0; i = line.indexOf('└', i + 1)) {
+                open.remove(i);
+            }
+            Matcher cell = CELL.matcher(line);
+            while (cell.find()) {
+                List<String> box = open.get(cell.start());
+                String text = cell.group(1).trim();
+                if (box != null && !SEPARATOR.matcher(text).matches()) {
+                    box.add(text);
+                }
+            }
+        }
+        for (List<String> box : boxes) {
+            if (box.isEmpty()) {
+                continue;
+            }
+            long tuples = -1;
+            double millis = -1;
+            List<String> details = new ArrayList<>();
+            for (String text : box.subList(1, box.size())) {
+                Matcher t = TUPLES.matcher(text);
+                Matcher m = TIME.matcher(text);
+                if (t.find()) {
+                    tuples = Long.parseLong(t.group(1));
+                } else if (m.find()) {
+                    millis = Double.parseDouble(m.group(1));
+                } else {
+                    details.add(text);
+                }
+            }
+            operators.add(new Operator(box.get(0), String.join(" ", details), tuples, millis));
+        }
+        return new QueryProfile(plan, operators);
+    }
+
+    public String getPlan() {
+        return plan;
+    }
+
+    public List<Operator> getOperators() {
+        return operators;
+    }
+
+    /** Sum of the operator times, which is what Kuzu spent executing. */
+    public double getExecutionMillis() {
+        double total = 0;
+        for (Operator operator : operators) {
+            total += Math.max(0, operator.getMillis());
+        }
+        return total;
+    }
+
+    /** The operator that took longest, or null when the plan had no timings. */
+    public Operator getHottest() {
+        Operator hottest = null;
+        for (Operator operator : operators) {
+            if (operator.getMillis() >= 0 && (hottest == null || operator.getMillis() > hottest.getMillis())) {
+                hottest = operator;
+            }
+        }
+        return hottest;
+    }
+
+    /** One plan operator; -1 where the plan gave no count or time. */
+    public static class Operator {
+        private final String name;
+        private final String details;
+        private final long tuples;
+        private final double millis;
+
+        public Operator(String name, String details, long tuples, double millis) {
+            this.name = name;
+            this.details = details;
+            this.tuples = tuples;
+            this.millis = millis;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getDetails() {
+            return details;
+        }
+
+        public long getTuples() {
+            return tuples;
+        }
+
+        public double getMillis() {
+            return millis;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.vishalmysore;
+
+import com.kuzudb.DataTypeID;
+import com.kuzudb.FlatTuple;
+import com.kuzudb.QueryResult;
+import com.kuzudb.Value;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns Kuzu query results into plain Java rows that Spring can serialize.
+ */
+public final class QueryResults {
+
+    private QueryResults() {
+    }
+
+    /** Reads every row and closes the result, which frees its native memory. */
+    public static List<Map<String, Object>> toRows(QueryResult result) {
+        try {
+            if (!result.isSuccess()) {
+                throw new IllegalStateException(result.getErrorMessage());
+            }
+            List<String> names = columnNames(result);
+            int columns = names.size();
+            List<Map<String, Object>> rows = new ArrayList<>();
+            while (result.hasNext()) {
+                FlatTuple tuple = result.getNext();
+                Map<String, Object> row = new LinkedHashMap<>();
+                for (int i = 0; i < columns; i++) {
+                    row.put(names.get(i), toJava(tuple.getValue(i)));
+                }
+                rows.add(row);
+            }
+            return rows;
+        } finally {
+            result.close();
+        }
+    }
+
+    /** Column names of the result as Kuzu reports them, leaving the result open. */
+    public static List<String> columnNames(QueryResult result) {
+        int columns = (int) result.getNumColumns();
+        List<String> names = new ArrayList<>(columns);
+        for (int i = 0; i < columns; i++) {
+            names.add(result.getColumnName(i));
+        }
+        return names;
+    }
+
+    public static Object toJava(Value value) {
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        DataTypeID type = value.getDataType().getID();
+        switch (type) {
+            case BOOL:
+            case INT64:
+            case INT32:
+            case INT16:
+            case INT8:
+            case UINT64:
+            case UINT32:
+            case UINT16:
+            case UINT8:
+            case DOUBLE:
+            case FLOAT:
+            case STRING:
+                return value.getValue();
+            default:
+                return value.toString();
+        }
+    }
+}
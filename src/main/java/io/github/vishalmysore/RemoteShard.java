@@ -0,0 +1,108 @@
+package io.github.vishalmysore;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/** A shard served by a {@link ShardServer} child process started with this JVM's classpath. */
+public class RemoteShard implements Shard {
+
+    private final int id;
+    private final Process process;
+    private final Socket socket;
+    private final BufferedReader in;
+    private final BufferedWriter out;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private RemoteShard(int id, Process process, Socket socket) throws IOException {
+        this.id = id;
+        this.process = process;
+        this.socket = socket;
+        this.in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        this.out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+    }
+
+    public static RemoteShard spawn(int id, String dbPath) throws IOException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                ShardServer.class.getName(), dbPath, "0")
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        BufferedReader stdout = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        String ready = stdout.readLine();
+        if (ready == null || !ready.startsWith(ShardServer.READY)) {
+            process.destroyForcibly();
+            throw new IllegalStateException("Shard " + id + " did not start, it printed: " + ready);
+        }
+        // Keep draining the child's output so it never blocks on a full pipe
+        Thread drain = new Thread(() -> {
+            try {
+                for (String line = stdout.readLine(); line != null; line = stdout.readLine()) {
+                    System.out.println("[shard " + id + "] " + line);
+                }
+            } catch (IOException e) {
+                // the child has gone
+            }
+        }, "shard-" + id + "-output");
+        drain.setDaemon(true);
+        drain.start();
+        int port = Integer.parseInt(ready.substring(ShardServer.READY.length()).trim());
+        return new RemoteShard(id, process, new Socket(InetAddress.getLoopbackAddress(), port));
+    }
+
+    @Override
+    public int getId() {
+        return id;
+    }
+
+    @Override
+    public synchronized List<Map<String, Object>> query(String cypher) {
+        Map<String, Object> answer;
+        try {
+            out.write(mapper.writeValueAsString(Map.of("cypher", cypher)));
+            out.newLine();
+            out.flush();
+            String line = in.readLine();
+            if (line == null) {
+                throw new IllegalStateException("Shard " + id + " closed the connection");
+            }
+            answer = mapper.readValue(line, new TypeReference<Map<String, Object>>() { });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Shard " + id + " could not be reached", e);
+        }
+        if (answer.get("error") != null) {
+            throw new IllegalStateException(String.valueOf(answer.get("error")));
+        }
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> rows = (List<Map<String, Object>>) answer.get("rows");
+        return rows;
+    }
+
+    @Override
+    public void close() {
+        try {
+            socket.close();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (IOException e) {
+            process.destroyForcibly();
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package io.github.vishalmysore;
+
+import com.kuzudb.Connection;
+import com.kuzudb.FlatTuple;
+import com.kuzudb.QueryResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Structured view of a Kuzu catalog: node tables and rel tables with their properties, and for each
+ * rel table the (from, to) node table pairs it connects. Used to describe the schema to the LLM and
+ * to check generated Cypher against it.
+ */
+public class SchemaModel {
+
+    private final Map<String, Map<String, String>> nodeTables = new LinkedHashMap<>();
+    private final Map<String, String> primaryKeys = new LinkedHashMap<>();
+    private final Map<String, Map<String, String>> relTables = new LinkedHashMap<>();
+    private final Map<String, List<String[]>> connections = new LinkedHashMap<>();
+
+    public static SchemaModel load(Connection conn) {
+        SchemaModel model = new SchemaModel();
+        List<String[]> names = new ArrayList<>();
+        try (QueryResult tables = conn.query("CALL SHOW_TABLES() RETURN *")) {
+            while (tables.hasNext()) {
+                FlatTuple tuple = tables.getNext();
+                names.add(new String[]{(String) tuple.getValue(1).getValue(), (String) tuple.getValue(2).getValue()});
+            }
+        }
+        for (String[] table : names) {
+            String tableName = table[0];
+            boolean isRel = "REL".equalsIgnoreCase(table[1]);
+            Map<String, String> properties = new LinkedHashMap<>();
+            try (QueryResult columns = conn.query(String.format("CALL table_info('%s') RETURN *", tableName))) {
+                int nameIdx = columnIndex(columns, "name", 1);
+                int typeIdx = columnIndex(columns, "type", 2);
+                int pkIdx = columnIndex(columns, "primary key", -1);
+                while (columns.hasNext()) {
+                    FlatTuple col = columns.getNext();
+                    String property = col.getValue(nameIdx).getValue().toString();
+                    properties.put(property, col.getValue(typeIdx).getValue().toString());
+                    if (pkIdx >= 0 && Boolean.TRUE.equals(col.getValue(pkIdx).getValue())) {
+                        model.primaryKeys.put(tableName, property);
+                    }
+                }
+            }
+            if (isRel) {
+                model.relTables.put(tableName, properties);
+                List<String[]> pairs = new ArrayList<>();
+                try (QueryResult conns = conn.query(String.format("CALL show_connection('%s') RETURN *", tableName))) {
+                    while (conns.hasNext()) {
+                        FlatTuple pair = conns.getNext();
+                        pairs.add(new String[]{pair.getValue(0).getValue().toString(), pair.getValue(1).getValue().toString()});
+                    }
+                }
+                model.connections.put(tableName, pairs);
+            } else {
+                model.nodeTables.put(tableName, properties);
+            }
+        }
+        return model;
+    }
+
+    private static int columnIndex(QueryResult result, String name, int fallback) {
+        for (int i = 0; i < result.getNumColumns(); i++) {
+            if (name.equalsIgnoreCase(result.getColumnName(i))) {
+                return i;
+            }
+        }
+        return fallback;
+    }
+
+    public boolean hasNodeTable(String label) {
+        return nodeTables.containsKey(label);
+    }
+
+    public boolean hasRelTable(String type) {
+        return relTables.containsKey(type);
+    }
+
+    /** Properties of a node or rel table, empty if the table is unknown. */
+    public Map<String, String> properties(String table) {
+        Map<String, String> props = nodeTables.get(table);
+        if (props == null) {
+            props = relTables.get(table);
+        }
+        return props == null ? Collections.emptyMap() : Collections.unmodifiableMap(props);
+    }
+
+    public String primaryKey(String nodeTable) {
+        return primaryKeys.get(nodeTable);
+    }
+
+    public List<String[]> connections(String relTable) {
+        return connections.getOrDefault(relTable, Collections.emptyList());
+    }
+
+    public boolean connects(String relTable, String from, String to) {
+        for (String[] pair : connections(relTable)) {
+            if ((from == null || pair[0].equals(from)) && (to == null || pair[1].equals(to))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Map<String, Map<String, String>> getNodeTables() {
+        return Collections.unmodifiableMap(nodeTables);
+    }
+
+    public Map<String, Map<String, String>> getRelTables() {
+        return Collections.unmodifiableMap(relTables);
+    }
+
+    /** Text form handed to the LLM together with the English question. */
+    public String describe(String type) {
+        StringBuilder schemaInfo = new StringBuilder();
+        schemaInfo.append("--- Schema Information For ").append(type).append(" Knowledge Graph ---\n");
+        for (Map.Entry<String, Map<String, String>> table : nodeTables.entrySet()) {
+            schemaInfo.append(table.getKey()).append(" (NODE):");
+            appendProperties(schemaInfo, table.getKey(), table.getValue());
+            schemaInfo.append("End of ").append(table.getKey()).append("\n\n");
+        }
+        for (Map.Entry<String, Map<String, String>> table : relTables.entrySet()) {
+            schemaInfo.append(table.getKey()).append(" (REL):");
+            for (String[] pair : connections(table.getKey())) {
+                schemaInfo.append(" (").append(pair[0]).append(")-[").append(table.getKey()).append("]->(").append(pair[1]).append(")");
+            }
+            appendProperties(schemaInfo, table.getKey(), table.getValue());
+            schemaInfo.append("End of ").append(table.getKey()).append("\n\n");
+        }
+        return schemaInfo.toString();
+    }
+
+    private void appendProperties(StringBuilder out, String table, Map<String, String> properties) {
+        for (Map.Entry<String, String> property : properties.entrySet()) {
+            out.append(" ").append(property.getKey()).append(" ").append(property.getValue());
+            if (property.getKey().equals(primaryKeys.get(table))) {
+                out.append(" PRIMARY KEY");
+            }
+            out.append(",");
+        }
+        out.append("\n");
+    }
+}
@@ -0,0 +1,20 @@
+package io.github.vishalmysore;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One partition of a sharded graph, either a database opened in this process ({@link LocalShard})
+ * or one served by a child process ({@link RemoteShard}). Rows come back as {@link QueryResults}
+ * produces them.
+ */
+public interface Shard extends AutoCloseable {
+
+    int getId();
+
+    /** Runs one statement and fails with {@link IllegalStateException} if Kuzu reports an error. */
+    List<Map<String, Object>> query(String cypher);
+
+    @Override
+    void close();
+}
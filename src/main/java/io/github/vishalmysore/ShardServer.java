@@ -0,0 +1,63 @@
+package io.github.vishalmysore;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kuzudb.Connection;
+import com.kuzudb.Database;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Serves one shard database to one coordinator over a loopback socket, as JSON lines: each request
+ * is {@code {"cypher": ...}} and each answer {@code {"rows": [...]}} or {@code {"error": ...}}. The
+ * port is printed as {@code LISTENING <port>} once the database is open; the process exits when the
+ * coordinator disconnects, so a crashed coordinator does not leave shards behind.
+ *
+ * <pre>
+ * java -cp agenticgraph.jar io.github.vishalmysore.ShardServer shards/shard-0/db 0
+ * </pre>
+ */
+public class ShardServer {
+
+    static final String READY = "LISTENING ";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: ShardServer <db path> <port, 0 for any>");
+            return;
+        }
+        ObjectMapper mapper = new ObjectMapper();
+        try (Database db = new Database(args[0]);
+             Connection conn = new Connection(db);
+             ServerSocket server = new ServerSocket(Integer.parseInt(args[1]), 1, InetAddress.getLoopbackAddress())) {
+            System.out.println(READY + server.getLocalPort());
+            System.out.flush();
+            try (Socket client = server.accept();
+                 BufferedReader in = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+                 BufferedWriter out = new BufferedWriter(new OutputStreamWriter(client.getOutputStream(), StandardCharsets.UTF_8))) {
+                for (String line = in.readLine(); line != null; line = in.readLine()) {
+                    Map<String, Object> answer = new LinkedHashMap<>();
+                    try {
+                        String cypher = (String) mapper.readValue(line, Map.class).get("cypher");
+                        answer.put("rows", QueryResults.toRows(conn.query(cypher)));
+                    } catch (RuntimeException | JsonProcessingException e) {
+                        answer.put("error", String.valueOf(e.getMessage()));
+                    }
+                    out.write(mapper.writeValueAsString(answer));
+                    out.newLine();
+                    out.flush();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package io.github.vishalmysore;
+
+import com.kuzudb.Connection;
+import com.kuzudb.Database;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * CycleDetection over a sharded Transfers graph. Partitions the account and transfer CSVs into
+ * {@code --shards} databases under {@code --dir}, loads them in parallel and runs the transfer listing
+ * (Query 1), the transfer summary (Query 6) and the 2- to 4-step cycles (Queries 3 to 5) as
+ * scatter-gather. With {@code --processes} every shard runs in its own child JVM; with
+ * {@code --verify} each result is compared with the same pack query on one unsharded database.
+ *
+ * <pre>
+ * java -cp agenticgraph.jar io.github.vishalmysore.ShardedCycleDetection --shards=4 --processes --verify
+ * </pre>
+ */
+public class ShardedCycleDetection {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = QueryPackRunner.options(args);
+        int shardCount = Integer.parseInt(options.getOrDefault("shards", "4"));
+        Path dir = Path.of(options.getOrDefault("dir", "shards"));
+        Path accounts = Path.of(options.getOrDefault("accounts", "src/main/resources/cycle/account.csv"));
+        Path transfers = Path.of(options.getOrDefault("transfers", "src/main/resources/cycle/transfers.csv"));
+        if (Files.exists(dir)) {
+            throw new IllegalArgumentException(dir + " already exists; remove it or pass another --dir");
+        }
+
+        long start = System.currentTimeMillis();
+        ShardedTransfers.partition(accounts, transfers, dir, shardCount);
+        System.out.println("Partitioned into " + shardCount + " shards in " + (System.currentTimeMillis() - start) + " ms");
+
+        int failures = 0;
+        try (ShardedTransfers graph = ShardedTransfers.open(dir, shardCount, options.containsKey("processes"),
+                Integer.parseInt(options.getOrDefault("max-walks", "1000000")))) {
+            start = System.currentTimeMillis();
+            graph.load(dir);
+            System.out.println("Loaded in " + (System.currentTimeMillis() - start) + " ms");
+            for (Map<String, Object> size : graph.shardSizes()) {
+                System.out.println(size);
+            }
+
+            QueryPack pack = QueryPack.load("cycle/queries.json");
+            Database singleDb = null;
+            Connection single = null;
+            if (options.containsKey("verify")) {
+                singleDb = new Database(dir.resolve("single").toString());
+                single = new Connection(singleDb);
+                GraphWriter.runScript(single, "cycle/load.cypher", false);
+            }
+            failures += run(pack, single, "all-account-transfers",
+                    () -> graph.query("MATCH (a1:Account)-[t:Transfers]->(a2:Account) RETURN a1.account_id, t.amount, a2.account_id"));
+            failures += run(pack, single, "account-transfer-summary", graph::transferSummary);
+            failures += run(pack, single, "two-step-cycles", () -> graph.cycles(2));
+            failures += run(pack, single, "three-step-cycles", () -> graph.cycles(3));
+            failures += run(pack, single, "four-step-cycles", () -> graph.cycles(4));
+            if (single != null) {
+                single.close();
+                singleDb.close();
+            }
+        }
+        if (failures > 0) {
+            System.out.println("\n" + failures + " sharded results differ from the single database");
+            System.exit(1);
+        }
+    }
+
+    /** Prints the sharded result under the pack query's title and, when verifying, diffs it with the pack query. */
+    private static int run(QueryPack pack, Connection single, String name, Supplier<List<Map<String, Object>>> sharded) {
+        QueryPack.Query query = pack.query(name);
+        System.out.println("\n=== " + query.getTitle() + " (sharded) ===");
+        long start = System.nanoTime();
+        List<Map<String, Object>> rows = sharded.get();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        for (Map<String, Object> row : rows) {
+            System.out.println(new ArrayList<>(row.values()));
+        }
+        System.out.println(rows.size() + " rows in " + millis + " ms");
+        if (single == null) {
+            return 0;
+        }
+        List<String> expected = QueryPackRunner.canonical(QueryResults.toRows(query.run(single)));
+        if (expected.equals(QueryPackRunner.canonical(rows))) {
+            System.out.println("matches the single database");
+            return 0;
+        }
+        System.out.println("DIFFERS from the single database: expected " + expected);
+        return 1;
+    }
+}
@@ -0,0 +1,450 @@
+package io.github.vishalmysore;
+
+import lombok.Getter;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * The {@code Account}/{@code Transfers} graph split across several Kuzu databases by a hash of the
+ * account id. A transfer lives on the shard that owns its source account; when the destination is
+ * owned elsewhere, the source shard keeps a ghost {@code Account} row for it that records only the
+ * owning shard. Every edge is therefore stored exactly once, and one-hop patterns out of an account
+ * run on a single shard. Aggregations run on all shards in parallel and their partial rows are merged
+ * here ({@link #aggregate}); multi-hop traversals advance one hop at a time, asking each shard for
+ * the out-edges of the frontier accounts it owns ({@link #walksFrom}, {@link #cycles}).
+ */
+public class ShardedTransfers implements AutoCloseable {
+
+    private static final int IN_LIST_CHUNK = 500;
+    /** Owned accounts each shard contributes to one batch of cycle starts. */
+    private static final int START_BATCH = 1000;
+
+    private final List<Shard> shards;
+    private final ExecutorService executor;
+    private final int maxWalks;
+
+    /** How partial values of one column are combined; COUNT partials are summed. */
+    public enum Merge {
+        SUM, MIN, MAX
+    }
+
+    public ShardedTransfers(List<Shard> shards, int maxWalks) {
+        this.shards = shards;
+        this.maxWalks = maxWalks;
+        this.executor = Executors.newFixedThreadPool(shards.size(), r -> {
+            Thread t = new Thread(r, "shard-query");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Opens the shards under {@code dir/shard-<i>/db}, in this process or, with {@code processes},
+     * each in a {@link ShardServer} child process.
+     */
+    public static ShardedTransfers open(Path dir, int shardCount, boolean processes, int maxWalks) throws IOException {
+        List<Shard> shards = new ArrayList<>();
+        try {
+            for (int i = 0; i < shardCount; i++) {
+                String dbPath = shardDir(dir, i).resolve("db").toString();
+                shards.add(processes ? RemoteShard.spawn(i, dbPath) : new LocalShard(i, dbPath));
+            }
+        } catch (IOException | RuntimeException e) {
+            shards.forEach(Shard::close);
+            throw e;
+        }
+        return new ShardedTransfers(shards, maxWalks);
+    }
+
+    /** String.hashCode is fixed by the language spec, so the placement is the same in every JVM. */
+    public static int shardOf(String accountId, int shardCount) {
+        return Math.floorMod(accountId.hashCode(), shardCount);
+    }
+
+    /**
+     * Splits account rows ({@code account_id,account_type,risk_score}) and transfer rows
+     * ({@code from,to,transaction_id,amount}) into {@code dir/shard-<i>/account.csv} and
+     * {@code transfers.csv}, adding the ghost accounts each shard needs. Input is plain comma-separated
+     * text as in {@code cycle/}; blank lines and lines starting with {@code #} are skipped. Only the
+     * ghost ids of each shard are held in memory.
+     */
+    public static void partition(Path accounts, Path transfers, Path dir, int shardCount) throws IOException {
+        List<BufferedWriter> accountFiles = new ArrayList<>();
+        List<BufferedWriter> transferFiles = new ArrayList<>();
+        List<Set<String>> ghosts = new ArrayList<>();
+        try {
+            for (int i = 0; i < shardCount; i++) {
+                Files.createDirectories(shardDir(dir, i));
+                accountFiles.add(Files.newBufferedWriter(shardDir(dir, i).resolve("account.csv"), StandardCharsets.UTF_8));
+                transferFiles.add(Files.newBufferedWriter(shardDir(dir, i).resolve("transfers.csv"), StandardCharsets.UTF_8));
+                ghosts.add(new LinkedHashSet<>());
+            }
+            try (BufferedReader in = Files.newBufferedReader(accounts, StandardCharsets.UTF_8)) {
+                for (String[] row = next(in); row != null; row = next(in)) {
+                    int home = shardOf(row[0], shardCount);
+                    writeCsv(accountFiles.get(home), row[0], row[1], row[2], "false", String.valueOf(home));
+                }
+            }
+            try (BufferedReader in = Files.newBufferedReader(transfers, StandardCharsets.UTF_8)) {
+                for (String[] row = next(in); row != null; row = next(in)) {
+                    int home = shardOf(row[0], shardCount);
+                    writeCsv(transferFiles.get(home), row[0], row[1], row[2], row[3]);
+                    if (shardOf(row[1], shardCount) != home) {
+                        ghosts.get(home).add(row[1]);
+                    }
+                }
+            }
+            for (int i = 0; i < shardCount; i++) {
+                for (String ghost : ghosts.get(i)) {
+                    writeCsv(accountFiles.get(i), ghost, "", "", "true", String.valueOf(shardOf(ghost, shardCount)));
+                }
+            }
+        } finally {
+            for (BufferedWriter writer : accountFiles) {
+                writer.close();
+            }
+            for (BufferedWriter writer : transferFiles) {
+                writer.close();
+            }
+        }
+    }
+
+    /** Creates the shard schema ({@code cycle/shard.cypher}) and bulk-loads each shard's files, all shards at once. */
+    public void load(Path dir) {
+        List<String> schema = GraphWriter.readScript("cycle/shard.cypher");
+        scatter(shard -> {
+            for (String statement : schema) {
+                shard.query(statement);
+            }
+            Path files = shardDir(dir, shard.getId()).toAbsolutePath();
+            shard.query("COPY Account FROM " + CypherLiterals.quote(files.resolve("account.csv").toString().replace('\\', '/')));
+            shard.query("COPY Transfers FROM " + CypherLiterals.quote(files.resolve("transfers.csv").toString().replace('\\', '/')));
+            return null;
+        });
+    }
+
+    /** Runs the work on every shard in parallel and returns the results in shard order. */
+    public <T> List<T> scatter(Function<Shard, T> work) {
+        List<Future<T>> futures = new ArrayList<>();
+        for (Shard shard : shards) {
+            futures.add(executor.submit(() -> work.apply(shard)));
+        }
+        List<T> results = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                results.add(futures.get(i).get());
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Shard " + i + " failed: " + e.getCause().getMessage(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for shard " + i, e);
+            }
+        }
+        return results;
+    }
+
+    /** Runs the query on every shard and concatenates the rows; right for anything that reads each edge once. */
+    public List<Map<String, Object>> query(String cypher) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (List<Map<String, Object>> shardRows : scatter(shard -> shard.query(cypher))) {
+            rows.addAll(shardRows);
+        }
+        return rows;
+    }
+
+    /**
+     * Runs a grouped aggregation on every shard and merges the partial rows on their first
+     * {@code keyColumns} columns, combining each remaining column with its {@link Merge}. AVG does not
+     * merge; return SUM and COUNT and divide afterwards.
+     */
+    public List<Map<String, Object>> aggregate(String cypher, int keyColumns, Merge... merges) {
+        Map<List<Object>, Map<String, Object>> merged = new LinkedHashMap<>();
+        for (Map<String, Object> row : query(cypher)) {
+            List<String> columns = new ArrayList<>(row.keySet());
+            List<Object> key = new ArrayList<>();
+            for (int i = 0; i < keyColumns; i++) {
+                key.add(row.get(columns.get(i)));
+            }
+            Map<String, Object> existing = merged.get(key);
+            if (existing == null) {
+                merged.put(key, new LinkedHashMap<>(row));
+                continue;
+            }
+            for (int i = keyColumns; i < columns.size(); i++) {
+                String column = columns.get(i);
+                existing.put(column, combine(merges[i - keyColumns], existing.get(column), row.get(column)));
+            }
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    /**
+     * CycleDetection Query 6 as scatter-gather: outgoing totals come from the shard that owns each
+     * account, incoming totals are summed over all shards, and as in the single-graph query only
+     * accounts with both are kept. Ordered by total outgoing, largest first.
+     */
+    public List<Map<String, Object>> transferSummary() {
+        Map<Object, Map<String, Object>> incoming = new HashMap<>();
+        for (Map<String, Object> row : aggregate("MATCH (:Account)-[t:Transfers]->(b:Account) "
+                + "RETURN b.account_id, COUNT(t), SUM(t.amount)", 1, Merge.SUM, Merge.SUM)) {
+            incoming.put(row.get("b.account_id"), row);
+        }
+        List<Map<String, Object>> summary = new ArrayList<>();
+        for (Map<String, Object> out : query("MATCH (a:Account)-[t:Transfers]->(:Account) "
+                + "RETURN a.account_id, COUNT(t), SUM(t.amount)")) {
+            List<Object> outValues = new ArrayList<>(out.values());
+            Map<String, Object> in = incoming.get(outValues.get(0));
+            if (in == null) {
+                continue;
+            }
+            List<Object> inValues = new ArrayList<>(in.values());
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("a.account_id", outValues.get(0));
+            row.put("outgoing_transfers", outValues.get(1));
+            row.put("total_outgoing", outValues.get(2));
+            row.put("incoming_transfers", inValues.get(1));
+            row.put("total_incoming", inValues.get(2));
+            summary.add(row);
+        }
+        summary.sort((a, b) -> Double.compare(((Number) b.get("total_outgoing")).doubleValue(),
+                ((Number) a.get("total_outgoing")).doubleValue()));
+        return summary;
+    }
+
+    /** Every walk of exactly {@code hops} transfers out of the given accounts. */
+    public List<Walk> walksFrom(Collection<String> starts, int hops) {
+        if (starts.size() > maxWalks) {
+            throw new IllegalStateException(starts.size() + " start accounts are more than the " + maxWalks + " walks allowed");
+        }
+        List<Walk> walks = new ArrayList<>();
+        for (String start : starts) {
+            walks.add(new Walk(List.of(start), List.of()));
+        }
+        return extend(walks, hops);
+    }
+
+    /**
+     * Walks of {@code hops} transfers that end where they started, one row per starting account as
+     * CycleDetection Queries 3 to 5 return them: {@code a1..ak} then {@code t1..tk}. Start accounts are
+     * paged from the shards that own them, up to {@link #START_BATCH} per shard at a time, and each
+     * batch is walked to the end before the next is fetched, so only one batch of walks is held here
+     * and {@code maxWalks} bounds each batch, its seed included.
+     */
+    public List<Map<String, Object>> cycles(int hops) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        String[] after = new String[shards.size()];
+        boolean[] done = new boolean[shards.size()];
+        while (true) {
+            List<List<String>> pages = scatter(shard -> done[shard.getId()] ? List.of() : ownedAccounts(shard, after[shard.getId()]));
+            List<String> starts = new ArrayList<>();
+            for (int i = 0; i < pages.size(); i++) {
+                List<String> page = pages.get(i);
+                if (page.size() < START_BATCH) {
+                    done[i] = true;
+                }
+                if (!page.isEmpty()) {
+                    after[i] = page.get(page.size() - 1);
+                    starts.addAll(page);
+                }
+            }
+            if (starts.isEmpty()) {
+                return rows;
+            }
+            addCycles(walksFrom(starts, hops), hops, rows);
+        }
+    }
+
+    /** The next {@link #START_BATCH} accounts owned by the shard, in id order after {@code after}. */
+    private static List<String> ownedAccounts(Shard shard, String after) {
+        List<String> ids = new ArrayList<>();
+        for (Map<String, Object> row : shard.query("MATCH (a:Account) WHERE NOT a.ghost"
+                + (after == null ? "" : " AND a.account_id > " + CypherLiterals.quote(after))
+                + " RETURN a.account_id ORDER BY a.account_id LIMIT " + START_BATCH)) {
+            ids.add((String) row.values().iterator().next());
+        }
+        return ids;
+    }
+
+    private static void addCycles(List<Walk> walks, int hops, List<Map<String, Object>> rows) {
+        for (Walk walk : walks) {
+            if (walk.getStart().equals(walk.getEnd())) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                for (int i = 0; i < hops; i++) {
+                    row.put("a" + (i + 1) + ".account_id", walk.getAccounts().get(i));
+                }
+                for (int i = 0; i < hops; i++) {
+                    row.put("t" + (i + 1) + ".amount", walk.getAmounts().get(i));
+                }
+                rows.add(row);
+            }
+        }
+    }
+
+    /** Adds {@code hops} transfers to every walk, one scatter per hop. */
+    private List<Walk> extend(List<Walk> walks, int hops) {
+        for (int hop = 0; hop < hops; hop++) {
+            Set<String> frontier = new LinkedHashSet<>();
+            for (Walk walk : walks) {
+                frontier.add(walk.getEnd());
+            }
+            Map<String, List<Object[]>> edges = outEdges(frontier);
+            List<Walk> next = new ArrayList<>();
+            for (Walk walk : walks) {
+                for (Object[] edge : edges.getOrDefault(walk.getEnd(), List.of())) {
+                    next.add(walk.then((String) edge[0], edge[1]));
+                    if (next.size() > maxWalks) {
+                        throw new IllegalStateException("Traversal grew past " + maxWalks + " walks at hop " + (hop + 1));
+                    }
+                }
+            }
+            walks = next;
+        }
+        return walks;
+    }
+
+    /** Out-edges (destination, amount) of each account, each shard asked only about the accounts it owns. */
+    private Map<String, List<Object[]>> outEdges(Set<String> accounts) {
+        List<List<String>> owned = new ArrayList<>();
+        for (int i = 0; i < shards.size(); i++) {
+            owned.add(new ArrayList<>());
+        }
+        for (String account : accounts) {
+            owned.get(shardOf(account, shards.size())).add(account);
+        }
+        Map<String, List<Object[]>> edges = new HashMap<>();
+        for (List<Map<String, Object>> shardRows : scatter(shard -> {
+            List<Map<String, Object>> rows = new ArrayList<>();
+            List<String> ids = owned.get(shard.getId());
+            for (int from = 0; from < ids.size(); from += IN_LIST_CHUNK) {
+                List<String> literals = new ArrayList<>();
+                for (String id : ids.subList(from, Math.min(ids.size(), from + IN_LIST_CHUNK))) {
+                    literals.add(CypherLiterals.quote(id));
+                }
+                rows.addAll(shard.query("MATCH (a:Account)-[t:Transfers]->(b:Account) WHERE a.account_id IN ["
+                        + String.join(", ", literals) + "] RETURN a.account_id, b.account_id, t.amount"));
+            }
+            return rows;
+        })) {
+            for (Map<String, Object> row : shardRows) {
+                List<Object> values = new ArrayList<>(row.values());
+                edges.computeIfAbsent((String) values.get(0), k -> new ArrayList<>()).add(new Object[]{values.get(1), values.get(2)});
+            }
+        }
+        return edges;
+    }
+
+    /** Owned accounts, ghost accounts and transfers stored on each shard. */
+    public List<Map<String, Object>> shardSizes() {
+        return scatter(shard -> {
+            Map<String, Object> size = new LinkedHashMap<>();
+            size.put("shard", shard.getId());
+            for (Map<String, Object> row : shard.query("MATCH (a:Account) RETURN a.ghost AS ghost, COUNT(*) AS accounts")) {
+                size.put(Boolean.TRUE.equals(row.get("ghost")) ? "ghosts" : "accounts", row.get("accounts"));
+            }
+            size.put("transfers", shard.query("MATCH ()-[t:Transfers]->() RETURN COUNT(t) AS transfers").get(0).get("transfers"));
+            return size;
+        });
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        for (Shard shard : shards) {
+            shard.close();
+        }
+    }
+
+    private static Object combine(Merge merge, Object a, Object b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        Number x = (Number) a;
+        Number y = (Number) b;
+        boolean integral = !(x instanceof Double || x instanceof Float || y instanceof Double || y instanceof Float);
+        switch (merge) {
+            case SUM:
+                return integral ? (Object) (x.longValue() + y.longValue()) : (Object) (x.doubleValue() + y.doubleValue());
+            case MIN:
+                return x.doubleValue() <= y.doubleValue() ? a : b;
+            default:
+                return x.doubleValue() >= y.doubleValue() ? a : b;
+        }
+    }
+
+    private static Path shardDir(Path dir, int shard) {
+        return dir.resolve("shard-" + shard);
+    }
+
+    private static String[] next(BufferedReader in) throws IOException {
+        for (String line = in.readLine(); line != null; line = in.readLine()) {
+            if (!line.isBlank() && !line.startsWith("#")) {
+                return line.split(",", -1);
+            }
+        }
+        return null;
+    }
+
+    private static void writeCsv(BufferedWriter out, String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            String field = fields[i].trim();
+            if (field.contains(",") || field.contains("\"")) {
+                field = "\"" + field.replace("\"", "\"\"") + "\"";
+            }
+            out.write(i == 0 ? field : "," + field);
+        }
+        out.newLine();
+    }
+
+    /** A path of transfers: {@code accounts} has one more entry than {@code amounts}. */
+    @Getter
+    public static class Walk {
+        private final List<String> accounts;
+        private final List<Object> amounts;
+
+        Walk(List<String> accounts, List<Object> amounts) {
+            this.accounts = accounts;
+            this.amounts = amounts;
+        }
+
+        Walk then(String account, Object amount) {
+            List<String> nextAccounts = new ArrayList<>(accounts);
+            nextAccounts.add(account);
+            List<Object> nextAmounts = new ArrayList<>(amounts);
+            nextAmounts.add(amount);
+            return new Walk(nextAccounts, nextAmounts);
+        }
+
+        public String getStart() {
+            return accounts.get(0);
+        }
+
+        public String getEnd() {
+            return accounts.get(accounts.size() - 1);
+        }
+    }
+}
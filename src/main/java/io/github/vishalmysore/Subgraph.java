@@ -0,0 +1,111 @@
+package io.github.vishalmysore;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Nodes and edges around a seed, as returned by {@link SubgraphQuery}. Node ids are
+ * {@code Table:key}. Neighbours of a hub beyond the degree limit are folded into one aggregate node
+ * whose cursor fetches the next page of them.
+ */
+@Getter
+public class Subgraph {
+
+    private final List<Node> nodes = new ArrayList<>();
+    private final List<Edge> links = new ArrayList<>();
+    @Setter
+    private boolean truncated;
+
+    @Getter
+    @Setter
+    public static class Node {
+        private String id;
+        private String table;
+        private String key;
+        /** Edges of the node over all rel tables, known for expanded nodes only. */
+        private Long degree;
+        private Map<String, Object> properties;
+        /** For aggregate nodes: how many neighbours it stands for, and the cursor of the next page. */
+        private boolean aggregate;
+        private long hidden;
+        private String cursor;
+    }
+
+    @Getter
+    public static class Edge {
+        private final String source;
+        private final String target;
+        private final String label;
+
+        public Edge(String source, String target, String label) {
+            this.source = source;
+            this.target = target;
+            this.label = label;
+        }
+    }
+
+    /**
+     * Column-per-field form: node fields are parallel arrays, tables and labels are dictionary coded,
+     * and links refer to nodes by position. Much smaller than the row form for large subgraphs.
+     */
+    public Map<String, Object> columnar() {
+        List<String> tables = new ArrayList<>();
+        Map<String, Integer> positions = new LinkedHashMap<>();
+        List<String> ids = new ArrayList<>();
+        List<Integer> tableIndex = new ArrayList<>();
+        List<Long> degrees = new ArrayList<>();
+        List<Long> hidden = new ArrayList<>();
+        List<String> cursors = new ArrayList<>();
+        List<Map<String, Object>> properties = new ArrayList<>();
+        for (Node node : nodes) {
+            positions.put(node.getId(), positions.size());
+            ids.add(node.getId());
+            tableIndex.add(indexOf(tables, node.getTable()));
+            degrees.add(node.getDegree());
+            hidden.add(node.isAggregate() ? node.getHidden() : null);
+            cursors.add(node.getCursor());
+            properties.add(node.getProperties());
+        }
+        List<String> labels = new ArrayList<>();
+        List<Integer> sources = new ArrayList<>();
+        List<Integer> targets = new ArrayList<>();
+        List<Integer> labelIndex = new ArrayList<>();
+        for (Edge edge : links) {
+            sources.add(positions.get(edge.getSource()));
+            targets.add(positions.get(edge.getTarget()));
+            labelIndex.add(indexOf(labels, edge.getLabel()));
+        }
+        Map<String, Object> nodeColumns = new LinkedHashMap<>();
+        nodeColumns.put("id", ids);
+        nodeColumns.put("table", tableIndex);
+        nodeColumns.put("degree", degrees);
+        nodeColumns.put("hidden", hidden);
+        nodeColumns.put("cursor", cursors);
+        nodeColumns.put("properties", properties);
+        Map<String, Object> linkColumns = new LinkedHashMap<>();
+        linkColumns.put("source", sources);
+        linkColumns.put("target", targets);
+        linkColumns.put("label", labelIndex);
+        Map<String, Object> columnar = new LinkedHashMap<>();
+        columnar.put("tables", tables);
+        columnar.put("labels", labels);
+        columnar.put("nodes", nodeColumns);
+        columnar.put("links", linkColumns);
+        columnar.put("truncated", truncated);
+        return columnar;
+    }
+
+    private static int indexOf(List<String> dictionary, String value) {
+        int index = dictionary.indexOf(value);
+        if (index < 0) {
+            dictionary.add(value);
+            index = dictionary.size() - 1;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,285 @@
+package io.github.vishalmysore;
+
+import com.kuzudb.Connection;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Breadth-first neighbourhood of a seed node, bounded by hops and node count. Every rel table that
+ * touches a frontier table is followed in its direction(s). A node with more than {@code maxDegree}
+ * neighbours over one rel table shows the first {@code maxDegree} by key; the rest become one aggregate
+ * node whose cursor pages through them by key (keyset pagination, so pages stay stable and cheap).
+ */
+public class SubgraphQuery {
+
+    private static final String SEPARATOR = "\u001f";
+
+    private final Connection conn;
+    private final SchemaModel schema;
+    private final int maxNodes;
+    private final int maxDegree;
+    private final boolean withProperties;
+
+    private final Subgraph subgraph = new Subgraph();
+    private final Map<String, Subgraph.Node> nodes = new HashMap<>();
+    private final Set<String> edges = new HashSet<>();
+
+    public SubgraphQuery(Connection conn, SchemaModel schema, int maxNodes, int maxDegree, boolean withProperties) {
+        this.conn = conn;
+        this.schema = schema;
+        this.maxNodes = maxNodes;
+        this.maxDegree = Math.max(1, maxDegree);
+        this.withProperties = withProperties;
+    }
+
+    /** The seed and everything within {@code hops} of it, within the node and degree limits. */
+    public Subgraph around(String table, String key, int hops) {
+        checkTable(table);
+        Subgraph.Node seed = node(table, key);
+        Map<String, List<String>> frontier = new LinkedHashMap<>();
+        frontier.computeIfAbsent(table, t -> new ArrayList<>()).add(seed.getKey());
+        for (int hop = 0; hop < hops && !frontier.isEmpty(); hop++) {
+            Map<String, List<String>> next = new LinkedHashMap<>();
+            for (Map.Entry<String, List<String>> entry : frontier.entrySet()) {
+                expand(entry.getKey(), entry.getValue(), next);
+            }
+            frontier = next;
+        }
+        fetchProperties();
+        return subgraph;
+    }
+
+    /** The next page of at most {@code limit} (at least 1) neighbours folded into an aggregate node, given its cursor. */
+    public Subgraph page(String cursor, int limit) {
+        limit = Math.max(1, limit);
+        String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR, -1);
+        if (parts.length != 5) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        String table = parts[0];
+        String rel = parts[2];
+        boolean outgoing = "out".equals(parts[3]);
+        checkTable(table);
+        if (!schema.hasRelTable(rel)) {
+            throw new IllegalArgumentException("Unknown rel table in cursor: " + rel);
+        }
+        String other = otherSide(rel, table, outgoing);
+        Subgraph.Node hub = node(table, parts[1]);
+        long total = degrees(table, List.of(hub.getKey()), rel, other, outgoing).getOrDefault(hub.getKey(), 0L);
+        List<String[]> page = neighbours(table, List.of(hub.getKey()), rel, other, outgoing, parts[4], limit);
+        addNeighbours(table, rel, other, outgoing, page, null);
+        long seen = countUpTo(table, hub.getKey(), rel, other, outgoing, page.isEmpty() ? parts[4] : page.get(page.size() - 1)[1]);
+        if (seen < total && !page.isEmpty()) {
+            aggregate(hub, rel, other, outgoing, page.get(page.size() - 1)[1], total - seen);
+        }
+        fetchProperties();
+        return subgraph;
+    }
+
+    private void expand(String table, List<String> keys, Map<String, List<String>> next) {
+        for (Map.Entry<String, List<String[]>> rel : relsTouching(table).entrySet()) {
+            for (String[] side : rel.getValue()) {
+                boolean outgoing = "out".equals(side[0]);
+                String other = side[1];
+                Map<String, Long> degrees = degrees(table, keys, rel.getKey(), other, outgoing);
+                List<String> small = new ArrayList<>();
+                long smallEdges = 0;
+                for (String key : keys) {
+                    long degree = degrees.getOrDefault(key, 0L);
+                    Subgraph.Node node = nodes.get(table + ":" + key);
+                    node.setDegree((node.getDegree() == null ? 0 : node.getDegree()) + degree);
+                    if (degree > maxDegree) {
+                        List<String[]> sample = neighbours(table, List.of(key), rel.getKey(), other, outgoing, null, maxDegree);
+                        addNeighbours(table, rel.getKey(), other, outgoing, sample, next);
+                        if (!sample.isEmpty()) {
+                            aggregate(node, rel.getKey(), other, outgoing, sample.get(sample.size() - 1)[1], degree - sample.size());
+                        }
+                    } else if (degree > 0) {
+                        small.add(key);
+                        smallEdges += degree;
+                    }
+                }
+                if (!small.isEmpty()) {
+                    addNeighbours(table, rel.getKey(), other, outgoing, neighbours(table, small, rel.getKey(), other, outgoing, null,
+                            (int) Math.min(smallEdges, (long) maxDegree * small.size())), next);
+                }
+            }
+        }
+    }
+
+    /** rel table -> {direction, other table} pairs for every way the rel table touches {@code table}. */
+    private Map<String, List<String[]>> relsTouching(String table) {
+        Map<String, List<String[]>> rels = new LinkedHashMap<>();
+        for (String rel : schema.getRelTables().keySet()) {
+            for (String[] pair : schema.connections(rel)) {
+                if (pair[0].equals(table)) {
+                    rels.computeIfAbsent(rel, r -> new ArrayList<>()).add(new String[]{"out", pair[1]});
+                }
+                if (pair[1].equals(table)) {
+                    rels.computeIfAbsent(rel, r -> new ArrayList<>()).add(new String[]{"in", pair[0]});
+                }
+            }
+        }
+        return rels;
+    }
+
+    private String otherSide(String rel, String table, boolean outgoing) {
+        for (String[] pair : schema.connections(rel)) {
+            if (outgoing && pair[0].equals(table)) {
+                return pair[1];
+            }
+            if (!outgoing && pair[1].equals(table)) {
+                return pair[0];
+            }
+        }
+        throw new IllegalArgumentException(rel + " does not connect " + table);
+    }
+
+    private String pattern(String table, String rel, String other, boolean outgoing) {
+        return "MATCH (a:" + table + ")" + (outgoing ? "-" : "<-") + "[:" + rel + "]" + (outgoing ? "->" : "-")
+                + "(b:" + other + ")";
+    }
+
+    private String keyOf(String alias, String table) {
+        return "CAST(" + alias + "." + schema.primaryKey(table) + " AS STRING)";
+    }
+
+    private Map<String, Long> degrees(String table, List<String> keys, String rel, String other, boolean outgoing) {
+        Map<String, Long> degrees = new HashMap<>();
+        String cypher = pattern(table, rel, other, outgoing) + " WHERE " + keyOf("a", table) + " IN " + list(keys)
+                + " RETURN " + keyOf("a", table) + " AS key, count(*) AS degree";
+        for (Map<String, Object> row : QueryResults.toRows(conn.query(cypher))) {
+            degrees.put((String) row.get("key"), ((Number) row.get("degree")).longValue());
+        }
+        return degrees;
+    }
+
+    private long countUpTo(String table, String key, String rel, String other, boolean outgoing, String lastKey) {
+        String cypher = pattern(table, rel, other, outgoing) + " WHERE " + keyOf("a", table) + " = " + CypherLiterals.quote(key)
+                + " AND " + keyOf("b", other) + " <= " + CypherLiterals.quote(lastKey) + " RETURN count(*) AS seen";
+        return ((Number) QueryResults.toRows(conn.query(cypher)).get(0).get("seen")).longValue();
+    }
+
+    /** (source key, neighbour key) pairs ordered by neighbour key, after {@code afterKey} and up to {@code limit}. */
+    private List<String[]> neighbours(String table, List<String> keys, String rel, String other, boolean outgoing,
+                                      String afterKey, int limit) {
+        List<String[]> pairs = new ArrayList<>();
+        for (Map<String, Object> row : QueryResults.toRows(conn.query(neighboursQuery(table, keys, rel, other, outgoing, afterKey, limit)))) {
+            pairs.add(new String[]{(String) row.get("source"), (String) row.get("target")});
+        }
+        return pairs;
+    }
+
+    String neighboursQuery(String table, List<String> keys, String rel, String other, boolean outgoing,
+                           String afterKey, int limit) {
+        StringBuilder cypher = new StringBuilder(pattern(table, rel, other, outgoing))
+                .append(" WHERE ").append(keyOf("a", table)).append(" IN ").append(list(keys));
+        if (afterKey != null && !afterKey.isEmpty()) {
+            cypher.append(" AND ").append(keyOf("b", other)).append(" > ").append(CypherLiterals.quote(afterKey));
+        }
+        cypher.append(" RETURN ").append(keyOf("a", table)).append(" AS source, ").append(keyOf("b", other))
+              .append(" AS target ORDER BY target LIMIT ").append(Math.max(1, limit));
+        return cypher.toString();
+    }
+
+    private void addNeighbours(String table, String rel, String other, boolean outgoing, List<String[]> pairs,
+                               Map<String, List<String>> next) {
+        for (String[] pair : pairs) {
+            String targetId = other + ":" + pair[1];
+            if (!nodes.containsKey(targetId)) {
+                if (nodes.size() >= maxNodes) {
+                    subgraph.setTruncated(true);
+                    continue;
+                }
+                node(other, pair[1]);
+                if (next != null) {
+                    next.computeIfAbsent(other, t -> new ArrayList<>()).add(pair[1]);
+                }
+            }
+            String sourceId = table + ":" + pair[0];
+            String from = outgoing ? sourceId : targetId;
+            String to = outgoing ? targetId : sourceId;
+            if (edges.add(from + SEPARATOR + rel + SEPARATOR + to)) {
+                subgraph.getLinks().add(new Subgraph.Edge(from, to, rel));
+            }
+        }
+    }
+
+    private void aggregate(Subgraph.Node hub, String rel, String other, boolean outgoing, String lastKey, long hidden) {
+        Subgraph.Node aggregate = new Subgraph.Node();
+        aggregate.setId(hub.getId() + "/" + rel + "/" + (outgoing ? "out" : "in") + "/after/" + lastKey);
+        aggregate.setTable(other);
+        aggregate.setAggregate(true);
+        aggregate.setHidden(hidden);
+        String cursor = String.join(SEPARATOR, hub.getTable(), hub.getKey(), rel, outgoing ? "out" : "in", lastKey);
+        aggregate.setCursor(Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8)));
+        subgraph.getNodes().add(aggregate);
+        subgraph.getLinks().add(outgoing
+                ? new Subgraph.Edge(hub.getId(), aggregate.getId(), rel)
+                : new Subgraph.Edge(aggregate.getId(), hub.getId(), rel));
+    }
+
+    private Subgraph.Node node(String table, String key) {
+        return nodes.computeIfAbsent(table + ":" + key, id -> {
+            Subgraph.Node node = new Subgraph.Node();
+            node.setId(id);
+            node.setTable(table);
+            node.setKey(key);
+            subgraph.getNodes().add(node);
+            return node;
+        });
+    }
+
+    private void fetchProperties() {
+        if (!withProperties) {
+            return;
+        }
+        Map<String, List<Subgraph.Node>> byTable = new LinkedHashMap<>();
+        for (Subgraph.Node node : subgraph.getNodes()) {
+            if (!node.isAggregate()) {
+                byTable.computeIfAbsent(node.getTable(), t -> new ArrayList<>()).add(node);
+            }
+        }
+        for (Map.Entry<String, List<Subgraph.Node>> entry : byTable.entrySet()) {
+            String table = entry.getKey();
+            List<String> keys = new ArrayList<>();
+            for (Subgraph.Node node : entry.getValue()) {
+                keys.add(node.getKey());
+            }
+            StringBuilder cypher = new StringBuilder("MATCH (a:").append(table).append(") WHERE ")
+                    .append(keyOf("a", table)).append(" IN ").append(list(keys)).append(" RETURN ")
+                    .append(keyOf("a", table)).append(" AS __key");
+            for (String property : schema.properties(table).keySet()) {
+                cypher.append(", a.").append(property).append(" AS ").append(property);
+            }
+            for (Map<String, Object> row : QueryResults.toRows(conn.query(cypher.toString()))) {
+                Subgraph.Node node = nodes.get(table + ":" + row.remove("__key"));
+                if (node != null) {
+                    node.setProperties(row);
+                }
+            }
+        }
+    }
+
+    private void checkTable(String table) {
+        if (!schema.hasNodeTable(table)) {
+            throw new IllegalArgumentException("Unknown node table: " + table);
+        }
+    }
+
+    private static String list(List<String> keys) {
+        List<String> literals = new ArrayList<>();
+        for (String key : keys) {
+            literals.add(CypherLiterals.quote(key));
+        }
+        return "[" + String.join(", ", literals) + "]";
+    }
+}
@@ -0,0 +1,16 @@
+CREATE NODE TABLE Account(account_id STRING PRIMARY KEY, account_type STRING, risk_score DOUBLE);
+CREATE NODE TABLE Transaction(transaction_id STRING PRIMARY KEY, amount DOUBLE, timestamp STRING);
+CREATE NODE TABLE CyclePattern(pattern_id STRING PRIMARY KEY, pattern_name STRING, description STRING, risk_level STRING);
+CREATE NODE TABLE Algorithm(algorithm_name STRING PRIMARY KEY, description STRING, time_complexity STRING);
+
+CREATE REL TABLE Transfers(FROM Account TO Account, transaction_id STRING, amount DOUBLE);
+CREATE REL TABLE Involves(FROM Transaction TO Account);
+CREATE REL TABLE DetectsPattern(FROM Algorithm TO CyclePattern, confidence INT64);
+
+COPY Account FROM 'src/main/resources/cycle/account.csv';
+COPY Transaction FROM 'src/main/resources/cycle/transaction.csv';
+COPY CyclePattern FROM 'src/main/resources/cycle/cycle-pattern.csv';
+COPY Algorithm FROM 'src/main/resources/cycle/algorithm.csv';
+COPY Transfers FROM 'src/main/resources/cycle/transfers.csv';
+COPY Involves FROM 'src/main/resources/cycle/involves.csv';
+COPY DetectsPattern FROM 'src/main/resources/cycle/detects-pattern.csv';
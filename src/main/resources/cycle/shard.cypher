@@ -0,0 +1,5 @@
+// Schema of one shard of the Transfers graph (see io.github.vishalmysore.ShardedTransfers).
+// Each transfer is stored on the shard that owns its source account; a destination account owned by
+// another shard is kept as a ghost row (ghost = true) that only records the shard it lives on.
+CREATE NODE TABLE Account(account_id STRING PRIMARY KEY, account_type STRING, risk_score DOUBLE, ghost BOOLEAN, home INT64);
+CREATE REL TABLE Transfers(FROM Account TO Account, transaction_id STRING, amount DOUBLE);
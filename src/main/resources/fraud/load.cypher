@@ -0,0 +1,16 @@
+CREATE NODE TABLE FraudType(name STRING PRIMARY KEY, description STRING);
+CREATE NODE TABLE DetectionMethod(name STRING PRIMARY KEY, description STRING);
+CREATE NODE TABLE Indicator(name STRING PRIMARY KEY, description STRING);
+CREATE NODE TABLE DataSource(name STRING PRIMARY KEY, description STRING);
+
+CREATE REL TABLE Detects(FROM DetectionMethod TO FraudType, confidence INT64);
+CREATE REL TABLE Uses(FROM DetectionMethod TO Indicator);
+CREATE REL TABLE Analyzes(FROM DetectionMethod TO DataSource);
+
+COPY FraudType FROM 'src/main/resources/fraud/fraud-type.csv';
+COPY DetectionMethod FROM 'src/main/resources/fraud/detection-method.csv';
+COPY Indicator FROM 'src/main/resources/fraud/indicator.csv';
+COPY DataSource FROM 'src/main/resources/fraud/data-source.csv';
+COPY Detects FROM 'src/main/resources/fraud/detects.csv';
+COPY Uses FROM 'src/main/resources/fraud/uses.csv';
+COPY Analyzes FROM 'src/main/resources/fraud/analyzes.csv';
@@ -0,0 +1,18 @@
+CREATE NODE TABLE BirdSpecies(species_name STRING PRIMARY KEY, migration_distance DOUBLE, flight_duration INT64);
+CREATE NODE TABLE Location(location_name STRING PRIMARY KEY, location_type STRING, habitat_quality DOUBLE);
+CREATE NODE TABLE Season(season_name STRING PRIMARY KEY, month_range STRING, temperature_range STRING);
+CREATE NODE TABLE EnvironmentalFactor(factor_name STRING PRIMARY KEY, description STRING, impact_level STRING);
+
+CREATE REL TABLE MigratesFrom(FROM BirdSpecies TO Location, departure_month INT64);
+CREATE REL TABLE MigratesTo(FROM BirdSpecies TO Location, arrival_month INT64);
+CREATE REL TABLE ActiveIn(FROM Location TO Season);
+CREATE REL TABLE InfluencedBy(FROM BirdSpecies TO EnvironmentalFactor, influence_strength INT64);
+
+COPY BirdSpecies FROM 'src/main/resources/migration/bird-species.csv';
+COPY Location FROM 'src/main/resources/migration/location.csv';
+COPY Season FROM 'src/main/resources/migration/season.csv';
+COPY EnvironmentalFactor FROM 'src/main/resources/migration/environmental-factor.csv';
+COPY MigratesFrom FROM 'src/main/resources/migration/migrates-from.csv';
+COPY MigratesTo FROM 'src/main/resources/migration/migrates-to.csv';
+COPY ActiveIn FROM 'src/main/resources/migration/active-in.csv';
+COPY InfluencedBy FROM 'src/main/resources/migration/influenced-by.csv';
@@ -0,0 +1,26 @@
+CREATE NODE TABLE Person(person_name STRING PRIMARY KEY, description STRING);
+CREATE NODE TABLE Location(location_name STRING PRIMARY KEY, region STRING, description STRING);
+CREATE NODE TABLE Organization(org_name STRING PRIMARY KEY, industry STRING, description STRING);
+CREATE NODE TABLE Skill(skill_name STRING PRIMARY KEY, category STRING, description STRING);
+CREATE NODE TABLE Achievement(achievement_name STRING PRIMARY KEY, description STRING);
+
+CREATE REL TABLE HasSkill(FROM Person TO Skill, proficiency_level INT64);
+CREATE REL TABLE WorksFor(FROM Person TO Organization, years_of_service INT64);
+CREATE REL TABLE LivesIn(FROM Person TO Location);
+CREATE REL TABLE BornIn(FROM Person TO Location);
+CREATE REL TABLE Has(FROM Person TO Achievement, count INT64);
+CREATE REL TABLE Located(FROM Organization TO Location);
+CREATE REL TABLE RelatedTo(FROM Skill TO Skill, relationship_type STRING);
+
+COPY Person FROM 'src/main/resources/vishal/person.csv';
+COPY Location FROM 'src/main/resources/vishal/location.csv';
+COPY Organization FROM 'src/main/resources/vishal/organization.csv';
+COPY Skill FROM 'src/main/resources/vishal/skill.csv';
+COPY Achievement FROM 'src/main/resources/vishal/achievement.csv';
+COPY HasSkill FROM 'src/main/resources/vishal/has-skill.csv';
+COPY WorksFor FROM 'src/main/resources/vishal/works-for.csv';
+COPY LivesIn FROM 'src/main/resources/vishal/lives-in.csv';
+COPY BornIn FROM 'src/main/resources/vishal/born-in.csv';
+COPY Has FROM 'src/main/resources/vishal/has-achievement.csv';
+COPY Located FROM 'src/main/resources/vishal/located.csv';
+COPY RelatedTo FROM 'src/main/resources/vishal/related-to.csv';
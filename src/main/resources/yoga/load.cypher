@@ -0,0 +1,30 @@
+CREATE NODE TABLE YogaStyle(name STRING PRIMARY KEY, origin STRING, description STRING, difficulty_level INT64);
+CREATE NODE TABLE Pose(name STRING PRIMARY KEY, sanskrit_name STRING, difficulty INT64, description STRING, target_time STRING);
+CREATE NODE TABLE Benefit(name STRING PRIMARY KEY, category STRING, description STRING);
+CREATE NODE TABLE BodyPart(name STRING PRIMARY KEY, description STRING);
+CREATE NODE TABLE Instructor(name STRING PRIMARY KEY, experience_years INT64, specialization STRING, certification STRING);
+CREATE NODE TABLE Studio(name STRING PRIMARY KEY, city STRING, capacity INT64, opening_year INT64);
+CREATE NODE TABLE PoseType(name STRING PRIMARY KEY, description STRING);
+
+CREATE REL TABLE BelongsToStyle(FROM Pose TO YogaStyle);
+CREATE REL TABLE TargetsBenefit(FROM Pose TO Benefit, intensity INT64);
+CREATE REL TABLE EngagesBodyPart(FROM Pose TO BodyPart, engagement_level INT64);
+CREATE REL TABLE Teaches(FROM Instructor TO YogaStyle, years_teaching INT64);
+CREATE REL TABLE WorksAt(FROM Instructor TO Studio, start_year INT64);
+CREATE REL TABLE RecommendsFor(FROM YogaStyle TO Benefit);
+CREATE REL TABLE HasType(FROM Pose TO PoseType);
+
+COPY YogaStyle FROM 'src/main/resources/yoga/yoga_style.csv';
+COPY Pose FROM 'src/main/resources/yoga/pose.csv';
+COPY Benefit FROM 'src/main/resources/yoga/benefit.csv';
+COPY BodyPart FROM 'src/main/resources/yoga/body_part.csv';
+COPY Instructor FROM 'src/main/resources/yoga/instructor.csv';
+COPY Studio FROM 'src/main/resources/yoga/studio.csv';
+COPY PoseType FROM 'src/main/resources/yoga/pose_type.csv';
+COPY BelongsToStyle FROM 'src/main/resources/yoga/belongs_to_style.csv';
+COPY TargetsBenefit FROM 'src/main/resources/yoga/targets_benefit.csv';
+COPY EngagesBodyPart FROM 'src/main/resources/yoga/engages_body_part.csv';
+COPY Teaches FROM 'src/main/resources/yoga/teaches.csv';
+COPY WorksAt FROM 'src/main/resources/yoga/works_at.csv';
+COPY RecommendsFor FROM 'src/main/resources/yoga/recommends_for.csv';
+COPY HasType FROM 'src/main/resources/yoga/has_type.csv';
@@ -0,0 +1,22 @@
+package io.github.agents;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CypherBatchPromptTest {
+
+    @Test
+    void parsesNumberedAnswersAcrossLines() {
+        String response = "```cypher\n1. MATCH (p:Pose)\n   RETURN p.name\nQ2: MATCH (s:YogaStyle) RETURN s.name\n4) MATCH (x:Pose) RETURN x\n```";
+        assertEquals(Arrays.asList("MATCH (p:Pose) RETURN p.name", "MATCH (s:YogaStyle) RETURN s.name", null),
+                CypherBatchPrompt.parse(response, 3));
+    }
+
+    @Test
+    void missingAndBlankAnswersAreNull() {
+        assertEquals(Arrays.asList(null, "MATCH (p:Pose) RETURN p"), CypherBatchPrompt.parse("1:\n2: MATCH (p:Pose) RETURN p", 2));
+    }
+}
@@ -0,0 +1,150 @@
+package io.github.agents;
+
+import io.github.vishalmysore.SchemaModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CypherValidatorTest {
+
+    /** Pose and YogaStyle joined by BelongsToStyle, without a database. */
+    private static final SchemaModel SCHEMA = new SchemaModel() {
+        private final Map<String, Map<String, String>> tables = Map.of(
+                "Pose", Map.of("name", "STRING", "difficulty", "INT64"),
+                "YogaStyle", Map.of("name", "STRING"),
+                "BelongsToStyle", Map.of());
+
+        @Override
+        public boolean hasNodeTable(String label) {
+            return label.equals("Pose") || label.equals("YogaStyle");
+        }
+
+        @Override
+        public boolean hasRelTable(String type) {
+            return type.equals("BelongsToStyle");
+        }
+
+        @Override
+        public Map<String, String> properties(String table) {
+            return tables.getOrDefault(table, Map.of());
+        }
+
+        @Override
+        public List<String[]> connections(String relTable) {
+            return hasRelTable(relTable) ? List.<String[]>of(new String[]{"Pose", "YogaStyle"}) : List.of();
+        }
+
+        @Override
+        public boolean connects(String relTable, String from, String to) {
+            return hasRelTable(relTable) && (from == null || from.equals("Pose")) && (to == null || to.equals("YogaStyle"));
+        }
+    };
+
+    private final CypherValidator validator = new CypherValidator(SCHEMA, null, 1000, false);
+
+    private String valid(String cypher) {
+        CypherValidator.Result result = validator.validate(cypher);
+        assertTrue(result.isValid(), result.getError());
+        return result.getCypher();
+    }
+
+    private String invalid(String cypher) {
+        CypherValidator.Result result = validator.validate(cypher);
+        assertFalse(result.isValid(), "accepted " + result.getCypher());
+        return result.getError();
+    }
+
+    @Test
+    void rejectsWriteClauses() {
+        assertTrue(invalid("MATCH (p:Pose) DETACH DELETE p").startsWith("Write clause DETACH"));
+        assertTrue(invalid("MATCH (p:Pose) SET p.difficulty = 1 RETURN p").startsWith("Write clause SET"));
+        assertTrue(invalid("CREATE (p:Pose {name: 'x'}) RETURN p").startsWith("Write clause CREATE"));
+        assertEquals("Only a single statement is allowed", invalid("MATCH (p:Pose) RETURN p; MATCH (s:YogaStyle) RETURN s"));
+    }
+
+    @Test
+    void rejectsProceduresThatWrite() {
+        assertTrue(invalid("CALL CREATE_FTS_INDEX('Pose', 'pose_fts', ['name']) RETURN 1").startsWith("CALL CREATE_FTS_INDEX is not allowed"));
+        assertTrue(invalid("CALL drop_fts_index('Pose', 'pose_fts') RETURN 1").startsWith("CALL drop_fts_index is not allowed"));
+        assertTrue(invalid("CALL CREATE_VECTOR_INDEX('Pose', 'v', 'embedding') RETURN 1").startsWith("CALL CREATE_VECTOR_INDEX"));
+        valid("CALL table_info('Pose') RETURN *");
+        valid("CALL SHOW_TABLES() RETURN *");
+    }
+
+    @Test
+    void allowsPropertiesNamedLikeClauses() {
+        SchemaModel schema = new SchemaModel() {
+            @Override
+            public boolean hasNodeTable(String label) {
+                return label.equals("Job");
+            }
+
+            @Override
+            public Map<String, String> properties(String table) {
+                return Map.of("load", "DOUBLE", "set", "STRING");
+            }
+        };
+        CypherValidator jobs = new CypherValidator(schema, null, 1000, false);
+        assertTrue(jobs.validate("MATCH (j:Job) WHERE j.load > 0.5 RETURN j.set, j.load").isValid());
+        assertFalse(jobs.validate("MATCH (j:Job) SET j.load = 1 RETURN j").isValid());
+        assertFalse(jobs.validate("LOAD FROM 'jobs.csv' RETURN *").isValid());
+    }
+
+    @Test
+    void ignoresKeywordsInsideStrings() {
+        assertEquals("MATCH (p:Pose) WHERE p.name = 'Set; Create' RETURN p.name LIMIT 1000",
+                valid("MATCH (p:Pose) WHERE p.name = 'Set; Create' RETURN p.name;"));
+    }
+
+    @Test
+    void checksLabelsDirectionsAndProperties() {
+        assertEquals("Unknown node label Asana", invalid("MATCH (a:Asana) RETURN a"));
+        assertTrue(invalid("MATCH (s:YogaStyle)-[:BelongsToStyle]->(p:Pose) RETURN p").startsWith("Relationship BelongsToStyle does not go"));
+        assertTrue(invalid("MATCH (p:Pose) RETURN p.level").startsWith("Unknown property level on Pose"));
+        valid("MATCH (s:YogaStyle)<-[:BelongsToStyle]-(p:Pose) RETURN p.name");
+    }
+
+    @Test
+    void addsAndClampsLimit() {
+        assertEquals("MATCH (p:Pose) RETURN p.name LIMIT 1000", valid("MATCH (p:Pose) RETURN p.name"));
+        assertEquals("MATCH (p:Pose) RETURN p.name LIMIT 10", valid("MATCH (p:Pose) RETURN p.name LIMIT 10"));
+        assertEquals("MATCH (p:Pose) RETURN p.name LIMIT 1000", valid("MATCH (p:Pose) RETURN p.name LIMIT 50000"));
+        assertEquals("MATCH (p:Pose) RETURN p.name SKIP 5 LIMIT 1000", valid("MATCH (p:Pose) RETURN p.name SKIP 5"));
+    }
+
+    @Test
+    void evaluatesLimitExpressions() {
+        assertEquals("MATCH (p:Pose) RETURN p.name LIMIT 5 + 5", valid("MATCH (p:Pose) RETURN p.name LIMIT 5 + 5"));
+        assertEquals("MATCH (p:Pose) RETURN p.name LIMIT 1000", valid("MATCH (p:Pose) RETURN p.name LIMIT (100 + 1) * 100"));
+        assertEquals("MATCH (p:Pose) RETURN p.name SKIP 2 * 3 LIMIT 1000", valid("MATCH (p:Pose) RETURN p.name SKIP 2 * 3"));
+        assertTrue(invalid("MATCH (p:Pose) RETURN p.name LIMIT $n").startsWith("LIMIT must be a number"));
+        assertTrue(invalid("MATCH (p:Pose) RETURN p.name LIMIT 1 0").startsWith("LIMIT must be a number"));
+    }
+
+    @Test
+    void limitsTheFinalReturnOnly() {
+        assertEquals("MATCH (p:Pose) WITH p LIMIT 5 RETURN p.name LIMIT 1000",
+                valid("MATCH (p:Pose) WITH p LIMIT 5 RETURN p.name"));
+        assertEquals("MATCH (p:Pose) WHERE p.name = 'LIMIT 3' RETURN p.name LIMIT 1000",
+                valid("MATCH (p:Pose) WHERE p.name = 'LIMIT 3' RETURN p.name"));
+    }
+
+    @Test
+    void limitsEveryUnionPart() {
+        assertEquals("MATCH (p:Pose) RETURN p.name AS name LIMIT 1000 UNION MATCH (s:YogaStyle) RETURN s.name AS name LIMIT 20",
+                valid("MATCH (p:Pose) RETURN p.name AS name UNION MATCH (s:YogaStyle) RETURN s.name AS name LIMIT 20"));
+        assertEquals("MATCH (p:Pose) RETURN p.name AS name LIMIT 1000 UNION ALL MATCH (p:Pose) WHERE p.name = 'a union b' RETURN p.name AS name LIMIT 1000",
+                valid("MATCH (p:Pose) RETURN p.name AS name LIMIT 5000 UNION ALL MATCH (p:Pose) WHERE p.name = 'a union b' RETURN p.name AS name"));
+    }
+
+    @Test
+    void leavesQueriesUncappedWithoutMaxRows() {
+        CypherValidator uncapped = new CypherValidator(SCHEMA, null, 0, false);
+        assertEquals("MATCH (p:Pose) RETURN p.name", uncapped.validate("MATCH (p:Pose) RETURN p.name").getCypher());
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.agents;
+
+import com.t4a.processor.AIProcessingException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HedgedLlmClientTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static LlmClient answering(String answer, long millis) {
+        return prompt -> {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                throw new AIProcessingException("interrupted");
+            }
+            return answer;
+        };
+    }
+
+    @Test
+    void fastPrimaryIsNotHedged() throws Exception {
+        HedgedLlmClient client = new HedgedLlmClient(answering("primary", 0), answering("hedge", 0), executor, 95, 200, 1.0);
+        assertEquals("primary", client.query("q"));
+        assertTrue(client.stats().contains("hedges=0"), client.stats());
+    }
+
+    @Test
+    void slowPrimaryLosesToHedgeAndIsCancelled() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        LlmClient slow = prompt -> {
+            try {
+                Thread.sleep(5000);
+                return "primary";
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw new AIProcessingException("interrupted");
+            }
+        };
+        HedgedLlmClient client = new HedgedLlmClient(slow, answering("hedge", 0), executor, 95, 50, 1.0);
+        assertEquals("hedge", client.query("q"));
+        assertTrue(interrupted.await(2, TimeUnit.SECONDS), "losing primary was not cancelled");
+        assertTrue(client.stats().contains("hedgeWins=1"), client.stats());
+    }
+
+    @Test
+    void fastPrimaryFailureIsHedged() throws Exception {
+        LlmClient failing = prompt -> {
+            throw new AIProcessingException("down");
+        };
+        HedgedLlmClient client = new HedgedLlmClient(failing, answering("hedge", 0), executor, 95, 5000, 1.0);
+        long start = System.nanoTime();
+        assertEquals("hedge", client.query("q"));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2000, "waited for the hedge delay");
+    }
+
+    @Test
+    void hedgeRatioCapsHedges() throws Exception {
+        HedgedLlmClient client = new HedgedLlmClient(answering("primary", 100), answering("hedge", 1000), executor, 95, 10, 0.0);
+        assertEquals("primary", client.query("q"));
+        assertTrue(client.stats().contains("hedges=0"), client.stats());
+    }
+
+    @Test
+    void delayFollowsThePrimaryPercentile() throws Exception {
+        HedgedLlmClient client = new HedgedLlmClient(answering("primary", 0), answering("hedge", 0), executor, 95, 1, 1.0);
+        for (int i = 0; i < 64; i++) {
+            client.query("q");
+        }
+        assertTrue(client.getHedgeDelayMillis() < 50, "delay " + client.getHedgeDelayMillis());
+    }
+}
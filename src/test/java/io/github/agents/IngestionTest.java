@@ -0,0 +1,117 @@
+package io.github.agents;
+
+import io.github.vishalmysore.SchemaModel;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IngestionTest {
+
+    /** Accounts joined by Transfer edges, without a database. */
+    private static final SchemaModel SCHEMA = new SchemaModel() {
+        private final Map<String, Map<String, String>> tables = Map.of(
+                "Account", Map.of("id", "INT64", "owner", "STRING", "frozen", "BOOL"),
+                "Transfer", Map.of("transfer_id", "INT64", "amount", "DOUBLE"));
+
+        @Override
+        public boolean hasNodeTable(String label) {
+            return label.equals("Account");
+        }
+
+        @Override
+        public boolean hasRelTable(String type) {
+            return type.equals("Transfer");
+        }
+
+        @Override
+        public Map<String, String> properties(String table) {
+            return tables.getOrDefault(table, Map.of());
+        }
+
+        @Override
+        public String primaryKey(String nodeTable) {
+            return "id";
+        }
+
+        @Override
+        public List<String[]> connections(String relTable) {
+            return hasRelTable(relTable) ? List.<String[]>of(new String[]{"Account", "Account"}) : List.of();
+        }
+    };
+
+    private static IngestRequest account(Object id, Object frozen) {
+        IngestRequest.NodeUpsert node = new IngestRequest.NodeUpsert();
+        node.setTable("Account");
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("id", id);
+        properties.put("frozen", frozen);
+        node.setProperties(properties);
+        IngestRequest request = new IngestRequest();
+        request.getNodes().add(node);
+        return request;
+    }
+
+    private static IngestRequest transfer(String from, String to, Object transferId) {
+        IngestRequest.EdgeUpsert edge = new IngestRequest.EdgeUpsert();
+        edge.setRel("Transfer");
+        edge.setFrom(from);
+        edge.setTo(to);
+        edge.setMatch(List.of("transfer_id"));
+        edge.setProperties(Map.of("transfer_id", transferId, "amount", 12.5));
+        IngestRequest request = new IngestRequest();
+        request.getEdges().add(edge);
+        return request;
+    }
+
+    private static void rejected(IngestRequest request) {
+        IngestRejectedException e = assertThrows(IngestRejectedException.class, () -> Ingestion.validate(SCHEMA, request));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+    }
+
+    @Test
+    void acceptsValuesOfTheColumnType() {
+        Ingestion.validate(SCHEMA, account(7, true));
+        Ingestion.validate(SCHEMA, account("7", "FALSE"));
+        IngestRequest transfer = transfer("1", "2", 99L);
+        Ingestion.validate(SCHEMA, transfer);
+        assertEquals("Account", transfer.getEdges().get(0).getFromTable());
+    }
+
+    @Test
+    void valuesThatDoNotFitTheColumnAreBadRequests() {
+        rejected(account("seven", true));
+        rejected(account(7.5, true));
+        rejected(account(7, "maybe"));
+        rejected(transfer("one", "2", 99L));
+        rejected(transfer("1", "2", "ninety-nine"));
+    }
+
+    @Test
+    void unknownTablesPropertiesAndMissingKeysAreBadRequests() {
+        rejected(account(null, true));
+        IngestRequest unknown = account(7, true);
+        unknown.getNodes().get(0).getProperties().put("nickname", "x");
+        rejected(unknown);
+        IngestRequest missingMatch = transfer("1", "2", 99L);
+        missingMatch.getEdges().get(0).setProperties(Map.of("amount", 1.0));
+        rejected(missingMatch);
+    }
+
+    @Test
+    void convertsToTheBoundJavaType() {
+        assertEquals(7L, Ingestion.convert("INT64", 7));
+        assertEquals(7, Ingestion.convert("INT32", 7L));
+        assertEquals((short) 7, Ingestion.convert("INT16", "7"));
+        assertEquals(2.5f, Ingestion.convert("FLOAT", 2.5));
+        assertEquals(true, Ingestion.convert("BOOL", "True"));
+        assertEquals("2024-01-01", Ingestion.convert("DATE", "2024-01-01"));
+        assertThrows(ArithmeticException.class, () -> Ingestion.convert("INT8", 300));
+        assertThrows(ArithmeticException.class, () -> Ingestion.convert("INT32", Long.MAX_VALUE));
+    }
+}
@@ -0,0 +1,36 @@
+package io.github.agents;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void smallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 50; micros++) {
+            histogram.record(micros);
+        }
+        assertEquals(25, histogram.percentile(50));
+        assertEquals(50, histogram.percentile(100));
+        assertEquals(25.5, histogram.mean(), 1e-9);
+    }
+
+    @Test
+    void largeValuesAreWithinThreePercentAndNeverUnderstated() {
+        for (long micros : new long[]{64, 100, 1_000, 123_456, 10_000_000_000L}) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(micros);
+            histogram.record(micros * 10);
+            long p50 = histogram.percentile(50);
+            assertTrue(p50 >= micros && p50 <= micros * 1.03, micros + " reported as " + p50);
+        }
+    }
+
+    @Test
+    void emptyHistogramReportsZero() {
+        assertEquals(0, new LatencyHistogram().percentile(99));
+    }
+}
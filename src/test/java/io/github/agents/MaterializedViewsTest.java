@@ -0,0 +1,49 @@
+package io.github.agents;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MaterializedViewsTest {
+
+    private static ViewDefinition studioInstructors() {
+        ViewDefinition view = new ViewDefinition();
+        view.setName("studio-instructors");
+        view.setGraph("yoga");
+        view.setMatch("MATCH (i:Instructor)-[w:WorksAt]->(st:Studio)");
+        view.setGroupBy(List.of("st.name", "st.city"));
+        view.setMeasure("i.experience_years");
+        view.setDependsOn(List.of("WorksAt"));
+        view.setKeySide("to");
+        return view;
+    }
+
+    @Test
+    void buildsTheWholeAggregate() {
+        assertEquals("MATCH (i:Instructor)-[w:WorksAt]->(st:Studio) RETURN st.name AS st_name, st.city AS st_city, COUNT(*) AS row_count"
+                        + ", SUM(i.experience_years) AS sum_value, AVG(i.experience_years) AS avg_value"
+                        + ", MIN(i.experience_years) AS min_value, MAX(i.experience_years) AS max_value ORDER BY row_count DESC",
+                MaterializedViews.buildQuery(studioInstructors(), null));
+    }
+
+    @Test
+    void restrictsToChangedGroupsWithTypedLiterals() {
+        ViewDefinition view = studioInstructors();
+        view.setMeasure(null);
+        view.setWhere("i.experience_years > 1");
+        assertEquals("MATCH (i:Instructor)-[w:WorksAt]->(st:Studio) WHERE (i.experience_years > 1) AND st.name IN ['Zen Den', 7]"
+                        + " RETURN st.name AS st_name, st.city AS st_city, COUNT(*) AS row_count ORDER BY row_count DESC",
+                MaterializedViews.buildQuery(view, List.of("Zen Den", 7L)));
+    }
+
+    @Test
+    void convertsKeysToThePrimaryKeyType() {
+        assertEquals(List.of(42L), MaterializedViews.typed(Set.of("42"), "INT64"));
+        assertEquals(List.of(2.5), MaterializedViews.typed(Set.of("2.5"), "DOUBLE"));
+        assertEquals(List.of("42"), MaterializedViews.typed(Set.of("42"), "STRING"));
+        assertEquals(List.of(), MaterializedViews.typed(Set.of("not a number"), "INT64"));
+    }
+}
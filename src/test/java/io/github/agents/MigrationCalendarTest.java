@@ -0,0 +1,48 @@
+package io.github.agents;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MigrationCalendarTest {
+
+    private static MigrationCalendar calendar() {
+        Map<String, List<MigrationCalendar.Event>> events = new LinkedHashMap<>();
+        events.put("Stork", List.of(
+                new MigrationCalendar.Event("Sahel", 10, true),
+                new MigrationCalendar.Event("Sahel", 3, false)));
+        events.put("Swift", List.of(
+                new MigrationCalendar.Event("Sahel", 2, true),
+                new MigrationCalendar.Event("Sahel", 4, false)));
+        MigrationCalendar calendar = new MigrationCalendar();
+        calendar.apply(events, null);
+        return calendar;
+    }
+
+    @Test
+    void wrapsStaysAcrossTheYearEnd() {
+        assertEquals(Map.of("Sahel", List.of(1, 2, 3, 10, 11, 12)), calendar().calendar("Stork"));
+    }
+
+    @Test
+    void overlapKeepsSharedMonthsOnly() {
+        assertEquals(Map.of("Sahel", List.of(2, 3)), calendar().overlap("Stork", "Swift"));
+        assertEquals(Map.of(), calendar().overlap("Stork", "Crane"));
+    }
+
+    @Test
+    void rebuildingASpeciesReplacesItsMonths() {
+        MigrationCalendar calendar = calendar();
+        calendar.apply(Map.of("Swift", List.of(
+                new MigrationCalendar.Event("Iberia", 5, true),
+                new MigrationCalendar.Event("Iberia", 6, false))), Set.of("Swift"));
+        assertEquals(Map.of("Iberia", List.of(5, 6)), calendar.calendar("Swift"));
+        assertEquals(List.of("Stork"), calendar.occupancy("Sahel", 3));
+        assertEquals(Map.of(), calendar.overlap("Stork", "Swift"));
+    }
+}
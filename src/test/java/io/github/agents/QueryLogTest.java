@@ -0,0 +1,32 @@
+package io.github.agents;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueryLogTest {
+
+    @Test
+    void normalizesLiteralsAndWhitespace() {
+        assertEquals("MATCH (p:Pose) WHERE p.name = ? AND p.difficulty > ? RETURN p LIMIT ?",
+                QueryLog.normalize("MATCH (p:Pose)\n  WHERE p.name = 'Tree' AND p.difficulty > 3 RETURN p LIMIT 10"));
+        assertEquals("MATCH (a:Account) WHERE a.account_id IN [?] RETURN a",
+                QueryLog.normalize("MATCH (a:Account) WHERE a.account_id IN ['A', \"B\", 'C'] RETURN a"));
+    }
+
+    @Test
+    void keepsIdentifiersAndParameters() {
+        assertEquals("MATCH (a1:Account) WHERE a1.amount > $min2 RETURN a1",
+                QueryLog.normalize("MATCH (a1:Account) WHERE a1.amount > $min2 RETURN a1"));
+    }
+
+    @Test
+    void negativeLimitsListNothing() {
+        QueryLog queryLog = new QueryLog();
+        queryLog.record("yoga", "q", "MATCH (p:Pose) RETURN p", 5, 1, null, null);
+        assertTrue(queryLog.slowQueries(-1).isEmpty());
+        assertTrue(queryLog.topShapes(-5, "count").isEmpty());
+        assertEquals(1, queryLog.topShapes(10, "count").size());
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.agents;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    @Test
+    void grantsTheBurstThenAsksToWait() {
+        LlmAdmission.TokenBucket bucket = new LlmAdmission.TokenBucket(3, 1);
+        assertEquals(0, bucket.take(1));
+        assertEquals(0, bucket.take(2));
+        long wait = bucket.take(1);
+        assertTrue(wait > 900_000_000L && wait <= 1_000_000_000L, "waited " + wait);
+    }
+
+    @Test
+    void oversizedRequestsRunTheBucketIntoDebt() {
+        LlmAdmission.TokenBucket bucket = new LlmAdmission.TokenBucket(10, 10);
+        assertEquals(0, bucket.take(25));
+        long wait = bucket.take(1);
+        assertTrue(wait > 1_500_000_000L, "waited " + wait);
+    }
+
+    @Test
+    void debitGivesTokensBack() {
+        LlmAdmission.TokenBucket bucket = new LlmAdmission.TokenBucket(5, 0.001);
+        assertEquals(0, bucket.take(5));
+        bucket.debit(-2);
+        assertEquals(0, bucket.take(2));
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.vishalmysore;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EntityResolverTest {
+
+    private static EntityResolver poses() {
+        EntityResolver resolver = new EntityResolver();
+        resolver.add("Downward Dog", List.of("Downward Dog", "Adho Mukha Svanasana"));
+        resolver.add("Warrior II", List.of("Warrior II", "Virabhadrasana II"));
+        resolver.add("Triangle", List.of("Triangle", "Trikonasana"));
+        return resolver;
+    }
+
+    @Test
+    void normalizesCaseAccentsPunctuationAndNumerals() {
+        assertEquals("warrior 2", EntityResolver.normalize("  Warrior-II! "));
+        assertEquals("sirsasana", EntityResolver.normalize("\u015a\u012br\u1e63\u0101sana"));
+    }
+
+    @Test
+    void exactNamesScoreOne() {
+        List<EntityResolver.Match> matches = poses().resolve("warrior 2", 1, 0.5);
+        assertEquals("Warrior II", matches.get(0).getKey());
+        assertEquals(1.0, matches.get(0).getScore(), 0.0);
+    }
+
+    @Test
+    void typosAndPrefixesResolve() {
+        EntityResolver resolver = poses();
+        assertEquals("Triangle", resolver.resolve("trangle", 1, 0.4).get(0).getKey());
+        EntityResolver.Match prefix = resolver.resolve("adho mukha", 1, 0.4).get(0);
+        assertEquals("Downward Dog", prefix.getKey());
+        assertEquals("Adho Mukha Svanasana", prefix.getAlias());
+        assertTrue(prefix.getScore() < 1.0);
+    }
+
+    @Test
+    void eachKeyAppearsOnceBestFirst() {
+        List<EntityResolver.Match> matches = poses().resolve("downward dog", 3, 0.0);
+        assertEquals("Downward Dog", matches.get(0).getKey());
+        assertEquals(matches.size(), matches.stream().map(EntityResolver.Match::getKey).distinct().count());
+        for (int i = 1; i < matches.size(); i++) {
+            assertTrue(matches.get(i - 1).getScore() >= matches.get(i).getScore());
+        }
+    }
+
+    @Test
+    void replacedNamesNoLongerResolve() {
+        EntityResolver resolver = poses();
+        resolver.add("Triangle", List.of("Utthita Trikonasana"));
+        assertTrue(resolver.resolve("triangle", 1, 0.9).isEmpty());
+        resolver.remove("Warrior II");
+        assertTrue(resolver.resolve("warrior 2", 1, 0.5).isEmpty());
+        assertEquals(2, resolver.size());
+        assertEquals(4, resolver.getDeleted());
+    }
+}
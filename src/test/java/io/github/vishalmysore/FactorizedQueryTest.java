@@ -0,0 +1,53 @@
+package io.github.vishalmysore;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FactorizedQueryTest {
+
+    private static FactorizedQuery methods() {
+        return new FactorizedQuery("DetectionMethod", "name")
+                .branch("fraudTypes", "Detects", "FraudType", "name", "confidence");
+    }
+
+    @Test
+    void capsAnchorsAndTheirBranches() {
+        FactorizedQuery query = methods();
+        assertEquals("MATCH (a:DetectionMethod) WITH a ORDER BY a.name LIMIT 50 RETURN a.name AS key", query.anchorQuery(50));
+        assertEquals("MATCH (a:DetectionMethod) WITH a ORDER BY a.name LIMIT 50 MATCH (a)-[r:Detects]->(t:FraudType)"
+                        + " RETURN a.name AS anchor_key, t.name AS name, r.confidence AS confidence",
+                query.branchQuery(query.getBranches().get(0), 50));
+    }
+
+    @Test
+    void uncappedQueriesReadEveryAnchor() {
+        FactorizedQuery query = methods();
+        query.getBranches().get(0).setIncoming(true);
+        assertEquals("MATCH (a:DetectionMethod) RETURN a.name AS key", query.anchorQuery(0));
+        assertEquals("MATCH (a:DetectionMethod)<-[r:Detects]-(t:FraudType) RETURN a.name AS anchor_key, t.name AS name, r.confidence AS confidence",
+                query.branchQuery(query.getBranches().get(0), 0));
+    }
+
+    @Test
+    void rejectsColumnsThatCollide() {
+        FactorizedQuery edgeNamedLikeKey = new FactorizedQuery("DetectionMethod", "name")
+                .branch("fraudTypes", "Detects", "FraudType", "name", "name");
+        assertThrows(IllegalArgumentException.class, () -> edgeNamedLikeKey.anchorQuery(0));
+        FactorizedQuery sharedProperty = methods();
+        sharedProperty.getBranches().get(0).setTargetProperties(List.of("confidence"));
+        assertThrows(IllegalArgumentException.class, () -> sharedProperty.anchorQuery(0));
+        FactorizedQuery anchorKey = methods();
+        anchorKey.setAnchorProperties(List.of("key"));
+        assertThrows(IllegalArgumentException.class, () -> anchorKey.anchorQuery(0));
+    }
+
+    @Test
+    void rejectsNamesThatAreNotIdentifiers() {
+        FactorizedQuery query = new FactorizedQuery("DetectionMethod) DETACH DELETE (x", "name");
+        assertThrows(IllegalArgumentException.class, () -> query.anchorQuery(0));
+    }
+}
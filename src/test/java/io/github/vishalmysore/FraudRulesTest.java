@@ -0,0 +1,72 @@
+package io.github.vishalmysore;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FraudRulesTest {
+
+    /** Two methods over three indicators; both detect card fraud, only the second detects phishing. */
+    private static FraudRules rules() {
+        return new FraudRules(List.of("geo", "night", "velocity"), List.of("CardFraud", "Phishing"),
+                List.of("Pattern", "Velocity"),
+                Map.of("Pattern", List.of("geo", "night"), "Velocity", List.of("velocity")),
+                Map.of("Pattern", List.<Object[]>of(new Object[]{"CardFraud", 0.8}),
+                        "Velocity", List.<Object[]>of(new Object[]{"CardFraud", 0.5}, new Object[]{"Phishing", 0.9})));
+    }
+
+    @Test
+    void scoresTheStrongestMethodPerFraudType() {
+        FraudRules rules = rules();
+        long[] flags = new long[rules.getWords()];
+        rules.setFlags(List.of("geo"), flags, 0);
+        double[] scores = new double[2];
+        rules.score(flags, 0, scores, 0);
+        assertEquals(0.4, scores[0], 1e-9);
+        assertEquals(0.0, scores[1], 1e-9);
+
+        rules.setFlags(List.of("velocity"), flags, 0);
+        rules.score(flags, 0, scores, 0);
+        assertEquals(0.5, scores[0], 1e-9);
+        assertEquals(0.9, scores[1], 1e-9);
+    }
+
+    @Test
+    void batchesLayEventsBackToBack() {
+        FraudRules rules = rules();
+        long[] flags = new long[2 * rules.getWords()];
+        rules.setFlags(List.of("geo", "night"), flags, 0);
+        rules.setFlags(List.of("night"), flags, rules.getWords());
+        double[] scores = new double[4];
+        rules.scoreBatch(flags, 2, scores);
+        assertEquals(0.8, scores[0], 1e-9);
+        assertEquals(0.4, scores[2], 1e-9);
+        assertEquals(0.0, scores[3], 1e-9);
+    }
+
+    @Test
+    void indicatorsPastSixtyFourUseMoreWords() {
+        List<String> indicators = new ArrayList<>();
+        for (int i = 0; i < 70; i++) {
+            indicators.add("i" + i);
+        }
+        FraudRules rules = new FraudRules(indicators, List.of("Mule"), List.of("Wide"),
+                Map.of("Wide", List.of("i1", "i69")), Map.of("Wide", List.<Object[]>of(new Object[]{"Mule", 1.0})));
+        assertEquals(2, rules.getWords());
+        long[] flags = new long[2];
+        rules.setFlags(List.of("i69"), flags, 0);
+        double[] scores = new double[1];
+        rules.score(flags, 0, scores, 0);
+        assertEquals(0.5, scores[0], 1e-9);
+    }
+
+    @Test
+    void unknownIndicatorsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> rules().indicatorId("nope"));
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.vishalmysore;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HnswIndexTest {
+
+    private static float[] random(Random random, int dimension) {
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+
+    @Test
+    void findsStoredVectorsAsTheirOwnNearestNeighbour() {
+        Random random = new Random(7);
+        HnswIndex index = new HnswIndex(16, 8, 64);
+        float[][] vectors = new float[500][];
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = random(random, 16);
+            index.add("n" + i, vectors[i]);
+        }
+        int found = 0;
+        for (int i = 0; i < vectors.length; i++) {
+            List<HnswIndex.Hit> hits = index.search(vectors[i], 1, 64);
+            if (hits.get(0).getKey().equals("n" + i)) {
+                found++;
+            }
+        }
+        assertTrue(found >= 495, "recall@1 was " + found + "/500");
+        assertEquals(1.0, index.search(vectors[0], 1, 64).get(0).getScore(), 1e-5);
+    }
+
+    @Test
+    void removedAndReplacedKeysAreNotReturned() {
+        HnswIndex index = new HnswIndex(2, 4, 16);
+        index.add("east", new float[]{1, 0});
+        index.add("north", new float[]{0, 1});
+        index.add("west", new float[]{-1, 0});
+        assertTrue(index.remove("east"));
+        assertFalse(index.remove("east"));
+        assertEquals("north", index.search(new float[]{1, 0.1f}, 1, 16).get(0).getKey());
+
+        index.add("north", new float[]{1, 0});
+        assertEquals(2, index.size());
+        assertEquals(2, index.getDeleted());
+        List<HnswIndex.Hit> hits = index.search(new float[]{0, 1}, 3, 16);
+        assertEquals(2, hits.size());
+        assertEquals("north", hits.get(0).getKey());
+        assertEquals(0.0, hits.get(0).getScore(), 1e-6);
+    }
+
+    @Test
+    void vectorsAreStoredNormalized() {
+        HnswIndex index = new HnswIndex(2, 4, 16);
+        index.add("a", new float[]{3, 4});
+        float[] stored = index.vector("a");
+        assertEquals(0.6f, stored[0], 1e-6);
+        assertEquals(0.8f, stored[1], 1e-6);
+        assertThrows(IllegalArgumentException.class, () -> index.add("b", new float[]{1, 2, 3}));
+    }
+}
@@ -0,0 +1,70 @@
+package io.github.vishalmysore;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvertedIndexTest {
+
+    @Test
+    void tokenizesWithoutStopWords() {
+        assertEquals(List.of("downward", "dog", "stretches", "hamstrings"),
+                InvertedIndex.tokenize("Downward-Dog stretches the hamstrings."));
+        assertEquals(List.of(), InvertedIndex.tokenize(null));
+    }
+
+    @Test
+    void scoresWithBm25() {
+        InvertedIndex index = new InvertedIndex();
+        index.add("tree", "balance pose");
+        index.add("warrior", "strength pose");
+        List<InvertedIndex.Hit> hits = index.search("balance", 5);
+        assertEquals(1, hits.size());
+        assertEquals("tree", hits.get(0).getKey());
+        // idf = ln(1 + 1.5 / 1.5), tf = 1 and the document has the average length
+        assertEquals(Math.log(2), hits.get(0).getScore(), 1e-9);
+    }
+
+    @Test
+    void ranksRarerAndMoreFrequentTermsHigher() {
+        InvertedIndex index = new InvertedIndex();
+        index.add("a", "hip opener hip hip");
+        index.add("b", "hip stretch");
+        index.add("c", "twist stretch");
+        List<InvertedIndex.Hit> hits = index.search("hip twist", 3);
+        assertEquals(3, hits.size());
+        assertEquals("c", hits.get(0).getKey());
+        assertEquals("a", hits.get(1).getKey());
+        assertEquals("b", hits.get(2).getKey());
+    }
+
+    @Test
+    void replacedAndRemovedDocumentsDropOut() {
+        InvertedIndex index = new InvertedIndex();
+        index.add("a", "calm breath");
+        index.add("a", "deep twist");
+        assertTrue(index.search("calm", 5).isEmpty());
+        assertEquals("a", index.search("twist", 5).get(0).getKey());
+        assertTrue(index.remove("a"));
+        assertFalse(index.remove("a"));
+        assertTrue(index.search("twist", 5).isEmpty());
+        assertEquals(0, index.size());
+        assertEquals(2, index.getDeleted());
+    }
+
+    @Test
+    void postingsSurviveLargeGapsAndFrequencies() {
+        InvertedIndex index = new InvertedIndex();
+        for (int i = 0; i < 300; i++) {
+            index.add("filler" + i, "filler");
+        }
+        index.add("late", "om ".repeat(200));
+        List<InvertedIndex.Hit> hits = index.search("om filler", 1);
+        assertEquals("late", hits.get(0).getKey());
+        assertEquals(301, index.size());
+    }
+}
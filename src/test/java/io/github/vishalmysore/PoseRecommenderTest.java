@@ -0,0 +1,56 @@
+package io.github.vishalmysore;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PoseRecommenderTest {
+
+    private static PoseProfile pose(String name, long difficulty, Map<String, Long> benefits, Map<String, Long> bodyParts) {
+        PoseProfile profile = new PoseProfile(name);
+        profile.setPose(null, name, difficulty);
+        benefits.forEach((benefit, weight) -> profile.getBenefits().add(new PoseProfile.Weighted(benefit, weight)));
+        bodyParts.forEach((part, weight) -> profile.getBodyParts().add(new PoseProfile.Weighted(part, weight)));
+        return profile;
+    }
+
+    private static PoseRecommender recommender() {
+        return PoseRecommender.compile(List.of(
+                pose("Tree", 2, Map.of("Balance", 8L), Map.of("Legs", 5L)),
+                pose("Warrior II", 3, Map.of("Strength", 7L), Map.of("Legs", 9L)),
+                pose("Crow", 8, Map.of("Balance", 9L, "Strength", 9L), Map.of("Arms", 9L)),
+                pose("Child", 1, Map.of("Relaxation", 9L), Map.of("Back", 3L))));
+    }
+
+    @Test
+    void ranksByWeightedGoalsBestFirst() {
+        List<PoseRecommender.Recommendation> recommendations =
+                recommender().recommend(Map.of("balance", 1.0), Map.of("Legs", 0.5), 10, 3);
+        assertEquals(3, recommendations.size());
+        assertEquals("Tree", recommendations.get(0).getPose());
+        assertEquals(10.5, recommendations.get(0).getScore(), 1e-9);
+        assertEquals("Crow", recommendations.get(1).getPose());
+        assertEquals("Warrior II", recommendations.get(2).getPose());
+        assertEquals(4.5, recommendations.get(2).getScore(), 1e-9);
+    }
+
+    @Test
+    void skipsPosesAboveTheDifficultyAndUntouchedPoses() {
+        List<PoseRecommender.Recommendation> recommendations =
+                recommender().recommend(Map.of("Balance", 1.0, "Strength", 1.0), null, 5, 10);
+        assertEquals(2, recommendations.size());
+        assertEquals("Tree", recommendations.get(0).getPose());
+        assertEquals("Warrior II", recommendations.get(1).getPose());
+        assertTrue(recommender().recommend(Map.of("Balance", 1.0), null, 10, 0).isEmpty());
+    }
+
+    @Test
+    void unknownGoalsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> recommender().recommend(Map.of("Flight", 1.0), null, 10, 3));
+    }
+}
@@ -0,0 +1,171 @@
+package io.github.vishalmysore;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ShardedTransfersTest {
+
+    private static final Pattern QUOTED = Pattern.compile("'([^']*)'");
+
+    /** Answers the statements ShardedTransfers sends, from the transfers whose source the shard owns. */
+    private static class FakeShard implements Shard {
+        private final int id;
+        private final Set<String> owned = new TreeSet<>();
+        private final List<Object[]> transfers = new ArrayList<>();
+        private List<Map<String, Object>> fixedRows;
+
+        FakeShard(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int getId() {
+            return id;
+        }
+
+        @Override
+        public List<Map<String, Object>> query(String cypher) {
+            List<Map<String, Object>> rows = new ArrayList<>();
+            if (fixedRows != null) {
+                return fixedRows;
+            }
+            if (cypher.contains("WHERE NOT a.ghost")) {
+                Matcher after = QUOTED.matcher(cypher);
+                String from = after.find() ? after.group(1) : "";
+                int limit = Integer.parseInt(cypher.substring(cypher.lastIndexOf("LIMIT ") + 6));
+                for (String account : owned) {
+                    if (account.compareTo(from) > 0 && rows.size() < limit) {
+                        rows.add(row("a.account_id", account));
+                    }
+                }
+            } else if (cypher.contains(" IN [")) {
+                Set<String> ids = new HashSet<>();
+                Matcher quoted = QUOTED.matcher(cypher);
+                while (quoted.find()) {
+                    ids.add(quoted.group(1));
+                }
+                for (Object[] transfer : transfers) {
+                    if (ids.contains(transfer[0])) {
+                        rows.add(row("a.account_id", transfer[0], "b.account_id", transfer[1], "t.amount", transfer[2]));
+                    }
+                }
+            } else if (cypher.contains("COUNT(t), SUM(t.amount)")) {
+                int side = cypher.contains("RETURN b.account_id") ? 1 : 0;
+                Map<Object, double[]> totals = new LinkedHashMap<>();
+                for (Object[] transfer : transfers) {
+                    double[] total = totals.computeIfAbsent(transfer[side], k -> new double[2]);
+                    total[0]++;
+                    total[1] += (Double) transfer[2];
+                }
+                totals.forEach((account, total) -> rows.add(row(side == 1 ? "b.account_id" : "a.account_id", account,
+                        "COUNT(t._ID)", (long) total[0], "SUM(t.amount)", total[1])));
+            } else {
+                throw new IllegalStateException("Unexpected statement " + cypher);
+            }
+            return rows;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static Map<String, Object> row(Object... pairs) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            row.put((String) pairs[i], pairs[i + 1]);
+        }
+        return row;
+    }
+
+    private ShardedTransfers graph;
+
+    @AfterEach
+    void close() {
+        if (graph != null) {
+            graph.close();
+        }
+    }
+
+    /** Each transfer is {from, to, amount} and is stored on the shard owning its source, as partition does. */
+    private ShardedTransfers graph(int shardCount, int maxWalks, Object[]... transfers) {
+        List<Shard> shards = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new FakeShard(i));
+        }
+        for (Object[] transfer : transfers) {
+            for (int side = 0; side < 2; side++) {
+                ((FakeShard) shards.get(ShardedTransfers.shardOf((String) transfer[side], shardCount))).owned.add((String) transfer[side]);
+            }
+            ((FakeShard) shards.get(ShardedTransfers.shardOf((String) transfer[0], shardCount))).transfers.add(transfer);
+        }
+        graph = new ShardedTransfers(shards, maxWalks);
+        return graph;
+    }
+
+    private static Object[] transfer(String from, String to, double amount) {
+        return new Object[]{from, to, amount};
+    }
+
+    @Test
+    void aggregateMergesPartialRowsByKey() {
+        FakeShard first = new FakeShard(0);
+        first.fixedRows = List.of(row("k", "x", "n", 2L, "lo", 1.0, "hi", 5.0), row("k", "y", "n", 1L, "lo", 3.0, "hi", 3.0));
+        FakeShard second = new FakeShard(1);
+        second.fixedRows = List.of(row("k", "x", "n", 3L, "lo", 0.5, "hi", 4.0));
+        graph = new ShardedTransfers(List.of(first, second), 100);
+        List<Map<String, Object>> merged = graph.aggregate("any", 1,
+                ShardedTransfers.Merge.SUM, ShardedTransfers.Merge.MIN, ShardedTransfers.Merge.MAX);
+        assertEquals(List.of(row("k", "x", "n", 5L, "lo", 0.5, "hi", 5.0), row("k", "y", "n", 1L, "lo", 3.0, "hi", 3.0)), merged);
+    }
+
+    @Test
+    void findsCyclesAcrossShardsOncePerStart() {
+        for (int shardCount = 1; shardCount <= 4; shardCount++) {
+            ShardedTransfers transfers = graph(shardCount, 1000,
+                    transfer("A", "B", 1.0), transfer("B", "C", 2.0), transfer("C", "A", 3.0),
+                    transfer("A", "D", 4.0), transfer("D", "A", 5.0));
+            Set<String> triangles = new TreeSet<>();
+            for (Map<String, Object> row : transfers.cycles(3)) {
+                triangles.add(row.get("a1.account_id") + "" + row.get("a2.account_id") + row.get("a3.account_id") + ":" + row.get("t1.amount"));
+            }
+            assertEquals(Set.of("ABC:1.0", "BCA:2.0", "CAB:3.0"), triangles, shardCount + " shards");
+            assertEquals(2, transfers.cycles(2).size(), shardCount + " shards");
+            graph.close();
+            graph = null;
+        }
+    }
+
+    @Test
+    void summaryKeepsAccountsWithBothDirections() {
+        ShardedTransfers transfers = graph(3, 100,
+                transfer("A", "B", 10.0), transfer("A", "B", 5.0), transfer("B", "C", 7.0), transfer("C", "D", 1.0));
+        List<Map<String, Object>> summary = transfers.transferSummary();
+        assertEquals(2, summary.size());
+        assertEquals(row("a.account_id", "B", "outgoing_transfers", 1L, "total_outgoing", 7.0,
+                "incoming_transfers", 2L, "total_incoming", 15.0), summary.get(0));
+        assertEquals("C", summary.get(1).get("a.account_id"));
+    }
+
+    @Test
+    void walksStopAtMaxWalks() {
+        ShardedTransfers transfers = graph(2, 2,
+                transfer("A", "B", 1.0), transfer("A", "C", 1.0), transfer("A", "D", 1.0));
+        assertEquals(0, transfers.walksFrom(List.of("B", "C"), 1).size());
+        assertThrows(IllegalStateException.class, () -> transfers.walksFrom(List.of("A"), 1));
+        assertThrows(IllegalStateException.class, () -> transfers.walksFrom(List.of("A", "B", "C"), 1));
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.vishalmysore;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SubgraphQueryTest {
+
+    /** Poses and styles; no database is needed for the cases below. */
+    private static final SchemaModel SCHEMA = new SchemaModel() {
+        @Override
+        public boolean hasNodeTable(String label) {
+            return label.equals("Pose") || label.equals("YogaStyle");
+        }
+
+        @Override
+        public boolean hasRelTable(String type) {
+            return type.equals("BelongsToStyle");
+        }
+
+        @Override
+        public String primaryKey(String nodeTable) {
+            return "name";
+        }
+    };
+
+    private static String cursor(String... parts) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(String.join("\u001f", parts).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void neighbourQueriesAlwaysCarryALimit() {
+        SubgraphQuery query = new SubgraphQuery(null, SCHEMA, 100, 25, false);
+        String expected = "MATCH (a:Pose)-[:BelongsToStyle]->(b:YogaStyle) WHERE CAST(a.name AS STRING) IN ['Tree']"
+                + " AND CAST(b.name AS STRING) > 'Hatha' RETURN CAST(a.name AS STRING) AS source,"
+                + " CAST(b.name AS STRING) AS target ORDER BY target LIMIT ";
+        assertEquals(expected + "25", query.neighboursQuery("Pose", List.of("Tree"), "BelongsToStyle", "YogaStyle", true, "Hatha", 25));
+        assertEquals(expected + "1", query.neighboursQuery("Pose", List.of("Tree"), "BelongsToStyle", "YogaStyle", true, "Hatha", -1));
+    }
+
+    @Test
+    void incomingNeighboursReverseThePattern() {
+        SubgraphQuery query = new SubgraphQuery(null, SCHEMA, 100, 25, false);
+        assertEquals("MATCH (a:YogaStyle)<-[:BelongsToStyle]-(b:Pose) WHERE CAST(a.name AS STRING) IN ['Hatha', 'Yin']"
+                        + " RETURN CAST(a.name AS STRING) AS source, CAST(b.name AS STRING) AS target ORDER BY target LIMIT 50",
+                query.neighboursQuery("YogaStyle", List.of("Hatha", "Yin"), "BelongsToStyle", "Pose", false, null, 50));
+    }
+
+    @Test
+    void rejectsBadCursorsBeforeQuerying() {
+        SubgraphQuery query = new SubgraphQuery(null, SCHEMA, 100, 25, false);
+        assertThrows(IllegalArgumentException.class, () -> query.page(cursor("Pose", "Tree", "BelongsToStyle"), 10));
+        assertThrows(IllegalArgumentException.class, () -> query.page(cursor("Person", "Ann", "BelongsToStyle", "out", ""), 10));
+        assertThrows(IllegalArgumentException.class, () -> query.page(cursor("Pose", "Tree", "Knows", "out", ""), 10));
+        assertThrows(IllegalArgumentException.class, () -> query.page("not base64!", 10));
+    }
+}